@@ -1,8 +1,15 @@
 package edu.monash.fit2099.gridworld;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.space.Location;
@@ -37,6 +44,14 @@ import edu.monash.fit2099.simulator.space.LocationMaker;
  * 2017-01-20: 	Added comments to methods for better understanding (asel)
  * 2017-02-03:	Added a getter method for the angle since it's required by the GUI to show move buttons in their corresponding directions
  * 2017-02-17:	Removed condition that checks preconditions in getLocationByCoordinates method. It is already handled by the assertions (Asel)
+ * 2026-10-18:	Locations are stored in a single flat row-major array instead of a List of row Lists, so a lookup
+ * 				is one multiply-add and one array access
+ * 2026-10-18:	Neighbours are worked out from coordinates rather than stored in every Location. placePaths is only
+ * 				needed for irregular paths
+ * 2026-10-18:	Grids can be lazy, creating each Location the first time it is asked for
+ * 2026-10-18:	Grids are divided into chunks that can be unloaded to disk and are reloaded on demand
+ * 2026-10-18:	The cells are an AtomicReferenceArray, so that a Location made by one thread is seen whole by the others
+ * 2026-10-18:	Unloaded chunks keep stand-ins for their Locations, so that Views can draw them without reloading them
  */
 
 public abstract class Grid<T extends Location> extends LocationContainer<T> {
@@ -49,14 +64,14 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 	 * 
 	 */
 	public static enum CompassBearing implements Direction {
-		NORTH(0),
-		NORTHEAST(45),
-		EAST(90),
-		SOUTHEAST(135),
-		SOUTH(180),
-		SOUTHWEST(225),
-		WEST(270),
-		NORTHWEST(315);
+		NORTH(0, 0, -1),
+		NORTHEAST(45, 1, -1),
+		EAST(90, 1, 0),
+		SOUTHEAST(135, 1, 1),
+		SOUTH(180, 0, 1),
+		SOUTHWEST(225, -1, 1),
+		WEST(270, -1, 0),
+		NORTHWEST(315, -1, -1);
 		
 		/**
 		 * Angle of the <code>CompassBearing</code>. 
@@ -65,6 +80,12 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 		 */
 		private int angle;
 		
+		/**The change in the West/East coordinate when taking a step in this <code>CompassBearing</code>*/
+		private int dx;
+		
+		/**The change in the North/South coordinate when taking a step in this <code>CompassBearing</code>*/
+		private int dy;
+		
 		/**
 		 * List of valid angles in a 8-way movement geometry that corresponds to each of the 8 <code>CompassBearings</code>
 		 * (0 for N, 45 for NE, 90 for E, 135 for SE, 180 for S, 225 for SW, 270 for W, 315 for NW)
@@ -80,18 +101,42 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 		public int getAngle() {
 			return angle;
 		}
+		
+		/**
+		 * Returns the change in the West/East coordinate when taking a step in this <code>CompassBearing</code>.
+		 * 
+		 * @return 	-1, 0 or 1
+		 * @see 	{@link #dx}
+		 */
+		public int getDx() {
+			return dx;
+		}
+		
+		/**
+		 * Returns the change in the North/South coordinate when taking a step in this <code>CompassBearing</code>.
+		 * <p>
+		 * North/South coordinates increase moving from North to South.
+		 * 
+		 * @return 	-1, 0 or 1
+		 * @see 	{@link #dy}
+		 */
+		public int getDy() {
+			return dy;
+		}
 
 		
 		/**
 		 * Constructor of a <code>CompassBearing</code>.
 		 * 
 		 * @param 	angle the angle of the compass bearing 
+		 * @param 	dx the change in the West/East coordinate for a step in this direction
+		 * @param 	dy the change in the North/South coordinate for a step in this direction
 		 * @pre		<code>angle</code> should be between 0 and 360 inclusive
 		 * @pre		<code>angle</code> should correspond to one of the 8 directions. 
 		 * @see 	{@link #angle}
 		 * @see 	{@link #validAngles} 			 
 		 */
-		private CompassBearing(int angle) {
+		private CompassBearing(int angle, int dx, int dy) {
 						
 			//Precondition 1 - Ensure the angle is between 0 and 360
 			assert (angle >=0 && angle <= 360)	:"angle should be between 0 and 360 inclusive";
@@ -100,6 +145,8 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 			assert (validAngles.contains(angle)):"angle should correpsond to one of the 8 directions";
 			
 			this.angle = angle;
+			this.dx = dx;
+			this.dy = dy;
 		}
 		
 		/**
@@ -197,14 +244,53 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 	private LocationMaker<T> factory;
 
 	/**
-	 * A 2D array of <code>Locations</code>. Each element is a list of <code>Locations</code> of a row.
+	 * The <code>Locations</code> of this <code>Grid</code>, stored row by row in a single flat array.
+	 * <p>
+	 * The <code>Location</code> at (<code>x</code>, <code>y</code>) is stored at index <code>y * width + x</code>.
+	 * 
+	 * @see #indexOf(int, int)
 	 */
 	/*
-	 * We can't instantiate a 2D array, but we can use a factory to populate a List.
-	 * Declared as a List because UML Lab has trouble identifying implementations of the
-	 * generic collections.
+	 * We can't instantiate an array of the type parameter T, so the cells are stored as Locations
+	 * and downcast on the way out. Only the factory ever puts anything in here, so the cast is safe.
+	 * 
+	 * Cells of a lazy Grid are filled in under the lock of the Grid but read without it, so they are read and written 
+	 * as volatiles: a thread that finds a Location in a cell also sees everything done to it before it was stored.
+	 */
+	protected AtomicReferenceArray<Location> locations;
+	
+	/**
+	 * Number of cells of this <code>Grid</code> that hold a <code>Location</code>.
+	 * <p>
+	 * In a lazy <code>Grid</code> this is the number of <code>Locations</code> that have been materialised so far.
 	 */
-	protected List<List<T>> locations;
+	private int materialised;
+	
+	/**
+	 * Width and height of the square chunks this <code>Grid</code> is divided into. 
+	 * <p>
+	 * Chunks are the regions of this <code>Grid</code>: they can be unloaded to disk and reloaded independently, and 
+	 * an <code>EntityManager</code> only ticks the <code>Entities</code> of chunks that have <code>Actors</code> in them.
+	 */
+	public static final int CHUNK_SIZE = 64;
+	
+	/**Number of chunks across the width of this <code>Grid</code>. The last column of chunks may be narrower than <code>CHUNK_SIZE</code>*/
+	private int chunksAcross;
+	
+	/**Number of chunks down the height of this <code>Grid</code>. The last row of chunks may be shorter than <code>CHUNK_SIZE</code>*/
+	private int chunksDown;
+	
+	/**Whether each chunk is currently unloaded to disk, indexed by chunk number*/
+	private boolean[] unloaded;
+	
+	/**The number of chunks currently unloaded to disk. Lets <code>getStandIn</code> skip the lock when there are none*/
+	private volatile int unloadedCount;
+	
+	/**The stand-ins for the cells of each unloaded chunk, row by row, indexed by chunk number, or null if it is loaded*/
+	private Location[][] standIns;
+	
+	/**Directory that unloaded chunks are written to, or null if chunks can't be unloaded*/
+	private File chunkStore;
 	
 	/**
 	 * Method that returns the <code>Location</code> at the given coordinates (<code>x</code>, <code>y</code>) of this <code>Grid</code>.
@@ -212,6 +298,9 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 	 * Note that the origin (0,0) is at the top left hand corner of the grid and <code>y</code> 
 	 * coordinates are always zero or positive and increase moving from North to South. <code>x</code> 
 	 * coordinates are always zero or positive and increase moving from West to East.
+	 * <p>
+	 * Can be called from several threads at once, even on a lazy <code>Grid</code>: a cell is only ever filled in once, 
+	 * and a thread that gets a <code>Location</code> sees it fully made.
 	 * 
 	 * @author 	ram
 	 * @param 	x West/East coordinate of desired Location
@@ -230,9 +319,148 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 		//Precondition 2 : for y coordinates
 		assert (y >=0 && y < height):"y coordinate should be greater than or equal to 0 and less than the "+height;
 		
-		return locations.get(y).get(x);
+		T loc = cellAt(indexOf(x, y));
+		if (loc == null) { //first touch of a cell of a lazy grid
+			loc = materialise(x, y);
+		}
+		return loc;
+	}
+	
+	/**
+	 * Returns the <code>Location</code> at the given coordinates (<code>x</code>, <code>y</code>) of this <code>Grid</code>
+	 * if it has already been materialised, or null otherwise.
+	 * <p>
+	 * Unlike <code>getLocationByCoordinates</code> this never creates a <code>Location</code>. It allows Views to 
+	 * draw untouched cells of a lazy <code>Grid</code> without creating them. In a <code>Grid</code> that is not lazy 
+	 * this is the same as <code>getLocationByCoordinates</code>.
+	 * <p>
+	 * This never reloads an unloaded chunk either, so it returns null for the cells of unloaded chunks. Views can draw
+	 * those with {@link #getStandIn(int, int)} instead.
+	 * 
+	 * @param 	x West/East coordinate of desired Location
+	 * @param 	y North/South coordinate of desired Location
+	 * @pre		<code>x</code> coordinate is greater than or equal to 0 and less than the <code>Width</code> of this <code>Grid</code>
+	 * @pre		<code>y</code> coordinate is greater than or equal to 0 and less than the <code>Height</code> of this <code>Grid</code>
+	 * @return	the <code>Location</code> at the given coordinates, or null if it hasn't been materialised or is unloaded
+	 * @see		#getLocationByCoordinates(int, int)
+	 */
+	public T peekLocationByCoordinates(int x, int y) {
+		
+		//Precondition 1 : for x coordinates
+		assert (x >=0 && x < width)	:"x coordinate should be greater than or equal to 0 and less than the "+width;
 		
+		//Precondition 2 : for y coordinates
+		assert (y >=0 && y < height):"y coordinate should be greater than or equal to 0 and less than the "+height;
 		
+		return cellAt(indexOf(x, y));
+	}
+	
+	/**
+	 * Returns the stand-in kept for the cell at (<code>x</code>, <code>y</code>) while its chunk is unloaded, or null
+	 * if the chunk isn't unloaded or the cell has no stand-in.
+	 * <p>
+	 * A stand-in looks like the unloaded <code>Location</code> to a View, see {@link #standIn(Location)}, but it isn't
+	 * part of this <code>Grid</code>: nothing can be put in it. Getting it leaves the chunk unloaded.
+	 * 
+	 * @param 	x West/East coordinate of the cell
+	 * @param 	y North/South coordinate of the cell
+	 * @pre		<code>x</code> coordinate is greater than or equal to 0 and less than the <code>Width</code> of this <code>Grid</code>
+	 * @pre		<code>y</code> coordinate is greater than or equal to 0 and less than the <code>Height</code> of this <code>Grid</code>
+	 * @return	the stand-in for the unloaded <code>Location</code> at the given coordinates, or null
+	 * @see		#peekLocationByCoordinates(int, int)
+	 */
+	@SuppressWarnings("unchecked")
+	public T getStandIn(int x, int y) {
+		if (unloadedCount == 0) { //nothing is unloaded, so there is nothing to stand in for
+			return null;
+		}
+		final int chunk = getChunk(x, y);
+		synchronized (this) {
+			Location[] cells = standIns[chunk];
+			if (cells == null) {
+				return null;
+			}
+			final int x0 = (chunk % chunksAcross) * CHUNK_SIZE;
+			final int y0 = (chunk / chunksAcross) * CHUNK_SIZE;
+			final int x1 = Math.min(x0 + CHUNK_SIZE, width);
+			return (T) cells[(y - y0) * (x1 - x0) + (x - x0)];
+		}
+	}
+	
+	/**
+	 * Returns a stand-in for <code>loc</code>, to be kept in memory while its chunk is unloaded. 
+	 * <p>
+	 * A stand-in should be small, and look the same as <code>loc</code> to a View, so that an unloaded chunk is drawn as
+	 * it was without being reloaded. <code>Locations</code> that look alike can share one. By default there are no 
+	 * stand-ins, so Views draw unloaded cells as untouched ones.
+	 * 
+	 * @param 	loc a <code>Location</code> of a chunk that is being unloaded
+	 * @return 	the stand-in for <code>loc</code>, or null
+	 */
+	protected T standIn(T loc) {
+		return null;
+	}
+	
+	/**
+	 * Returns the number of <code>Locations</code> this <code>Grid</code> currently holds. 
+	 * <p>
+	 * For a lazy <code>Grid</code> this is the number of cells that have been touched so far, 
+	 * otherwise it is <code>width * height</code>.
+	 * 
+	 * @return 	the number of materialised <code>Locations</code>
+	 */
+	public synchronized int getMaterialisedCount() {
+		return materialised;
+	}
+	
+	/**
+	 * Creates the <code>Location</code> at the given coordinates with the factory and stores it in its cell, 
+	 * unless another thread got there first.
+	 * 
+	 * @param 	x West/East coordinate of the Location
+	 * @param 	y North/South coordinate of the Location
+	 * @return 	the <code>Location</code> at the given coordinates
+	 */
+	private synchronized T materialise(int x, int y) {
+		final int index = indexOf(x, y);
+		
+		final int chunk = getChunk(x, y);
+		if (unloaded[chunk]) { //bring the whole chunk back before looking at the cell
+			loadChunk(chunk);
+		}
+		
+		T loc = cellAt(index);
+		if (loc == null) {
+			loc = factory.make();
+			loc.setCoordinates(this, x, y); //paths to its neighbours are worked out from its coordinates
+			locations.set(index, loc);
+			materialised++;
+		}
+		return loc;
+	}
+	
+	/**
+	 * Returns the index of the cell at the given coordinates (<code>x</code>, <code>y</code>) in the flat array of
+	 * <code>Locations</code>. Cells are stored row by row, so the index is <code>y * width + x</code>.
+	 * 
+	 * @param 	x West/East coordinate of the cell
+	 * @param 	y North/South coordinate of the cell
+	 * @return 	the index of the cell in {@link #locations}
+	 */
+	protected final int indexOf(int x, int y) {
+		return y * width + x;
+	}
+	
+	/**
+	 * Returns the <code>Location</code> stored at <code>index</code> of the flat array of <code>Locations</code>.
+	 * 
+	 * @param 	index the index of the cell
+	 * @return 	the <code>Location</code> at that index, or null if it hasn't been materialised
+	 * @see		#indexOf(int, int)
+	 */
+	@SuppressWarnings("unchecked")
+	protected T cellAt(int index) {
+		return (T) locations.get(index);
 	}
 	
 	/**
@@ -263,9 +491,247 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 		return width;
 	}
 	
+	/**
+	 * Returns the neighbour of <code>loc</code> in the <code>Direction d</code>, worked out from the coordinates
+	 * of <code>loc</code>. Every <code>Location</code> is connected to the (up to 8) <code>Locations</code> around it.
+	 * <p>
+	 * Returns null if <code>d</code> is not a <code>CompassBearing</code>, if <code>loc</code> does not belong to 
+	 * this <code>Grid</code> or if the step would leave the <code>Grid</code>.
+	 * 
+	 * @param 	loc a <code>Location</code> of this <code>Grid</code>
+	 * @param 	d the direction
+	 * @return 	the neighbour of <code>loc</code> in the direction <code>d</code>, or null if no such neighbour exists
+	 */
+	@Override
+	public T getNeighbour(Location loc, Direction d) {
+		if (!(d instanceof CompassBearing) || loc.getContainer() != this) {
+			return null;
+		}
+		CompassBearing cb = (CompassBearing) d;
+		int x = loc.getX() + cb.dx;
+		int y = loc.getY() + cb.dy;
+		
+		if (x < 0 || x >= width || y < 0 || y >= height) { //the step leaves the grid
+			return null;
+		}
+		return getLocationByCoordinates(x, y);
+	}
+	
+	/**
+	 * Returns true if and only if <code>loc</code> has a neighbour in the <code>Direction d</code>. This only checks 
+	 * the coordinates, so it never materialises the neighbour of <code>loc</code> in a lazy <code>Grid</code>.
+	 * 
+	 * @param 	loc a <code>Location</code> of this <code>Grid</code>
+	 * @param 	d the direction
+	 * @return 	true if the step from <code>loc</code> in the direction <code>d</code> stays in this <code>Grid</code>
+	 */
+	@Override
+	public boolean hasNeighbour(Location loc, Direction d) {
+		if (!(d instanceof CompassBearing) || loc.getContainer() != this) {
+			return false;
+		}
+		CompassBearing cb = (CompassBearing) d;
+		int x = loc.getX() + cb.dx;
+		int y = loc.getY() + cb.dy;
+		
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+	
+	/**
+	 * Returns the number of the chunk containing the cell at (<code>x</code>, <code>y</code>). Chunks are numbered row by 
+	 * row from the top left hand corner of this <code>Grid</code>.
+	 * 
+	 * @param 	x West/East coordinate of the cell
+	 * @param 	y North/South coordinate of the cell
+	 * @return 	the number of the chunk containing the cell
+	 * @see 	#CHUNK_SIZE
+	 */
+	public int getChunk(int x, int y) {
+		return (y / CHUNK_SIZE) * chunksAcross + (x / CHUNK_SIZE);
+	}
+	
+	/**
+	 * Returns the number of chunks in this <code>Grid</code>.
+	 * 
+	 * @return 	the number of chunks
+	 * @see 	#getChunk(int, int)
+	 */
+	public int getChunkCount() {
+		return chunksAcross * chunksDown;
+	}
+	
+	/**
+	 * The regions of a <code>Grid</code> are its chunks. Returns the chunk of <code>loc</code>, or -1 if
+	 * <code>loc</code> does not belong to this <code>Grid</code>.
+	 * 
+	 * @param 	loc a <code>Location</code>
+	 * @return 	the number of the chunk containing <code>loc</code>, or -1
+	 * @see 	#getChunk(int, int)
+	 */
+	@Override
+	public int getRegion(Location loc) {
+		if (loc.getContainer() != this) {
+			return -1;
+		}
+		return getChunk(loc.getX(), loc.getY());
+	}
+	
+	/**
+	 * Sets the directory that unloaded chunks are written to. Chunks can't be unloaded until this has been set.
+	 * 
+	 * @param 	dir an existing, writable directory
+	 * @see 	#unloadChunk(int)
+	 */
+	public void setChunkStore(File dir) {
+		chunkStore = dir;
+	}
+	
+	/**
+	 * Returns true if and only if the chunk <code>chunk</code> is currently unloaded to disk.
+	 * 
+	 * @param 	chunk the number of the chunk
+	 * @return 	true if the chunk has been unloaded and not touched since, false otherwise
+	 */
+	public synchronized boolean isChunkUnloaded(int chunk) {
+		return unloaded[chunk];
+	}
+	
+	/**
+	 * Writes the <code>Locations</code> of the chunk <code>chunk</code> to the chunk store and drops them from memory.
+	 * <p>
+	 * The chunk is read back the next time one of its <code>Locations</code> is asked for with 
+	 * <code>getLocationByCoordinates</code>, e.g. when an <code>Entity</code> is placed in it. Until then Views draw 
+	 * its cells from the stand-ins kept for them, see {@link #getStandIn(int, int)}.
+	 * <p>
+	 * Callers must make sure nothing holds on to the <code>Locations</code> of the chunk, in particular that no 
+	 * <code>Entities</code> are in it, since they would be left at <code>Locations</code> that are no longer part of this
+	 * <code>Grid</code>. A chunk with no <code>Locations</code> in memory is left alone.
+	 * 
+	 * @param 	chunk the number of the chunk to unload
+	 * @pre		the chunk store has been set
+	 * @pre		no <code>Location</code> in the chunk has an irregular path (see {@link #placePaths(Location, Location, CompassBearing)})
+	 * @throws 	IOException if the chunk could not be written
+	 * @throws 	IllegalStateException if the preconditions fail
+	 */
+	public synchronized void unloadChunk(int chunk) throws IOException {
+		if (chunkStore == null) {
+			throw new IllegalStateException("no chunk store has been set");
+		}
+		if (unloaded[chunk]) {
+			return;
+		}
+		
+		final int x0 = (chunk % chunksAcross) * CHUNK_SIZE;
+		final int y0 = (chunk / chunksAcross) * CHUNK_SIZE;
+		final int x1 = Math.min(x0 + CHUNK_SIZE, width);
+		final int y1 = Math.min(y0 + CHUNK_SIZE, height);
+		
+		//the cells of the chunk, row by row. Untouched cells are stored as null
+		Location[] cells = new Location[(x1 - x0) * (y1 - y0)];
+		Location[] chunkStandIns = new Location[cells.length];
+		int count = 0;
+		int i = 0;
+		for (int y = y0; y < y1; y++) {
+			for (int x = x0; x < x1; x++) {
+				T loc = cellAt(indexOf(x, y));
+				if (loc != null) {
+					if (loc.hasIrregularPaths()) {
+						throw new IllegalStateException("chunk " + chunk + " has irregular paths and can't be unloaded");
+					}
+					chunkStandIns[i] = standIn(loc);
+					count++;
+				}
+				cells[i++] = loc;
+			}
+		}
+		
+		if (count == 0) { //nothing in memory, so nothing to unload
+			return;
+		}
+		
+		ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(chunkFile(chunk)));
+		try {
+			out.writeObject(cells);
+		}
+		finally {
+			out.close();
+		}
+		
+		//marked as unloaded first, so that a thread that finds a cell empty knows to look for it on disk
+		unloaded[chunk] = true;
+		standIns[chunk] = chunkStandIns;
+		unloadedCount++;
+		for (int y = y0; y < y1; y++) {
+			for (int x = x0; x < x1; x++) {
+				locations.set(indexOf(x, y), null);
+			}
+		}
+		materialised -= count;
+	}
+	
+	/**
+	 * Reads the chunk <code>chunk</code> back from the chunk store and places its <code>Locations</code> back in this <code>Grid</code>.
+	 * 
+	 * @param 	chunk the number of an unloaded chunk
+	 * @throws 	UncheckedIOException if the chunk could not be read
+	 */
+	private void loadChunk(int chunk) {
+		final int x0 = (chunk % chunksAcross) * CHUNK_SIZE;
+		final int y0 = (chunk / chunksAcross) * CHUNK_SIZE;
+		final int x1 = Math.min(x0 + CHUNK_SIZE, width);
+		final int y1 = Math.min(y0 + CHUNK_SIZE, height);
+		
+		File file = chunkFile(chunk);
+		Location[] cells;
+		try {
+			ObjectInputStream in = new ObjectInputStream(new FileInputStream(file));
+			try {
+				cells = (Location[]) in.readObject();
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("could not reload chunk " + chunk, e);
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalStateException("could not reload chunk " + chunk, e);
+		}
+		
+		int i = 0;
+		for (int y = y0; y < y1; y++) {
+			for (int x = x0; x < x1; x++) {
+				Location loc = cells[i++];
+				if (loc != null) {
+					loc.setCoordinates(this, x, y); //the container isn't stored with the Location
+					locations.set(indexOf(x, y), loc);
+					materialised++;
+				}
+			}
+		}
+		unloaded[chunk] = false;
+		standIns[chunk] = null;
+		unloadedCount--;
+		file.delete();
+	}
+	
+	/**
+	 * Returns the file that the chunk <code>chunk</code> is unloaded to.
+	 * 
+	 * @param 	chunk the number of the chunk
+	 * @return 	the file for the chunk in the chunk store
+	 */
+	private File chunkFile(int chunk) {
+		return new File(chunkStore, "chunk-" + chunk + ".ser");
+	}
+	
 	/**
 	 * Creates a two-way path between loc1 and loc2 in direction <code>cb</code>.  
 	 * <p>
+	 * Neighbouring <code>Locations</code> of a <code>Grid</code> are connected without this. It is only needed
+	 * for irregular paths, for example between <code>Locations</code> that are not next to each other.
+	 * <p>
 	 * Sets up <code>loc2</code> as the neighbour of <code>loc1</code> in direction <code>cb</code>, and <code>loc1</code> as 
 	 * the neighbour of <code>loc2</code> in opposite direction of <code>cb</code>.
 	 * 
@@ -282,8 +748,8 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 	}
 	
 	/**
-	 * Constructor that instantiates a <code>Grid</code> and sets up neighbour relationships
-	 * between the <code>Locations</code> it contains.
+	 * Constructor that instantiates a <code>Grid</code> and places the <code>Locations</code> it contains at 
+	 * their coordinates, which is all that is needed for neighbour relationships between them.
 	 * 
 	 * @param 	x width of this <code>Grid</code>
 	 * @param 	y height of this <code>Grid</code>
@@ -296,6 +762,27 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 	 * TODO: Post conditions? - Asel
 	 */
 	public Grid(int x, int y, LocationMaker<T> maker) {
+		this(x, y, maker, false);
+	}
+	
+	/**
+	 * Constructor that instantiates a <code>Grid</code>, which may be lazy.
+	 * <p>
+	 * A lazy <code>Grid</code> doesn't create any <code>Locations</code> up front. Each <code>Location</code> is made
+	 * by the factory the first time it is asked for with <code>getLocationByCoordinates</code> (e.g. to place an 
+	 * <code>Entity</code> there, or to move into it), so start up time and memory depend on the part of the 
+	 * <code>Grid</code> that is actually used rather than on its size.
+	 * 
+	 * @param 	x width of this <code>Grid</code>
+	 * @param 	y height of this <code>Grid</code>
+	 * @param 	maker factory for Location subclass
+	 * @param 	lazy true if <code>Locations</code> should only be created when first needed, false to create them all now
+	 * 
+	 * @pre		Height <code>x</code> should be greater than 0
+	 * @pre		Width <code>y</code> should be greater than 0
+	 * @see		#peekLocationByCoordinates(int, int)
+	 */
+	public Grid(int x, int y, LocationMaker<T> maker, boolean lazy) {
 		//Precondition 1 : for height
 		assert (x > 0)	:"Height x of should be greater than zero";
 				
@@ -306,32 +793,22 @@ public abstract class Grid<T extends Location> extends LocationContainer<T> {
 		width = x;
 		factory = maker;
 
-		locations = new ArrayList<List<T>>();
+		locations = new AtomicReferenceArray<Location>(Math.multiplyExact(width, height)); //fails rather than wrapping round
+		
+		chunksAcross = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		chunksDown = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		unloaded = new boolean[chunksAcross * chunksDown];
+		standIns = new Location[chunksAcross * chunksDown][];
+		
+		if (lazy) { //Locations are created on first touch
+			return;
+		}
 
 		for (int i = 0; i < height; i++) { //for each row of the grid
-			List<T> row = new ArrayList<T>();
-			locations.add(row);
-
 			for (int j = 0; j < width; j++) {//for each column of the row
 				
 				//create and add a new location
-				T newLoc = factory.make();
-				row.add(newLoc);
-				
-				// place paths between new locations and already-created locations
-				if (i > 0) {
-					placePaths(newLoc, getLocationByCoordinates(j, i-1), CompassBearing.NORTH); //set a path to the location above 
-					if (j > 0) {
-						placePaths(newLoc, getLocationByCoordinates (j-1, i-1), CompassBearing.NORTHWEST);//place paths in a diagonal \ 
-					}
-					if (j < width-1) {
-						placePaths(newLoc, getLocationByCoordinates(j+1, i-1), CompassBearing.NORTHEAST);//place paths in a diagonal /
-					}
-				}
-				
-				if (j > 0) {
-					placePaths(newLoc, getLocationByCoordinates(j-1, i), CompassBearing.WEST); //set a path to the location on the left
-				}
+				materialise(j, i);
 			}
 		}
 	}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Set;
 
 import edu.monash.fit2099.simulator.space.Location;
-import edu.monash.fit2099.simulator.time.Scheduler;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
 import starwars.SWActionInterface;
 /**
@@ -27,20 +26,23 @@ import starwars.SWActionInterface;
  * 	And then put it back in. (ram)
  * 2013-03-07: added MessageRenderer to constructor to accommodate change in Entity (ram)
  * 2013-04-07: fixed up generics and made getActions return an ArrayList instead of an Array.
+ * 2026-10-18: added canDecideConcurrently, for ticking Actors in two phases
+ * 2026-10-18: added a generation of Events, so that all the pending Events of an Actor can be cancelled at once
  */
 public abstract class Actor<T extends ActionInterface> extends Entity {
 
-	/**
-	 * The scheduler of this <code>Actor</code>
-	 */
-	protected static Scheduler s;
-	
 	/**The command set of this <code>Actor</code>, i.e. a set of <code>Actions</code> of this <code>Actor</code>*/
 	protected Set<T> actions;
 	
 	/**The amount of time this <code>Actor</code> has to wait before it could <code>act</code>*/
 	private int waittime;
 	
+	/**
+	 * The generation of this <code>Actor</code>'s <code>Events</code>. <code>Events</code> scheduled in earlier generations 
+	 * have been cancelled.
+	 */
+	private volatile int eventGeneration;
+	
 	/**
 	 * Register a new <code>Action</code> as part of this <code>Actor</code>'s command set.  
 	 * <p>
@@ -102,6 +104,22 @@ public abstract class Actor<T extends ActionInterface> extends Entity {
 	 */
 	public abstract void act();
 	
+	/**
+	 * Returns true if this <code>Actor</code> can decide what to do at the same time as other <code>Actors</code>.
+	 * <p>
+	 * An <code>Actor</code> that can decide concurrently only looks at the world when it <code>acts</code>, and only 
+	 * changes it through <code>Scheduler.schedule</code> and <code>say</code>, which are held back until the decision
+	 * is committed. An <code>Actor</code> that does anything else, such as waiting for a user, returns false, and is 
+	 * ticked on its own. The default is false.
+	 * 
+	 * @return 	true if this <code>Actor</code> can be ticked alongside other <code>Actors</code>
+	 * @see 	DecisionRecorder
+	 * @see 	EntityManager#setParallel(java.util.concurrent.ForkJoinPool)
+	 */
+	public boolean canDecideConcurrently() {
+		return false;
+	}
+	
 
 	/**
 	 * Tick method for this <code>Actor</code>. 
@@ -156,6 +174,27 @@ public abstract class Actor<T extends ActionInterface> extends Entity {
 		return waittime;
 	}
 	
+	/**
+	 * Returns the generation of this <code>Actor</code>'s <code>Events</code>. The <code>Scheduler</code> skips 
+	 * <code>Events</code> of this <code>Actor</code> that were scheduled in an earlier generation.
+	 * 
+	 * @return 	the current generation
+	 * @see 	edu.monash.fit2099.simulator.time.Scheduler#cancelAll(Actor)
+	 */
+	public int getEventGeneration() {
+		return eventGeneration;
+	}
+	
+	/**
+	 * Moves this <code>Actor</code> on to a new generation of <code>Events</code>, which cancels all its pending 
+	 * <code>Events</code> at once. Use <code>Scheduler.cancelAll</code> rather than calling this directly.
+	 * 
+	 * @see 	edu.monash.fit2099.simulator.time.Scheduler#cancelAll(Actor)
+	 */
+	public void newEventGeneration() {
+		eventGeneration++;
+	}
+	
 
 }
 
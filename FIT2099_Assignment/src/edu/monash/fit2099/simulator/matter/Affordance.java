@@ -20,6 +20,7 @@ import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
  * 2013-02-28: Now extends Action rather than implementing it, because Action is now a class. (ram)
  * 	Improved comments on constructors for the benefit of authors of client code. (ram)
  * 2013-03-08: Removed EntityInterface (ram)
+ * 2026-10-18: added a public getter for the target, e.g. for logging Events
  */
 
 
@@ -54,6 +55,15 @@ public abstract class Affordance extends Action {
 			super(m);
 			target = theTarget;
 		}
+		
+		/**
+		 * Returns the <code>Entity</code> on which the <code>Action</code> is performed.
+		 * 
+		 * @return the target of this <code>Affordance</code>
+		 */
+		public EntityInterface getTarget() {
+			return target;
+		}
 
 
 }
@@ -0,0 +1,69 @@
+package edu.monash.fit2099.simulator.matter;
+
+import java.util.ArrayList;
+
+/**
+ * Holds back the effects of an <code>Actor</code> deciding what to do, so that <code>Actors</code> can decide at the
+ * same time.
+ * <p>
+ * When the <code>EntityManager</code> ticks in two phases, each <code>Actor</code> that can decide concurrently is
+ * ticked on a thread that is recording. Anything the <code>Actor</code> would have changed while deciding, such as
+ * scheduling an <code>Action</code> or saying something, is handed to {@link #defer(Runnable)} instead, and the
+ * <code>EntityManager</code> carries it out afterwards, one <code>Actor</code> at a time in the order they would have
+ * been ticked in. The world therefore stays the same while the <code>Actors</code> look at it, and the results are the
+ * same as ticking the <code>Actors</code> one at a time.
+ * <p>
+ * A <code>Scheduler</code> in parallel mode records each <code>Event</code> it executes on a thread of its pool in the
+ * same way, so that what the <code>Actions</code> say and schedule is carried out in the order of the 
+ * <code>Events</code>, on the thread that ticks the world, rather than in whatever order the threads get to it.
+ *
+ * @see EntityManager#setParallel(java.util.concurrent.ForkJoinPool)
+ * @see edu.monash.fit2099.simulator.time.Scheduler#setParallel(edu.monash.fit2099.simulator.time.EventPartitioner)
+ * @see Actor#canDecideConcurrently()
+ */
+public final class DecisionRecorder {
+
+	/**The effects held back on each thread, or null if the thread isn't recording*/
+	private static final ThreadLocal<ArrayList<Runnable>> recording = new ThreadLocal<ArrayList<Runnable>>();
+
+	private DecisionRecorder() {
+	}
+
+	/**
+	 * Returns true if and only if the current thread is recording the decision of an <code>Actor</code>, in which case
+	 * effects must be handed to <code>defer</code> rather than carried out.
+	 *
+	 * @return 	true if the current thread is recording
+	 */
+	public static boolean isRecording() {
+		return recording.get() != null;
+	}
+
+	/**
+	 * Holds back <code>effect</code> until the decision being recorded on the current thread is committed.
+	 *
+	 * @param 	effect what to do when the decision is committed
+	 * @pre 	the current thread is recording
+	 */
+	public static void defer(Runnable effect) {
+		ArrayList<Runnable> effects = recording.get();
+		assert (effects != null):"defer called on a thread that isn't recording";
+		effects.add(effect);
+	}
+
+	/**
+	 * Starts recording on the current thread.
+	 *
+	 * @param 	effects the list to add held back effects to
+	 */
+	public static void start(ArrayList<Runnable> effects) {
+		recording.set(effects);
+	}
+
+	/**
+	 * Stops recording on the current thread.
+	 */
+	public static void stop() {
+		recording.remove();
+	}
+}
@@ -1,10 +1,12 @@
 package edu.monash.fit2099.simulator.matter;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import edu.monash.fit2099.simulator.space.Location;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
+import edu.monash.fit2099.simulator.userInterface.MessageTemplate;
 /**
  * Base class for simulated items and actors. <code>Entity</code> implements the <code>EntityInterface</code>.
  * <p>
@@ -24,6 +26,10 @@ import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
  * 2013-03-07: made MessageRenderer a compulsory part of the constructor (ram)
  * 2013-03-07: removed EntityInterface to see if it's really necessary (ram)
  * 2013-03-09: made constructor instantiate affordances (ram)
+ * 2026-10-18: added an id, given by the EntityManager
+ * 2026-10-18: say is held back while the decision of an Actor is being recorded
+ * 2026-10-18: Affordances are kept in the order they were added, so that they come out in the same order every run
+ * 2026-10-18: added say methods that take a Level and a template, and toString gives the short description
  */
 
 public abstract class Entity implements EntityInterface {
@@ -53,6 +59,11 @@ public abstract class Entity implements EntityInterface {
 	 * <code>longDescriptions</code> usually provide more information than the <code>shortDescriptions</code>.
 	 */
 	protected String longDescription;
+	
+	/**
+	 * The id given to this <code>Entity</code> by its <code>EntityManager</code>, or -1.
+	 */
+	private int id = -1;
 
 
 	// Automatically generated getters and setters for description fields
@@ -117,7 +128,7 @@ public abstract class Entity implements EntityInterface {
 	 * @param m the <code>MessageRenderer</code> that allows this <code>Entity</code> to display messages
 	 */
 	protected Entity(MessageRenderer m) {
-		affordances = new HashSet<Affordance>();
+		affordances = new LinkedHashSet<Affordance>();
 		messageRenderer = m;
 	}
 
@@ -127,8 +138,86 @@ public abstract class Entity implements EntityInterface {
 	 */
 	@Override
 	public void say(String message) {
+		if (DecisionRecorder.isRecording()) { //said when the decision is committed, so messages come out in order
+			DecisionRecorder.defer(() -> messageRenderer.render(message));
+			return;
+		}
 		messageRenderer.render(message);
 	}
+	
+	/**
+	 * Says a message made from <code>template</code>, if the <code>MessageRenderer</code> displays messages of 
+	 * <code>level</code>. Otherwise the message isn't even made.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where the argument goes
+	 * @param 	arg the argument
+	 * @see 	MessageTemplate#format(String, Object)
+	 */
+	public void say(Level level, String template, Object arg) {
+		if (messageRenderer.isEnabled(level)) {
+			say(MessageTemplate.format(template, arg));
+		}
+	}
+	
+	/**
+	 * Says a message made from <code>template</code>, if the <code>MessageRenderer</code> displays messages of 
+	 * <code>level</code>. Otherwise the message isn't even made.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @see 	MessageTemplate#format(String, Object, Object)
+	 */
+	public void say(Level level, String template, Object arg1, Object arg2) {
+		if (messageRenderer.isEnabled(level)) {
+			say(MessageTemplate.format(template, arg1, arg2));
+		}
+	}
+	
+	/**
+	 * Says a message made from <code>template</code>, if the <code>MessageRenderer</code> displays messages of 
+	 * <code>level</code>. Otherwise the message isn't even made.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @param 	arg3 the third argument
+	 * @see 	MessageTemplate#format(String, Object, Object, Object)
+	 */
+	public void say(Level level, String template, Object arg1, Object arg2, Object arg3) {
+		if (messageRenderer.isEnabled(level)) {
+			say(MessageTemplate.format(template, arg1, arg2, arg3));
+		}
+	}
+	
+	/**
+	 * Says a message made from <code>template</code>, if the <code>MessageRenderer</code> displays messages of 
+	 * <code>level</code>. Otherwise the message isn't even made.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	args the arguments
+	 * @see 	MessageTemplate#format(String, Object...)
+	 */
+	public void say(Level level, String template, Object... args) {
+		if (messageRenderer.isEnabled(level)) {
+			say(MessageTemplate.format(template, args));
+		}
+	}
+	
+	/**
+	 * Returns the short description of this <code>Entity</code>, so that it can be given to a message template.
+	 * 
+	 * @return 	the short description
+	 * @see 	#getShortDescription()
+	 */
+	@Override
+	public String toString() {
+		return getShortDescription();
+	}
 
 
 	/* (non-Javadoc)
@@ -159,6 +248,22 @@ public abstract class Entity implements EntityInterface {
 		theAffordances = affordances.toArray(new Affordance[0]);
 		return theAffordances;
 	}
+	
+	/* (non-Javadoc)
+	 * @see edu.monash.fit2099.simulator.matter.EntityInterface#getId()
+	 */
+	@Override
+	public int getId() {
+		return id;
+	}
+	
+	/* (non-Javadoc)
+	 * @see edu.monash.fit2099.simulator.matter.EntityInterface#setId(int)
+	 */
+	@Override
+	public void setId(int id) {
+		this.id = id;
+	}
 
 
 }
@@ -80,5 +80,21 @@ public interface EntityInterface {
 	 * @return an array of references to this <code>Entity</code>'s <code>Affordances</code>
 	 */
 	public abstract Affordance[] getAffordances();
+	
+	/**
+	 * Returns the id given to this <code>Entity</code> by the <code>EntityManager</code> that keeps track of it, or -1 if 
+	 * it hasn't been given one.
+	 * 
+	 * @return the id of this <code>Entity</code>
+	 * @see edu.monash.fit2099.simulator.matter.EntityManager
+	 */
+	public abstract int getId();
+	
+	/**
+	 * Sets the id of this <code>Entity</code>. Only the <code>EntityManager</code> should call this.
+	 * 
+	 * @param id the new id of this <code>Entity</code>
+	 */
+	public abstract void setId(int id);
 
 }
\ No newline at end of file
@@ -1,13 +1,42 @@
 package edu.monash.fit2099.simulator.matter;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+	
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.space.Location;
-import edu.monash.fit2099.simulator.util.BiMultiMap;
+import edu.monash.fit2099.simulator.space.LocationContainer;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import edu.monash.fit2099.simulator.util.IdBiMultiMap;
 /**
  * <code>EntityManager</code> stores an association between <code>Entities</code> and their <code>Locations</code>.
  * <p>
+ * Each <code>Entity</code> is given a dense int id when it is first put on the map, and so is each <code>Location</code>
+ * while it has <code>Entities</code> in it. The associations are kept in <code>IdBiMultiMaps</code> of these ids, so moving
+ * an <code>Entity</code> takes the same time however crowded its <code>Locations</code> are, and allocates nothing.
+ * The <code>Entities</code> are ticked in order of their ids, see {@link #tick()}.
+ * <p>
+ * The methods that look up or change where <code>Entities</code> are can be called from several threads, e.g. by 
+ * <code>Actions</code> executed in parallel by the <code>Scheduler</code>. The lists returned by <code>contentsView</code> 
+ * must only be used while no <code>Entities</code> are moving.
+ * <p>
+ * The <code>Actors</code> can be ticked in two phases, see {@link #setParallel(ForkJoinPool)}: first they all decide 
+ * what to do at the same time, while nothing moves, and then their decisions are committed one at a time.
+ * <p>
+ * <code>Actors</code> that are waiting can be parked until they are ready to act, see {@link #setParking(Scheduler)}, 
+ * so that they aren't ticked at all in the meantime.
+ * <p>
+ * The <code>EntityManager</code> keeps track of <code>Entities</code> and <code>Locations</code> by ids that it stores 
+ * in them, so an <code>Entity</code> can only be on the map of one <code>EntityManager</code> at a time. Ids are only 
+ * meaningful to the <code>EntityManager</code> that gave them out, and are given out again once they are free.
+ * <p>
  * Generated by UML Lab
  * 
  * @author 	ram
@@ -22,21 +51,157 @@ import edu.monash.fit2099.simulator.util.BiMultiMap;
  * 2013-03-08: made to depend on EntityInterface instead of Entity (ram)
  * 2013-04-09: added remove method (ram)
  * 2017-01-20: Extended the java doc for content method and added comments
+ * 2026-10-18: Entities are tracked per region of their LocationContainer, and only regions with Actors in them are ticked
+ * 2026-10-18: added a spatial index with the within and inRect queries
+ * 2026-10-18: added contentsView and forEachAt, which don't copy the contents of a Location
+ * 2026-10-18: Entities and Locations are given int ids, and the storage, regions and spatial index are IdBiMultiMaps of them
+ * 2026-10-18: lookups and moves are synchronized, for Actions executed in parallel
+ * 2026-10-18: added a two-phase tick, where Actors decide in parallel and their decisions are committed in order
+ * 2026-10-18: Entities are ticked in order of id
+ * 2026-10-18: waiting Actors can be parked, and are woken by the Scheduler when they are ready to act
+ * 2026-10-18: added isIdle and skipTicks, for skipping ticks in which every Actor is parked
+ * 2026-10-18: added listeners that are told which Locations' contents change, e.g. so that Views only redraw those
+ * 2026-10-18: entity ids are reused once the Entities that held them have been removed
+ * 2026-10-18: each call to contentsView gives a view of its own, which locks while it reads
  */
-
+	
 public class EntityManager<E extends EntityInterface, L extends Location> {
 	
 	/**
-	 * A Bi Multi Map that is used to store the <code>Entities</code> mapped to their <code>Locations</code> on the map.
+	 * Maps the ids of the <code>Entities</code> on the map onto the ids of their <code>Locations</code>.
+	 */
+	private IdBiMultiMap storage;
+	
+	/**
+	 * The <code>Entities</code> by id. The slot of an <code>Entity</code> that has been removed from the map is null.
+	 */
+	private Object[] entities;
+	
+	/**Number of entity ids given out so far, including ones that have since been freed*/
+	private int entityCount;
+	
+	/**Entity ids that aren't in use, to be given out again*/
+	private int[] freeEntities;
+	
+	/**Number of ids in <code>freeEntities</code>*/
+	private int freeEntityCount;
+	
+	/**
+	 * Entity ids freed since the current tick started, which aren't given out again until the next tick so that an 
+	 * <code>Entity</code> put on the map during a tick isn't ticked in place of one that was removed
+	 */
+	private int[] retiredEntities;
+	
+	/**Number of ids in <code>retiredEntities</code>*/
+	private int retiredCount;
+	
+	/**
+	 * The <code>Locations</code> by id. The slot of an id that isn't in use is null.
+	 */
+	private Object[] locations;
+	
+	/**Number of location ids given out so far, including ones that have since been freed*/
+	private int locationCount;
+	
+	/**Location ids that aren't in use, to be given out again*/
+	private int[] freeLocations;
+	
+	/**Number of ids in <code>freeLocations</code>*/
+	private int freeCount;
+	
+	/**
+	 * Maps the ids of the <code>Entities</code> onto the regions of the map they are in, plus one, so that
+	 * <code>Entities</code> at <code>Locations</code> that aren't in a region are kept under zero.
+	 * 
+	 * @see edu.monash.fit2099.simulator.space.LocationContainer#getRegion(Location)
+	 */
+	private IdBiMultiMap regions;
+	
+	/**How many of the <code>Entities</code> in each region, plus one, are <code>Actors</code>*/
+	private int[] regionActors;
+	
+	/**
+	 * Maps the ids of the <code>Entities</code> that aren't parked onto their regions plus one, like <code>regions</code>.
+	 * These are the <code>Entities</code> that are ticked.
+	 * 
+	 * @see #setParking(Scheduler)
+	 */
+	private IdBiMultiMap awake;
+	
+	/**
+	 * Maps the ids of the parked <code>Entities</code> onto the slot of the tick they wake up on. Slots go round a ring 
+	 * of <code>ring</code> ticks, so that all the <code>Entities</code> waking on a tick are in one slot.
+	 */
+	private IdBiMultiMap parked;
+	
+	/**The number of slots for parked <code>Entities</code>, a power of two that is longer than any wait*/
+	private int ring = 64;
+	
+	/**The number of ticks so far*/
+	private int ticks;
+	
+	/**
+	 * The width and height, in <code>Locations</code>, of the square buckets of the spatial index.
+	 * 
+	 * @see #buckets
+	 */
+	public static final int BUCKET_SIZE = 8;
+	
+	/**
+	 * Spatial index of the <code>Entities</code>: maps the ids of the <code>Entities</code> onto the
+	 * <code>BUCKET_SIZE</code> by <code>BUCKET_SIZE</code> square of coordinates they are in. Buckets are numbered
+	 * row by row.
+	 * <p>
+	 * The index covers the <code>LocationContainer</code> of the first <code>Location</code> with coordinates that an
+	 * <code>Entity</code> is put in. <code>Entities</code> at other <code>Locations</code> aren't in the index.
+	 * 
+	 * @see #inRect(int, int, int, int)
+	 */
+	private IdBiMultiMap buckets;
+	
+	/**The <code>LocationContainer</code> covered by the spatial index, or null if there isn't one yet*/
+	private LocationContainer<?> indexed;
+	
+	/**Number of buckets in each row of the spatial index*/
+	private int bucketsAcross;
+	
+	/**The ids of the <code>Entities</code> to tick, reused from one tick to the next*/
+	private int[] ticking = new int[16];
+	
+	/**A bit for each entity id, used to sort the ids to tick, and cleared again afterwards*/
+	private long[] tickingBits = new long[1];
+	
+	/**The pool that <code>Actors</code> decide on in two-phase ticks, or null to tick one <code>Entity</code> at a time*/
+	private ForkJoinPool pool;
+	
+	/**The <code>Scheduler</code> that wakes parked <code>Actors</code>, or null if waiting <code>Actors</code> aren't parked*/
+	private Scheduler parking;
+	
+	/**Told about each <code>Location</code> whose contents change*/
+	private ArrayList<Consumer<? super L>> locationListeners = new ArrayList<Consumer<? super L>>();
+	
+	/**
+	 * True while <code>Actors</code> are deciding in parallel. Nothing moves in the meantime, so lookups don't need to 
+	 * lock.
 	 */
-	private BiMultiMap<E, L> storage;
+	private volatile boolean deciding;
 	
 	/**
 	 * Constructor for the <code>EntityManager</code>. 
-	 * This method initializes the Bi Multi Map for storage of <code>Entities</code> on the map.
+	 * This method initializes the Bi Multi Maps for storage of <code>Entities</code> on the map.
 	 */
 	public EntityManager() {
-		storage = new BiMultiMap<E, L>();
+		storage = new IdBiMultiMap();
+		entities = new Object[16];
+		locations = new Object[16];
+		freeLocations = new int[16];
+		freeEntities = new int[16];
+		retiredEntities = new int[16];
+		regions = new IdBiMultiMap();
+		regionActors = new int[16];
+		awake = new IdBiMultiMap();
+		parked = new IdBiMultiMap();
+		buckets = new IdBiMultiMap();
 	}
 	
 	/**
@@ -47,7 +212,12 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 	 * @return 	the <code>Location</code> of <code>e</code>, or null if <code>e</code> is not found on the map
 	 */
 	public L whereIs(E e) {
-		return storage.get(e);
+		if (deciding) {
+			return locationOf(idOf(e));
+		}
+		synchronized (this) {
+			return locationOf(idOf(e));
+		}
 	}
 	
 	/**
@@ -56,28 +226,112 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 	 * @author 	ram
 	 * @param 	e the <code>Entity</code> to remove
 	 */
-	public void remove(EntityInterface e) {
-		storage.remove(e);
+	public synchronized void remove(EntityInterface e) {
+		assert (!deciding):"Entities can't be removed while Actors are deciding";
+		
+		int id = idOf(e);
+		if (id == IdBiMultiMap.NONE) { //not on the map
+			return;
+		}
+		int locId = storage.remove(id);
+		entities[id] = null;
+		locationChanged(location(locId));
+	
+		int region = regions.remove(id);
+		awake.remove(id);
+		parked.remove(id);
+		if (e instanceof Actor) {
+			regionActors[region]--;
+		}
+		buckets.remove(id);
+		releaseIfEmpty(locId);
+		
+		if (retiredCount == retiredEntities.length) {
+			retiredEntities = Arrays.copyOf(retiredEntities, retiredCount * 2);
+		}
+		retiredEntities[retiredCount++] = id;
 	}
 	
 	/**
 	 * This method will return,
 	 * <ul>
 	 * 	<li>a List containing all <code>Entities</code> in the target <code>Location loc</code> or</li>
-	 * 	<li>an empty List if,</li>
+	 * 	<li>null if,</li>
 	 * 		<ul>
 	 * 			<li>no such <code>Location loc</code> is found or</li>
 	 * 			<li>if there are no <code>Entities</code> in that <code>Location loc</code></li>
 	 * 		</ul>
 	 * </ul>  
+	 * The List is a copy, so it can be kept and <code>Entities</code> can be moved while it is iterated over.
 	 * 
 	 * @author 	ram
 	 * @param 	loc Location being queried
-	 * @return 	list of all <code>Entities</code> in <code>loc</code> or an empty list
+	 * @return 	list of all <code>Entities</code> in <code>loc</code> or null
+	 * @see 	#contentsView(Location)
 	 */
-	public List<E> contents(final L loc) {
-		return storage.reverseLookup(loc);
-		
+	public synchronized List<E> contents(final L loc) {
+		int locId = idOf(loc);
+		if (locId == IdBiMultiMap.NONE) {
+			return null;
+		}
+		ArrayList<E> contents = new ArrayList<E>(storage.count(locId));
+		for (int id = storage.first(locId); id != IdBiMultiMap.NONE; id = storage.next(id)) {
+			contents.add(entity(id));
+		}
+		return contents;
+	}
+	
+	/**
+	 * Returns a read-only view of the <code>Entities</code> in <code>Location loc</code>, or an empty list if there are none.
+	 * <p>
+	 * Unlike <code>contents</code>, no list is copied, so this is the one to use in code that runs for every 
+	 * <code>Location</code> or every tick, such as rendering. The view changes as <code>Entities</code> move, so no 
+	 * <code>Entity</code> may be moved or removed while it is being iterated over. Use <code>contents</code> for that.
+	 * <p>
+	 * Each call gives a new view, which remembers where it got to, so it is fastest when it is iterated over in order, 
+	 * either by index or with an iterator. A view is meant to be used by the caller there and then, on one thread, 
+	 * rather than kept. Each read takes the lock of the <code>EntityManager</code>, so <code>Entities</code> moving 
+	 * on other threads, e.g. in <code>Actions</code> executed in parallel, don't corrupt it.
+	 * 
+	 * @param 	loc Location being queried
+	 * @return 	read-only list of the <code>Entities</code> in <code>loc</code>
+	 * @see 	#contents(Location)
+	 * @see 	#forEachAt(Location, Consumer)
+	 */
+	public List<E> contentsView(final L loc) {
+		int locId;
+		if (deciding) {
+			locId = idOf(loc);
+		}
+		else {
+			synchronized (this) {
+				locId = idOf(loc);
+			}
+		}
+		if (locId == IdBiMultiMap.NONE) {
+			return Collections.emptyList();
+		}
+		return new ContentsView(locId);
+	}
+	
+	/**
+	 * Calls <code>action</code> for each <code>Entity</code> in <code>Location loc</code>, without copying the contents 
+	 * of <code>loc</code>.
+	 * <p>
+	 * As with <code>contentsView</code>, <code>action</code> must not move or remove <code>Entities</code>.
+	 * 
+	 * @param 	loc Location being queried
+	 * @param 	action what to do with each <code>Entity</code>
+	 * @see 	#contentsView(Location)
+	 */
+	public synchronized void forEachAt(final L loc, Consumer<? super E> action) {
+		int locId = idOf(loc);
+		if (locId == IdBiMultiMap.NONE) {
+			return;
+		}
+		for (int id = storage.first(locId); id != IdBiMultiMap.NONE; id = storage.next(id)) {
+			action.accept(entity(id));
+		}
 	}
 	
 	/**
@@ -87,24 +341,788 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 	 * @param e the <code>Entity</code> to move
 	 * @param loc the destination <code>Location</code>
 	 */
-	public void setLocation(E e, L loc) {
-		storage.put(e, loc);
+	public synchronized void setLocation(E e, L loc) {
+		assert (!deciding):"Entities can't move while Actors are deciding";
+		
+		int id = idOf(e);
+		if (id == IdBiMultiMap.NONE) {
+			id = newId(e);
+		}
+	
+		int oldLocId = storage.get(id);
+		int locId = idOf(loc);
+		if (locId == IdBiMultiMap.NONE) {
+			locId = newId(loc);
+		}
+		storage.put(id, locId);
+		if (oldLocId != locId) {
+			if (oldLocId != IdBiMultiMap.NONE) {
+				locationChanged(location(oldLocId));
+				releaseIfEmpty(oldLocId);
+			}
+			locationChanged(loc);
+		}
+	
+		int bucket = bucketOf(loc);
+		if (bucket == IdBiMultiMap.NONE) {
+			buckets.remove(id);
+		}
+		else {
+			buckets.put(id, bucket);
+		}
+	
+		int region = regionOf(loc) + 1;
+		int oldRegion = regions.get(id);
+		if (oldRegion == region) { //still in the same region
+			return;
+		}
+		regions.put(id, region);
+		if (oldRegion == IdBiMultiMap.NONE || awake.containsKey(id)) { //a parked Entity stays parked
+			awake.put(id, region);
+		}
+		if (e instanceof Actor) {
+			if (oldRegion != IdBiMultiMap.NONE) {
+				regionActors[oldRegion]--;
+			}
+			if (region >= regionActors.length) {
+				regionActors = Arrays.copyOf(regionActors, Math.max(region + 1, regionActors.length * 2));
+			}
+			regionActors[region]++;
+		}
+	}
+	
+	/**
+	 * Adds a listener that is told about each <code>Location</code> whose contents change, i.e. that an 
+	 * <code>Entity</code> is put in, moves into or out of or is removed from, or that holds an <code>Entity</code> 
+	 * that has been touched.
+	 * <p>
+	 * Listeners are called while this <code>EntityManager</code> is locked, possibly from several threads, so they 
+	 * should only note the <code>Location</code> down and must not call back into this <code>EntityManager</code>.
+	 * 
+	 * @param 	listener what to tell about changed <code>Locations</code>
+	 * @see 	#touch(EntityInterface)
+	 */
+	public synchronized void addLocationListener(Consumer<? super L> listener) {
+		locationListeners.add(listener);
+	}
+	
+	/**
+	 * Tells the location listeners that the <code>Location</code> of <code>e</code> has changed even though nothing has 
+	 * moved, e.g. because <code>e</code> looks different. This method does nothing if <code>e</code> is not on the map.
+	 * 
+	 * @param 	e the <code>Entity</code> that has changed
+	 * @see 	#addLocationListener(Consumer)
+	 */
+	public synchronized void touch(E e) {
+		L loc = locationOf(idOf(e));
+		if (loc != null) {
+			locationChanged(loc);
+		}
+	}
+	
+	/**
+	 * Tells the location listeners that the contents of <code>loc</code> have changed.
+	 * 
+	 * @param 	loc the <code>Location</code>
+	 */
+	private void locationChanged(L loc) {
+		for (int i = 0; i < locationListeners.size(); i++) {
+			locationListeners.get(i).accept(loc);
+		}
+	}
+	
+	/**
+	 * Returns all the <code>Entities</code> within <code>radius</code> moves of <code>loc</code>, i.e. at <code>Locations</code>
+	 * whose coordinates differ from those of <code>loc</code> by at most <code>radius</code> in each direction. 
+	 * The <code>Entities</code> at <code>loc</code> itself are included.
+	 * <p>
+	 * Only <code>Locations</code> with coordinates are indexed, so if <code>loc</code> has none the result is empty.
+	 * 
+	 * @param 	loc the <code>Location</code> at the centre of the neighbourhood
+	 * @param 	radius how many moves away from <code>loc</code> to look
+	 * @return 	a new list of the <code>Entities</code> in the neighbourhood, in no particular order
+	 * @see 	#inRect(int, int, int, int)
+	 */
+	public List<E> within(L loc, int radius) {
+		assert (radius >= 0):"radius cannot be negative";
+	
+		if (loc.getX() < 0) {
+			return new ArrayList<E>();
+		}
+		// saturate the bounds, so that a huge radius reaches everything rather than wrapping round
+		return inRect(saturate((long) loc.getX() - radius), saturate((long) loc.getY() - radius), 
+				saturate((long) loc.getX() + radius), saturate((long) loc.getY() + radius));
+	}
+	
+	/**
+	 * Returns <code>value</code> as an int, or the int closest to it if it is out of range.
+	 * 
+	 * @param 	value a coordinate
+	 * @return 	<code>value</code>, clamped to the range of int
+	 */
+	private static int saturate(long value) {
+		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+	}
+	
+	/**
+	 * Returns all the <code>Entities</code> at <code>Locations</code> with coordinates in the rectangle from 
+	 * (<code>left</code>, <code>top</code>) to (<code>right</code>, <code>bottom</code>), inclusive.
+	 * <p>
+	 * Only the buckets of the spatial index that overlap the rectangle are looked at, so the cost depends on the size 
+	 * of the rectangle and the number of <code>Entities</code> near it, not on the number of <code>Entities</code> in the world.
+	 * 
+	 * @param 	left the smallest West/East coordinate
+	 * @param 	top the smallest North/South coordinate
+	 * @param 	right the largest West/East coordinate
+	 * @param 	bottom the largest North/South coordinate
+	 * @return 	a new list of the <code>Entities</code> in the rectangle, in no particular order
+	 * @see 	#BUCKET_SIZE
+	 */
+	public synchronized List<E> inRect(int left, int top, int right, int bottom) {
+		ArrayList<E> result = new ArrayList<E>();
+		if (indexed == null) { //nothing has been indexed yet
+			return result;
+		}
+		// there is nothing to find outside the indexed container
+		left = Math.max(left, 0);
+		top = Math.max(top, 0);
+		right = Math.min(right, indexed.getWidth() - 1);
+		bottom = Math.min(bottom, indexed.getHeight() - 1);
+		if (left > right || top > bottom) {
+			return result;
+		}
+	
+		long across = right / BUCKET_SIZE - left / BUCKET_SIZE + 1;
+		long down = bottom / BUCKET_SIZE - top / BUCKET_SIZE + 1;
+		if (across * down > buckets.size()) {
+			// the rectangle covers more buckets than there are indexed Entities, so just look at the Entities
+			for (int id = 0; id < entityCount; id++) {
+				if (buckets.containsKey(id)) {
+					addIfInRect(id, left, top, right, bottom, result);
+				}
+			}
+			return result;
+		}
+	
+		for (int by = top / BUCKET_SIZE; by <= bottom / BUCKET_SIZE; by++) {
+			for (int bx = left / BUCKET_SIZE; bx <= right / BUCKET_SIZE; bx++) {
+				int bucket = by * bucketsAcross + bx;
+				for (int id = buckets.first(bucket); id != IdBiMultiMap.NONE; id = buckets.next(id)) {
+					addIfInRect(id, left, top, right, bottom, result);
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Adds the <code>Entity</code> with id <code>id</code> to <code>result</code> if it is in the rectangle from
+	 * (<code>left</code>, <code>top</code>) to (<code>right</code>, <code>bottom</code>).
+	 * 
+	 * @param 	id the id of an <code>Entity</code> in the spatial index
+	 * @param 	left the smallest West/East coordinate
+	 * @param 	top the smallest North/South coordinate
+	 * @param 	right the largest West/East coordinate
+	 * @param 	bottom the largest North/South coordinate
+	 * @param 	result the list to add the <code>Entity</code> to
+	 */
+	private void addIfInRect(int id, int left, int top, int right, int bottom, List<E> result) {
+		L loc = locationOf(id);
+		if (loc.getX() >= left && loc.getX() <= right && loc.getY() >= top && loc.getY() <= bottom) {
+			result.add(entity(id));
+		}
+	}
+	
+	/**
+	 * Returns the bucket of the spatial index that <code>loc</code> is in, or <code>NONE</code> if it isn't covered by the index.
+	 * 
+	 * @param 	loc a <code>Location</code>
+	 * @return 	the bucket of <code>loc</code>, or <code>NONE</code>
+	 */
+	private int bucketOf(L loc) {
+		if (loc.getX() < 0) {
+			return IdBiMultiMap.NONE;
+		}
+		if (indexed == null) { //the first Location with coordinates decides what the index covers
+			indexed = loc.getContainer();
+			bucketsAcross = (indexed.getWidth() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+		}
+		else if (loc.getContainer() != indexed) {
+			return IdBiMultiMap.NONE;
+		}
+		return (loc.getY() / BUCKET_SIZE) * bucketsAcross + loc.getX() / BUCKET_SIZE;
+	}
+	
+	/**
+	 * Returns true if and only if there are any <code>Entities</code> in the region <code>region</code>.
+	 * <p>
+	 * Parts of a world with no <code>Entities</code> in them can safely be unloaded.
+	 * 
+	 * @param 	region the number of the region
+	 * @return 	true if at least one <code>Entity</code> is in the region, false otherwise
+	 * @see 	edu.monash.fit2099.simulator.space.LocationContainer#getRegion(Location)
+	 */
+	public synchronized boolean isRegionOccupied(int region) {
+		return regions.count(region + 1) > 0;
+	}
+	
+	/**
+	 * Returns true if and only if there are any <code>Actors</code> in the region <code>region</code>.
+	 * <p>
+	 * Only the <code>Entities</code> of active regions are ticked.
+	 * 
+	 * @param 	region the number of the region
+	 * @return 	true if at least one <code>Actor</code> is in the region, false otherwise
+	 * @see 	#tick()
+	 */
+	public synchronized boolean isRegionActive(int region) {
+		return region + 1 < regionActors.length && regionActors[region + 1] > 0;
+	}
+	
+	/**
+	 * Returns the region of the <code>LocationContainer</code> that <code>loc</code> belongs to, or -1 if it
+	 * doesn't belong to a region.
+	 * 
+	 * @param 	loc a <code>Location</code>
+	 * @return 	the region of <code>loc</code>
+	 */
+	private int regionOf(L loc) {
+		if (loc.getContainer() == null) {
+			return -1;
+		}
+		return loc.getContainer().getRegion(loc);
+	}
+	
+	/**
+	 * Returns the id of <code>e</code>, or <code>NONE</code> if it isn't on the map.
+	 * 
+	 * @param 	e an <code>Entity</code>
+	 * @return 	the id of <code>e</code>, or <code>NONE</code>
+	 */
+	private int idOf(EntityInterface e) {
+		int id = e.getId();
+		if (id < 0 || id >= entityCount || entities[id] != e) { //not one of ours
+			return IdBiMultiMap.NONE;
+		}
+		return id;
+	}
+	
+	/**
+	 * Returns the id of <code>loc</code>, or <code>NONE</code> if there are no <code>Entities</code> in it.
+	 * 
+	 * @param 	loc a <code>Location</code>
+	 * @return 	the id of <code>loc</code>, or <code>NONE</code>
+	 */
+	private int idOf(Location loc) {
+		int id = loc.getId();
+		if (id < 0 || id >= locationCount || locations[id] != loc) { //not one of ours
+			return IdBiMultiMap.NONE;
+		}
+		return id;
+	}
+	
+	/**
+	 * Gives <code>e</code> an id, reusing one that has been freed if there is one.
+	 * <p>
+	 * The id is stored in <code>e</code>, overwriting any id another <code>EntityManager</code> gave it, so 
+	 * <code>e</code> must not be on the map of another <code>EntityManager</code>.
+	 * 
+	 * @param 	e an <code>Entity</code> that isn't on the map of this or any other <code>EntityManager</code>
+	 * @return 	the new id of <code>e</code>
+	 */
+	private int newId(E e) {
+		int id;
+		if (freeEntityCount > 0) {
+			id = freeEntities[--freeEntityCount];
+		}
+		else {
+			if (entityCount == entities.length) {
+				entities = Arrays.copyOf(entities, entities.length * 2);
+			}
+			id = entityCount++;
+		}
+		entities[id] = e;
+		e.setId(id);
+		return id;
+	}
+	
+	/**
+	 * Gives <code>loc</code> an id, reusing one that has been freed if there is one.
+	 * 
+	 * @param 	loc a <code>Location</code> with no <code>Entities</code> in it
+	 * @return 	the new id of <code>loc</code>
+	 */
+	private int newId(L loc) {
+		int id;
+		if (freeCount > 0) {
+			id = freeLocations[--freeCount];
+		}
+		else {
+			if (locationCount == locations.length) {
+				locations = Arrays.copyOf(locations, locations.length * 2);
+			}
+			id = locationCount++;
+		}
+		locations[id] = loc;
+		loc.setId(id);
+		return id;
+	}
+	
+	/**
+	 * Frees the location id <code>locId</code> if there are no <code>Entities</code> left in its <code>Location</code>, so
+	 * that only <code>Locations</code> with <code>Entities</code> in them hold ids and the <code>EntityManager</code> doesn't
+	 * hold on to <code>Locations</code> that have been unloaded.
+	 * 
+	 * @param 	locId a location id
+	 */
+	private void releaseIfEmpty(int locId) {
+		if (storage.count(locId) > 0) {
+			return;
+		}
+		location(locId).setId(-1);
+		locations[locId] = null;
+		if (freeCount == freeLocations.length) {
+			freeLocations = Arrays.copyOf(freeLocations, freeLocations.length * 2);
+		}
+		freeLocations[freeCount++] = locId;
+	}
+	
+	/**
+	 * Returns the <code>Entity</code> with id <code>id</code>.
+	 * 
+	 * @param 	id an entity id
+	 * @return 	the <code>Entity</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private E entity(int id) {
+		return (E) entities[id];
+	}
+	
+	/**
+	 * Returns the <code>Location</code> with id <code>locId</code>.
+	 * 
+	 * @param 	locId a location id
+	 * @return 	the <code>Location</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private L location(int locId) {
+		return (L) locations[locId];
+	}
+	
+	/**
+	 * Returns the <code>Location</code> of the <code>Entity</code> with id <code>id</code>, or null if it isn't on the map.
+	 * 
+	 * @param 	id an entity id, or <code>NONE</code>
+	 * @return 	its <code>Location</code>, or null
+	 */
+	private L locationOf(int id) {
+		int locId = storage.get(id);
+		if (locId == IdBiMultiMap.NONE) {
+			return null;
+		}
+		return location(locId);
+	}
+	
+	/**
+	 * Read-only view of the <code>Entities</code> in the <code>Location</code> with a particular id.
+	 * <p>
+	 * It remembers where it got to, so getting the <code>Entities</code> in order by index doesn't start from the beginning
+	 * of the list each time. It reads under the lock of the <code>EntityManager</code>, except while <code>Actors</code>
+	 * are deciding, when nothing moves.
+	 */
+	private class ContentsView extends AbstractList<E> {
+	
+		/**The location id*/
+		private final int locId;
+	
+		/**The index of the last <code>Entity</code> got, or -1*/
+		private int index = -1;
+	
+		/**The id of the last <code>Entity</code> got*/
+		private int id;
+	
+		private ContentsView(int locId) {
+			this.locId = locId;
+		}
+	
+		@Override
+		public E get(int i) {
+			if (deciding) {
+				return entityAt(i);
+			}
+			synchronized (EntityManager.this) {
+				return entityAt(i);
+			}
+		}
+		
+		/**
+		 * Returns the <code>Entity</code> at index <code>i</code> of the view, without locking.
+		 * 
+		 * @param 	i an index
+		 * @return 	the <code>Entity</code>
+		 * @throws 	IndexOutOfBoundsException if there is no <code>Entity</code> at <code>i</code>
+		 */
+		private E entityAt(int i) {
+			int size = storage.count(locId);
+			if (i < 0 || i >= size) {
+				throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+			}
+			if (index < 0 || i <= index) { //start again from the beginning
+				index = 0;
+				id = storage.first(locId);
+			}
+			while (index < i) {
+				id = storage.next(id);
+				index++;
+			}
+			return entity(id);
+		}
+	
+		@Override
+		public int size() {
+			if (deciding) {
+				return storage.count(locId);
+			}
+			synchronized (EntityManager.this) {
+				return storage.count(locId);
+			}
+		}
 	}
 	
-
 	/**
 	 * Allow time to pass.
 	 * <p>
 	 * Tells each <code>Entity</code> in the world to update itself and/or schedule an <code>Action</code>.
+	 * <p>
+	 * Only regions of the world with <code>Actors</code> in them take part. <code>Entities</code> in regions with no
+	 * <code>Actors</code> are left alone, so the cost of a tick depends on the active parts of the world rather than its size.
+	 * <p>
+	 * The <code>Entities</code> to tick are collected first, so each is ticked once even if <code>Entities</code> move or are
+	 * removed along the way. <code>Entities</code> removed before their turn aren't ticked.
+	 * <p>
+	 * <code>Entities</code> are ticked in order of id, whichever regions they are in, so the order doesn't depend on how 
+	 * they have moved about. Until <code>Entities</code> are removed that is the order they were first put on the map; 
+	 * after that, an <code>Entity</code> put on the map may get the id of one that was removed.
+	 * <p>
+	 * Parked <code>Actors</code> aren't ticked, and if parking is on, an <code>Actor</code> that has to wait is parked 
+	 * rather than ticked.
+	 * 
+	 * @see 	#setParallel(ForkJoinPool)
+	 * @see 	#setParking(Scheduler)
 	 */
 	public void tick() {
+		ticks++;
+		freeRetiredEntities();
+	
+		//collect all the Entities in the active regions of the world
+		int n = 0;
+		for (int region = 0; region < regionActors.length; region++) {
+			if (regionActors[region] == 0) {
+				continue;
+			}
+			for (int id = awake.first(region); id != IdBiMultiMap.NONE; id = awake.next(id)) {
+				if (n == ticking.length) {
+					ticking = Arrays.copyOf(ticking, n * 2);
+				}
+				ticking[n++] = id;
+			}
+		}
+		sortTicking(n);
+	
+		if (pool != null) {
+			tickInTwoPhases(n);
+			return;
+		}
+		for (int i = 0; i < n; i++) {
+			int id = ticking[i];
+			L loc = locationOf(id);
+			if (loc != null) { //still on the map
+				tickOrPark(id, loc);
+			}
+		}
+	}
+	
+	/**
+	 * Makes the entity ids freed during the last tick available to be given out again.
+	 */
+	private synchronized void freeRetiredEntities() {
+		if (freeEntityCount + retiredCount > freeEntities.length) {
+			freeEntities = Arrays.copyOf(freeEntities, Math.max(freeEntityCount + retiredCount, freeEntities.length * 2));
+		}
+		System.arraycopy(retiredEntities, 0, freeEntities, freeEntityCount, retiredCount);
+		freeEntityCount += retiredCount;
+		retiredCount = 0;
+	}
+	
+	/**
+	 * Sorts the first <code>n</code> ids of <code>ticking</code>.
+	 * <p>
+	 * The ids of <code>Actors</code> that have woken up are out of order, so when many <code>Entities</code> are ticked 
+	 * the ids are sorted by setting their bits and reading them back, which takes time proportional to the number of 
+	 * entity ids, rather than by comparing them.
+	 * 
+	 * @param 	n the number of ids
+	 */
+	private void sortTicking(int n) {
+		int words = (entityCount + 63) >> 6;
+		if (n < words * 4) { //few enough to compare
+			Arrays.sort(ticking, 0, n);
+			return;
+		}
+		
+		if (tickingBits.length < words) {
+			tickingBits = new long[Math.max(words, tickingBits.length * 2)];
+		}
+		for (int i = 0; i < n; i++) {
+			tickingBits[ticking[i] >> 6] |= 1L << ticking[i];
+		}
+		int k = 0;
+		for (int w = 0; w < words; w++) {
+			long bits = tickingBits[w];
+			tickingBits[w] = 0;
+			while (bits != 0) {
+				ticking[k++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+	}
+	
+	/**
+	 * Turns on parking of waiting <code>Actors</code>.
+	 * <p>
+	 * Without parking, an <code>Actor</code> with a <code>waittime</code> is ticked on every tick just to count it down.
+	 * With parking, it is taken out of the <code>Entities</code> to tick instead, its <code>waittime</code> is cleared, 
+	 * and <code>scheduler</code> wakes it up again after that many ticks, in time for it to act on the same tick as it 
+	 * would have. The cost of a tick then depends on the <code>Actors</code> that can act, not on all of them.
+	 * <p>
+	 * The <code>Actors</code> that wake up on the same tick are woken together, by one <code>Event</code>.
+	 * 
+	 * @param 	scheduler the <code>Scheduler</code> that ticks the world, or null to count waiting <code>Actors</code> 
+	 * 			down one tick at a time again
+	 * @see 	Actor#getWaittime()
+	 */
+	public void setParking(Scheduler scheduler) {
+		this.parking = scheduler;
+	}
+	
+	/**
+	 * Returns true if and only if <code>e</code> is parked, i.e. on the map but not being ticked until it is woken up.
+	 * 
+	 * @param 	e the <code>Entity</code>
+	 * @return 	true if <code>e</code> is parked
+	 * @see 	#setParking(Scheduler)
+	 */
+	public synchronized boolean isParked(E e) {
+		return parked.containsKey(idOf(e));
+	}
+	
+	/**
+	 * Returns true if and only if every <code>Actor</code> on the map is parked, so that ticking wouldn't make any of 
+	 * them act. This is never the case without parking, unless there are no <code>Actors</code>, as waiting 
+	 * <code>Actors</code> are then ticked to count down their <code>waittime</code>.
+	 * 
+	 * @return 	true if no <code>Actor</code> would be ticked
+	 * @see 	#setParking(Scheduler)
+	 */
+	public synchronized boolean isIdle() {
+		int actors = 0;
+		for (int region = 0; region < regionActors.length; region++) {
+			actors += regionActors[region];
+		}
+		return actors == parked.size();
+	}
+	
+	/**
+	 * Lets <code>n</code> ticks pass without ticking anything, keeping count so that parked <code>Actors</code> still 
+	 * wake up on the right tick.
+	 * 
+	 * @param 	n the number of ticks
+	 * @pre 	the <code>EntityManager</code> is idle
+	 * @see 	#isIdle()
+	 */
+	public synchronized void skipTicks(int n) {
+		assert (isIdle()):"ticks can only be skipped while every Actor is parked";
+		ticks += n;
+	}
+	
+	/**
+	 * Returns true if the <code>Entity</code> with id <code>id</code> should be parked rather than ticked.
+	 * 
+	 * @param 	id an entity id
+	 * @return 	true if it is an <code>Actor</code> that is waiting and parking is on
+	 */
+	private boolean mustPark(int id) {
+		return parking != null && entity(id) instanceof Actor && ((Actor<?>) entity(id)).getWaittime() > 0;
+	}
+	
+	/**
+	 * Ticks the <code>Entity</code> with id <code>id</code>, or parks it if it is waiting.
+	 * 
+	 * @param 	id an entity id
+	 * @param 	loc its <code>Location</code>
+	 */
+	private void tickOrPark(int id, L loc) {
+		if (!mustPark(id)) {
+			entity(id).tick(loc);
+			return;
+		}
+		
+		Actor<?> a = (Actor<?>) entity(id);
+		int wait = a.getWaittime();
+		a.setWaittime(0);
 		
-		//loop through all the Entities in the world
-		for (E e: storage.keySet()) {
-			e.tick(storage.get(e));
+		// Actions aren't executed while the world is ticked, so nothing else is using the maps
+		final int wakeTick = ticks + wait;
+		if (wait >= ring) {
+			growRing(wait);
+		}
+		int slot = wakeTick & (ring - 1);
+		boolean first = parked.count(slot) == 0;
+		awake.remove(id);
+		parked.put(id, slot);
+		if (first) { //nothing else wakes on that tick yet
+			parking.wakeAfter(wait, () -> wakeAll(wakeTick));
+		}
+	}
+	
+	/**
+	 * Wakes up the <code>Entities</code> parked until tick <code>wakeTick</code>, so that they are ticked again.
+	 * 
+	 * @param 	wakeTick the tick they are to be ticked on
+	 */
+	private synchronized void wakeAll(int wakeTick) {
+		int slot = wakeTick & (ring - 1);
+		int id;
+		while ((id = parked.first(slot)) != IdBiMultiMap.NONE) {
+			parked.remove(id);
+			awake.put(id, regions.get(id));
 		}
 	}
 	
+	/**
+	 * Makes the ring of slots for parked <code>Entities</code> longer than <code>wait</code>, moving the parked 
+	 * <code>Entities</code> to their slots in the new ring.
+	 * 
+	 * @param 	wait the number of ticks an <code>Entity</code> is about to be parked for
+	 */
+	private void growRing(int wait) {
+		int newRing = Integer.highestOneBit(wait) << 1;
+		int[] moving = new int[parked.size()];
+		int[] wakeTicks = new int[moving.length];
+		int n = 0;
+		for (int slot = 0; slot < ring; slot++) {
+			int wakeTick = ticks + ((slot - ticks) & (ring - 1)); //every parked Entity wakes within ring ticks
+			for (int id = parked.first(slot); id != IdBiMultiMap.NONE; id = parked.next(id)) {
+				moving[n] = id;
+				wakeTicks[n++] = wakeTick;
+			}
+		}
+		ring = newRing;
+		for (int i = 0; i < n; i++) {
+			parked.put(moving[i], wakeTicks[i] & (ring - 1));
+		}
+	}
+	
+	/**
+	 * Turns on two-phase ticks, in which <code>Actors</code> decide what to do at the same time on <code>pool</code>.
+	 * <p>
+	 * In a two-phase tick,
+	 * <ul>
+	 * 	<li>the <code>Actors</code> that can decide concurrently are ticked in parallel while nothing moves. What they 
+	 * 		schedule and say is held back by the {@link DecisionRecorder}</li>
+	 * 	<li>then, in the order they would have been ticked in, the held back effects of each of them are carried out,
+	 * 		and the other <code>Entities</code>, such as human controlled <code>Actors</code>, are ticked</li>
+	 * </ul>
+	 * Deciding only looks at the world, so the outcome is the same as ticking the <code>Entities</code> one at a time. 
+	 * The <code>Actors</code> deciding in parallel must not share anything else that isn't safe to use from several 
+	 * threads.
+	 * 
+	 * @param 	pool the pool to decide on, or null to tick one <code>Entity</code> at a time again
+	 * @see 	Actor#canDecideConcurrently()
+	 */
+	public void setParallel(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	
+	/**
+	 * Ticks the first <code>n</code> <code>Entities</code> of <code>ticking</code> in two phases.
+	 * 
+	 * @param 	n the number of <code>Entities</code> to tick
+	 * @see 	#setParallel(ForkJoinPool)
+	 */
+	private void tickInTwoPhases(int n) {
+		final int[] ids = Arrays.copyOf(ticking, n);
+		
+		// the held back effects of each Entity, or null if it wasn't ticked in the decision phase
+		final List<ArrayList<Runnable>> effects = new ArrayList<ArrayList<Runnable>>(
+				Collections.<ArrayList<Runnable>>nCopies(n, null));
+		
+		// decide, in a few slices per thread so that a slice of busy Actors doesn't hold the others up
+		int slices = Math.min(n, pool.getParallelism() * 4);
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(slices);
+		for (int s = 0; s < slices; s++) {
+			final int start = (int) ((long) n * s / slices);
+			final int end = (int) ((long) n * (s + 1) / slices);
+			tasks.add(() -> {
+				for (int i = start; i < end; i++) {
+					E e = entity(ids[i]);
+					L loc = locationOf(ids[i]);
+					if (loc != null && !mustPark(ids[i]) && e instanceof Actor && ((Actor<?>) e).canDecideConcurrently()) {
+						ArrayList<Runnable> held = new ArrayList<Runnable>();
+						effects.set(i, held);
+						DecisionRecorder.start(held);
+						try {
+							e.tick(loc);
+						}
+						finally {
+							DecisionRecorder.stop();
+						}
+					}
+				}
+				return null;
+			});
+		}
+		deciding = true;
+		try {
+			for (Future<Void> f : pool.invokeAll(tasks)) {
+				f.get();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while Actors were deciding", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw new IllegalStateException("an Actor failed to decide", ex.getCause());
+		}
+		finally {
+			deciding = false;
+		}
+		
+		// commit, in order
+		for (int i = 0; i < n; i++) {
+			L loc = locationOf(ids[i]);
+			if (loc == null) { //removed before its turn
+				continue;
+			}
+			if (effects.get(i) != null) {
+				for (Runnable effect : effects.get(i)) {
+					effect.run();
+				}
+			}
+			else {
+				tickOrPark(ids[i], loc);
+			}
+		}
+	}
+	
+	
 	/**
 	 * Returns true if and only if the specified <code>Entity e</code> is in a <code>Location</code>
 	 * that has a neighboring <code>Location</code> in the specified <code>Direction d</code>, false otherwise.
@@ -136,12 +1154,28 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 	 *    
 	 *    Can we move this to the change log? - Asel
 	 */
+	public <A extends ActionInterface> List<A> getActionsFor(Actor<A> a) {
+		if (deciding) {
+			return actionsFor(a);
+		}
+		synchronized (this) {
+			return actionsFor(a);
+		}
+	}
+	
+	/**
+	 * Returns a list of the <code>Actions</code> available to the given <code>Actor</code>, without locking.
+	 * 
+	 * @param 	a the <code>Actor</code> for whom the list of <code>Actions</code> is required
+	 * @return 	List<Action> of possible <code>Actions</code>
+	 * @see 	#getActionsFor(Actor)
+	 */
 	/*
 	 * This code has a couple of unchecked casts.  They can't be checked because
 	 * generics are involved.
 	 */
 	@SuppressWarnings("unchecked")
-	public <A extends ActionInterface> List<A> getActionsFor(Actor<A> a) {
+	private <A extends ActionInterface> List<A> actionsFor(Actor<A> a) {
 		ArrayList<A> theActions = new ArrayList<A>();
 		
 		//Actions for the Actor a
@@ -149,10 +1183,10 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 			theActions.add(ac);
 		}
 		
-
+	
 		L loc = whereIs((E) a);
 		//Affordances of the Entities in the same location
-		for (E e: contents(loc)) {
+		for (E e: contentsView(loc)) {
 			if (e != a) { //don't add the affordances if they belong to the actor itself
 				for (Affordance aff: e.getAffordances()) {
 					theActions.add((A) aff);
@@ -164,3 +1198,4 @@ public class EntityManager<E extends EntityInterface, L extends Location> {
 		return theActions;
 	}
 }
+	
\ No newline at end of file
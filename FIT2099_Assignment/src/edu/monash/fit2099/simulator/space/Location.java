@@ -1,5 +1,7 @@
 package edu.monash.fit2099.simulator.space;
 
+import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -14,32 +16,81 @@ import java.util.Map;
  * Changelog:
  * 2013-04-13: Factored Location.Maker out into a separate file, because the combination
  * 		of inner classes and generics was too much for Eclipse's tiny brain (ram)
+ * 2026-10-18: Neighbours are worked out by the container from the coordinates of the Location. The neighbours
+ * 		map only holds irregular links and is created on demand
+ * 2026-10-18: Locations are Serializable so that unused parts of a container can be written out to disk. The
+ * 		container isn't written with them
+ * 2026-10-18: Locations have an id, given by the EntityManager while there are Entities in them
  */
-public abstract class Location {
+public abstract class Location implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
-	 * Stores references to neighbours of this <code>Location</code> associated with the direction
+	 * Stores references to neighbours of this <code>Location</code> associated with the direction, for links that can't be
+	 * worked out from the geometry of the <code>LocationContainer</code> this <code>Location</code> belongs to (e.g. a 
+	 * tunnel between two distant <code>Locations</code>, or a wall that blocks an exit).
+	 * <p>
+	 * This map is null until the first such link is added, so regular <code>Locations</code> don't carry one.
 	 */
 	protected Map<Direction, Location> neighbours;
+	
+	/**
+	 * The <code>LocationContainer</code> this <code>Location</code> belongs to, or null if it doesn't belong to one.
+	 * <p>
+	 * Neighbours that aren't stored in {@link #neighbours} are worked out by the container from the coordinates of this 
+	 * <code>Location</code>.
+	 */
+	protected transient LocationContainer<?> container;
+	
+	/**The West/East coordinate of this <code>Location</code> in its <code>container</code>, or -1 if it has no container*/
+	protected int x = -1;
+	
+	/**The North/South coordinate of this <code>Location</code> in its <code>container</code>, or -1 if it has no container*/
+	protected int y = -1;
+	
+	/**
+	 * The id given to this <code>Location</code> by an <code>EntityManager</code> while it has <code>Entities</code> in it, or -1.
+	 * <p>
+	 * Ids only mean something to the <code>EntityManager</code> that gave them, so they aren't written out with the 
+	 * <code>Location</code>.
+	 */
+	protected transient int id = -1;
 
 	/**
 	 * Finds and returns neighbouring location of this <code>Location</code> in the specified direction, or null if no such neighbour exists
 	 * <p>
+	 * Links added with <code>addNeighbour</code> take precedence. Otherwise the neighbour is worked out by the 
+	 * <code>container</code> of this <code>Location</code> from its coordinates.
+	 * 
 	 * @param 	d the direction
 	 * @return 	the neighbour in the specified direction <code>d</code>, or null if no such neighbour exists
+	 * @see 	LocationContainer#getNeighbour(Location, Direction)
 	 */
 	public Location getNeighbour(final Direction d) {
-		return neighbours.get(d);
+		if (neighbours != null && neighbours.containsKey(d)) {
+			return neighbours.get(d);
+		}
+		if (container != null) {
+			return container.getNeighbour(this, d);
+		}
+		return null;
 	}
 
 	/**
 	 * Adds a neighbour to this <code>Location</code> in the specified direction.
+	 * <p>
+	 * The link overrides any neighbour the <code>container</code> of this <code>Location</code> would otherwise 
+	 * work out in that direction. Adding a null neighbour removes the exit in direction <code>d</code>.
 	 * 
 	 * @param 	d direction in which the neighbour needs to be added
 	 * @param 	l neighbouring location
 	 * @return 	the neighbouring location of this <code>Location</code> in the direction <code>d</code>
 	 */
 	public Location addNeighbour(final Direction d, final Location l) {
+		if (neighbours == null) {
+			neighbours = new HashMap<Direction, Location>(4);
+		}
 		return neighbours.put(d, l);
 	}
 	
@@ -51,7 +102,88 @@ public abstract class Location {
 	 * @return true if such a <code>Location</code> in the specified <code>Direction d</code> exists, false otherwise
 	 */
 	public Boolean hasExit(final Direction d) {
-		return neighbours.keySet().contains(d);
+		if (neighbours != null && neighbours.containsKey(d)) {
+			return neighbours.get(d) != null;
+		}
+		if (container != null) {
+			return container.hasNeighbour(this, d);
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if and only if this <code>Location</code> has links of its own to other <code>Locations</code>, 
+	 * added with <code>addNeighbour</code>, that override the geometry of its <code>container</code>.
+	 * 
+	 * @return 	true if this <code>Location</code> has irregular links, false otherwise
+	 * @see 	#neighbours
+	 */
+	public boolean hasIrregularPaths() {
+		return neighbours != null && !neighbours.isEmpty();
+	}
+	
+	/**
+	 * Places this <code>Location</code> at the coordinates (<code>x</code>, <code>y</code>) of a <code>LocationContainer</code>.
+	 * <p>
+	 * This should only be called by the <code>LocationContainer</code> that creates this <code>Location</code>.
+	 * 
+	 * @param 	c the <code>LocationContainer</code> this <code>Location</code> belongs to
+	 * @param 	x West/East coordinate of this <code>Location</code> in <code>c</code>
+	 * @param 	y North/South coordinate of this <code>Location</code> in <code>c</code>
+	 */
+	public void setCoordinates(LocationContainer<?> c, int x, int y) {
+		this.container = c;
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Returns the <code>LocationContainer</code> this <code>Location</code> belongs to, or null if it doesn't belong to one.
+	 * 
+	 * @return 	the container of this <code>Location</code>
+	 * @see 	#container
+	 */
+	public LocationContainer<?> getContainer() {
+		return container;
+	}
+	
+	/**
+	 * Returns the West/East coordinate of this <code>Location</code>, or -1 if it doesn't belong to a <code>LocationContainer</code>.
+	 * 
+	 * @return 	the x coordinate of this <code>Location</code>
+	 * @see 	#x
+	 */
+	public int getX() {
+		return x;
+	}
+	
+	/**
+	 * Returns the North/South coordinate of this <code>Location</code>, or -1 if it doesn't belong to a <code>LocationContainer</code>.
+	 * 
+	 * @return 	the y coordinate of this <code>Location</code>
+	 * @see 	#y
+	 */
+	public int getY() {
+		return y;
+	}
+	
+	/**
+	 * Returns the id given to this <code>Location</code> by an <code>EntityManager</code>, or -1 if it hasn't got one.
+	 * 
+	 * @return 	the id of this <code>Location</code>
+	 * @see 	edu.monash.fit2099.simulator.matter.EntityManager
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	/**
+	 * Sets the id of this <code>Location</code>. Only the <code>EntityManager</code> should call this.
+	 * 
+	 * @param 	id the new id of this <code>Location</code>, or -1
+	 */
+	public void setId(int id) {
+		this.id = id;
 	}
 	
 }
@@ -16,6 +16,7 @@ import edu.monash.fit2099.simulator.userInterface.MapRenderer;
  * Changelog
  * 
  * 2013-03-07: added EntityManager parameter to render method so that clients can also render items (ram)
+ * 2026-10-18: containers work out the neighbours of their Locations from their coordinates
  */
 
 public abstract class LocationContainer<T extends Location> {
@@ -37,4 +38,51 @@ public abstract class LocationContainer<T extends Location> {
 	
 	/**Returns the width of this <code>LocationContainer</code>*/
 	public abstract int getWidth();
+	
+	/**
+	 * Returns the neighbour of <code>loc</code> in the <code>Direction d</code>, worked out from the geometry of this
+	 * <code>LocationContainer</code> and the coordinates of <code>loc</code>, or null if there is no such neighbour.
+	 * <p>
+	 * This is only asked for directions in which <code>loc</code> has no irregular link of its own. 
+	 * By default there are no neighbours; subclasses with a regular geometry should override this.
+	 * 
+	 * @param 	loc a <code>Location</code> of this <code>LocationContainer</code>
+	 * @param 	d the direction
+	 * @return 	the neighbour of <code>loc</code> in the direction <code>d</code>, or null if no such neighbour exists
+	 * @see 	Location#getNeighbour(Direction)
+	 */
+	public Location getNeighbour(Location loc, Direction d) {
+		return null;
+	}
+	
+	/**
+	 * Returns true if and only if <code>loc</code> has a neighbour in the <code>Direction d</code> in the geometry of this
+	 * <code>LocationContainer</code>.
+	 * <p>
+	 * By default this asks <code>getNeighbour</code>. Subclasses that create their <code>Locations</code> on demand 
+	 * should override it so that checking for an exit doesn't create the neighbour.
+	 * 
+	 * @param 	loc a <code>Location</code> of this <code>LocationContainer</code>
+	 * @param 	d the direction
+	 * @return 	true if <code>loc</code> has a neighbour in the direction <code>d</code>, false otherwise
+	 * @see 	Location#hasExit(Direction)
+	 */
+	public boolean hasNeighbour(Location loc, Direction d) {
+		return getNeighbour(loc, d) != null;
+	}
+	
+	/**
+	 * Returns the region of this <code>LocationContainer</code> that <code>loc</code> is in, or -1 if it isn't in one.
+	 * <p>
+	 * Regions are numbered from zero. They let an <code>EntityManager</code> keep track of where its <code>Entities</code> are
+	 * in coarse terms, so that whole regions with nothing going on in them can be skipped. By default the container 
+	 * has no regions; large containers should override this.
+	 * 
+	 * @param 	loc a <code>Location</code> of this <code>LocationContainer</code>
+	 * @return 	the region containing <code>loc</code>, or -1
+	 * @see 	edu.monash.fit2099.simulator.matter.EntityManager#tick()
+	 */
+	public int getRegion(Location loc) {
+		return -1;
+	}
 }
\ No newline at end of file
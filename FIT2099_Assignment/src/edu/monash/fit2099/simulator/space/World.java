@@ -36,6 +36,7 @@ import edu.monash.fit2099.simulator.matter.EntityManager;
  * 		it can pass those parameters along, then I can't make the entity manager static.  So I've put
  * 		in a protected abstract accessor to force concrete subclasses to at least have access to an
  * 		entity manager.  (ram)
+ * 2026-10-18: added isIdle and skipTicks, so that the Scheduler can skip ticks in which nothing would happen
  * 
  */
 
@@ -87,4 +88,29 @@ public abstract class World extends Observable {
 	public void tick() {
 		getEntityManager().tick();
 	}
+	
+	/**
+	 * Returns true if ticking this <code>World</code> wouldn't do anything, because all of its <code>Actors</code> are
+	 * parked until something wakes them.
+	 * <p>
+	 * Entities that aren't <code>Actors</code> are assumed to change only through <code>Events</code>, not by being 
+	 * ticked.
+	 * 
+	 * @return 	true if this <code>World</code> is idle
+	 * @see 	EntityManager#isIdle()
+	 */
+	public boolean isIdle() {
+		return getEntityManager().isIdle();
+	}
+	
+	/**
+	 * Lets <code>ticks</code> ticks pass in which this <code>World</code> is idle, without ticking it.
+	 * 
+	 * @param 	ticks the number of ticks
+	 * @pre 	this <code>World</code> is idle
+	 * @see 	#isIdle()
+	 */
+	public void skipTicks(int ticks) {
+		getEntityManager().skipTicks(ticks);
+	}
 }
@@ -0,0 +1,208 @@
+package edu.monash.fit2099.simulator.time;
+
+import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.matter.Actor;
+
+/**
+ * An <code>Event</code> is the execution of a <code>Action</code>, by an <code>Actor</code>, at a point in time.  
+ * 
+ * The <code>Actor</code> may be null in the case of simulations that allow the world to change automatically. 
+ * 
+ * @author ram
+ *
+ */
+/*
+ * Changelog
+ * 
+ * 2026-10-18: moved out of Scheduler so that it can be shared by the queues of Events
+ * 2026-10-18: Events are numbered as they are scheduled, and simultaneous Events of the same priority happen in that order
+ * 2026-10-18: Events are handles that can be cancelled
+ * 2026-10-18: the generation of an Event is taken when it is scheduled, so cancelAll also cancels Events still held back
+ */
+class Event implements Comparable<Event>, EventHandle {
+	
+	/**The <code>Action</code> to be performed for this <code>Event</code>*/
+	private ActionInterface what;
+	
+	/**The <code>Actor</code> of the <code>Action</code> for this <code>Event</code>.
+	 * <p>
+	 * The <code>Actor</code> may be null in the case of simulations that allow the world to change automatically. 
+	 */
+	private Actor<?> who;
+	
+	/**
+	 * When this <code>Event</code> should occur
+	 */
+	private int when;
+	
+	/**
+	 * The number of this <code>Event</code>, in the order <code>Events</code> were scheduled in. Breaks ties between 
+	 * simultaneous <code>Events</code> of the same <code>priority</code>
+	 */
+	private long sequence;
+	
+	/**The <code>Scheduler</code> this <code>Event</code> was scheduled with*/
+	private Scheduler scheduler;
+	
+	/**
+	 * The generation of the <code>Actor</code>'s <code>Events</code> this <code>Event</code> belongs to, as of when it 
+	 * was scheduled. It is cancelled when the <code>Actor</code> moves on to a new generation, even if that happens 
+	 * while it is held back by a <code>DecisionRecorder</code> and before it is queued.
+	 * 
+	 * @see Actor#getEventGeneration()
+	 */
+	private int generation;
+	
+	/**True if this <code>Event</code> has been put in the queue of its <code>Scheduler</code>*/
+	private boolean queued;
+	
+	/**True if this <code>Event</code> has happened, or will never be queued*/
+	private boolean done;
+	
+	/**True if this <code>Event</code> has been cancelled by itself*/
+	private volatile boolean cancelled;
+	
+	/**
+	 * Constructor for an <code>Event</code> object. The <code>Event</code> is given its time when it is queued.
+	 * 
+	 * @param scheduler the scheduler the event is scheduled with
+	 * @param what what Action to be performed as the event
+	 * @param who the actor of the event. The Actor may be null in the case of simulations that allow the world to change automatically.
+	 * @see #queue(int, long)
+	 */
+	public Event(Scheduler scheduler, ActionInterface what, Actor<?> who) {
+		this.scheduler = scheduler;
+		this.what = what;
+		this.who = who;
+		if (who != null) {
+			generation = who.getEventGeneration();
+		}
+	}
+	
+	/**
+	 * Gives this <code>Event</code> its time, just before it is put in the queue of its <code>Scheduler</code>.
+	 * 
+	 * @param when when the event should occur
+	 * @param sequence the number of the event, counting up as events are queued
+	 */
+	void queue(int when, long sequence) {
+		this.when = when;
+		this.sequence = sequence;
+		queued = true;
+	}
+	
+	/**
+	 * Marks this <code>Event</code> as having happened, or as one that will never be queued.
+	 */
+	void finish() {
+		done = true;
+	}
+	
+	@Override
+	public void cancel() {
+		if (isPending()) {
+			cancelled = true;
+			if (queued) {
+				scheduler.noteCancelled();
+			}
+		}
+	}
+	
+	@Override
+	public boolean isPending() {
+		return !done && !isCancelled();
+	}
+	
+	/**
+	 * Returns true if and only if this <code>Event</code> has been cancelled, either by itself or along with all the 
+	 * other <code>Events</code> of its <code>Actor</code>.
+	 * 
+	 * @return 	true if this <code>Event</code> has been cancelled
+	 */
+	boolean isCancelled() {
+		return cancelled || (who != null && generation != who.getEventGeneration());
+	}
+	
+	/**
+	 * Returns the <code>Scheduler</code> this <code>Event</code> was scheduled with.
+	 * 
+	 * @return 	the <code>Scheduler</code> of this <code>Event</code>
+	 */
+	Scheduler getScheduler() {
+		return scheduler;
+	}
+	
+	//getters for the class attributes
+	public ActionInterface getAction() {
+		return what;
+	}
+	
+	public Actor<?> getActor() {
+		return who;
+	}
+	
+	public int getTime() {
+		return when;
+	}
+	
+	/**
+	 * Compare this against another Event, e.
+	 * <p>
+	 * Events will be compared by their time (<code>when</code>) and also by 
+	 * the <code>priority</code> of their <code>Actions</code> (<code>what</code>).
+	 * Simultaneous <code>Events</code> of the same <code>priority</code> are compared by <code>sequence</code>, so that
+	 * they happen in the order they were scheduled in, and no two <code>Events</code> are ever equal.
+	 * 
+	 *  
+	 * @author 	ram
+	 * @author 	Asel
+	 * @date 	19 February 2013
+	 * @date  	8 January 2017 (Modified)
+	 * @param 	e the event to compare this Event to
+	 * @return 	<ul>
+	 * 				<li>0 if the events are the same event</li>
+	 * 				<li>a negative integer if, 
+	 * 					<ul>
+	 * 						<li>the <code>Event this</code> happens before <code>e</code> OR</li>
+	 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time but
+	 * 							the <code>Action</code> of <code>Event this</code> has higher <code>priority</code> than the <code>Action</code> of <code>Event e</code> OR</li>
+	 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time with the same <code>priority</code> 
+	 * 							but <code>this</code> was scheduled first</li>
+	 * 					</ul>
+	 * 				</li>
+	 *	 			<li>a positive integer if, 
+	 * 					<ul>
+	 * 						<li>the <code>Event this</code> happens after the <code>e</code> OR</li>
+	 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time but
+	 * 							the <code>Action</code> of event <code>this</code> has lower <code>priority</code> than the <code>Action</code> of <code>Event e</code> OR</li>
+	 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time with the same <code>priority</code> 
+	 * 							but <code>e</code> was scheduled first</li>
+	 * 					</ul>
+	 * 				</li>
+	 * 			</ul>
+	 * @see 	{@link #what}
+	 * @see 	{@link #when}
+	 * @see 	{@link #sequence}
+	 */
+	public int compareTo(Event e) {
+		//First sort by the time of the event
+        int timeResult = this.when - e.when;
+        
+        //if the comparison gave us a result i.e the events aren't simultaneous,
+        //then it's safe to return the results as it is
+        if (timeResult!=0){
+        	return timeResult;
+        }
+        
+        //if we are here then the events are simultaneous, hence must be sorted according to priority of the event's action
+        int priorityResult = e.getAction().getPriority() - this.getAction().getPriority();
+        if (priorityResult != 0) {
+        	return priorityResult;
+        }
+        
+        //if the priority result is still 0, then the events happen in the order they were scheduled in
+        return Long.compare(this.sequence, e.sequence);
+	}
+	
+	
+}
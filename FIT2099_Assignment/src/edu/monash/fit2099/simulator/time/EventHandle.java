@@ -0,0 +1,27 @@
+package edu.monash.fit2099.simulator.time;
+
+/**
+ * Handle on an <code>Event</code> that has been scheduled, returned by
+ * {@link Scheduler#schedule(edu.monash.fit2099.simulator.matter.ActionInterface, edu.monash.fit2099.simulator.matter.Actor, int)}.
+ * <p>
+ * Cancelling an <code>Event</code> takes constant time. It stays in the queue of the <code>Scheduler</code> but is
+ * skipped when it comes due, and is cleared out early if many <code>Events</code> are cancelled.
+ *
+ * @see Scheduler#reschedule(EventHandle, int)
+ * @see Scheduler#cancelAll(edu.monash.fit2099.simulator.matter.Actor)
+ */
+public interface EventHandle {
+
+	/**
+	 * Cancels the <code>Event</code>, so that its <code>Action</code> isn't executed. This method does nothing if the
+	 * <code>Event</code> has already happened or been cancelled.
+	 */
+	public void cancel();
+
+	/**
+	 * Returns true if and only if the <code>Event</code> has yet to happen and hasn't been cancelled.
+	 *
+	 * @return 	true if the <code>Event</code> is still to happen
+	 */
+	public boolean isPending();
+}
@@ -0,0 +1,182 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.matter.Actor;
+import edu.monash.fit2099.simulator.matter.Affordance;
+import edu.monash.fit2099.simulator.matter.EntityInterface;
+
+/**
+ * A binary log of the <code>Events</code> that come due in a <code>Scheduler</code>, for analysing a run afterwards.
+ * <p>
+ * The log starts with a header of <code>MAGIC</code> and <code>VERSION</code>, each an int. It is followed by records,
+ * each starting with a byte that tells what kind of record it is,
+ * <ul>
+ * 	<li><code>EVENT_RECORD</code>: the time (int), the id of the <code>Actor</code> (int), the type of the
+ * 		<code>Action</code> (short), the id of the target of the <code>Action</code> if it is an <code>Affordance</code>
+ * 		(int) and the outcome (byte). Ids are -1 if there is no <code>Actor</code> or target. Always
+ * 		<code>EVENT_RECORD_SIZE</code> bytes long</li>
+ * 	<li><code>TYPE_RECORD</code>: the number of a type of <code>Action</code> (short), and the length (short) and UTF-8
+ * 		bytes of the name of its class. Written before the first <code>EVENT_RECORD</code> of that type</li>
+ * </ul>
+ * Numbers are big-endian. Records are put in a direct buffer, which is written to the file when it is full, so
+ * recording an <code>Event</code> only copies a few numbers.
+ * <p>
+ * The ids are those the <code>EntityManager</code> gave the <code>Entities</code>. It gives the id of an 
+ * <code>Entity</code> that has been removed to the next one put on the map, so over a run the same id can stand for 
+ * different <code>Entities</code>.
+ * <p>
+ * An <code>EventLog</code> can be written to from several threads, e.g. by a <code>Scheduler</code> in parallel mode.
+ *
+ * @see 	Scheduler#setEventLog(EventLog)
+ * @see 	EventLogReader
+ */
+public class EventLog implements Closeable {
+
+	/**The first int of a log, "SWEL"*/
+	public static final int MAGIC = 0x5357454C;
+
+	/**The version of the format of the log*/
+	public static final int VERSION = 1;
+
+	/**The first byte of a record of an <code>Event</code>*/
+	public static final byte EVENT_RECORD = 1;
+
+	/**The first byte of a record of a type of <code>Action</code>*/
+	public static final byte TYPE_RECORD = 2;
+
+	/**The number of bytes of a record of an <code>Event</code>*/
+	public static final int EVENT_RECORD_SIZE = 16;
+
+	/**The outcome of an <code>Event</code> whose <code>Action</code> was executed*/
+	public static final byte EXECUTED = 0;
+
+	/**The outcome of an <code>Event</code> that came due after it had been cancelled, so was not executed*/
+	public static final byte CANCELLED = 1;
+
+	/**The outcome of an <code>Event</code> whose <code>Action</code> threw an exception*/
+	public static final byte FAILED = 2;
+
+	/**The number of bytes that are put together before they are written to the file*/
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/**The file the log is written to*/
+	private final FileChannel channel;
+
+	/**The records that haven't been written to the file yet*/
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**The number of each type of <code>Action</code> that has been recorded*/
+	private final HashMap<Class<?>, Short> types = new HashMap<Class<?>, Short>();
+
+	/**
+	 * Constructor for the <code>EventLog</code>. Creates the file, or empties it if it already exists, and writes the
+	 * header.
+	 *
+	 * @param 	file the file to write the log to
+	 * @throws 	IOException if the file can't be opened
+	 */
+	public EventLog(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		buffer.putInt(MAGIC).putInt(VERSION);
+	}
+
+	/**
+	 * Records an <code>Event</code> that has come due.
+	 *
+	 * @param 	time the time of the <code>Event</code>
+	 * @param 	action the <code>Action</code> of the <code>Event</code>
+	 * @param 	actor the <code>Actor</code> of the <code>Event</code>, or null
+	 * @param 	outcome <code>EXECUTED</code>, <code>CANCELLED</code> or <code>FAILED</code>
+	 * @throws 	UncheckedIOException if the records couldn't be written to the file
+	 */
+	public synchronized void record(int time, ActionInterface action, Actor<?> actor, byte outcome) {
+		short type = typeOf(action);
+		EntityInterface target = action instanceof Affordance ? ((Affordance) action).getTarget() : null;
+
+		if (buffer.remaining() < EVENT_RECORD_SIZE) {
+			write();
+		}
+		buffer.put(EVENT_RECORD)
+			.putInt(time)
+			.putInt(actor != null ? actor.getId() : -1)
+			.putShort(type)
+			.putInt(target != null ? target.getId() : -1)
+			.put(outcome);
+	}
+
+	/**
+	 * Returns the number of the type of <code>action</code>, recording the type first if it is new.
+	 *
+	 * @param 	action an <code>Action</code>
+	 * @return 	the number of its type
+	 */
+	private short typeOf(ActionInterface action) {
+		Class<?> c = action.getClass();
+		Short type = types.get(c);
+		if (type == null) {
+			type = (short) types.size();
+			types.put(c, type);
+
+			byte[] name = c.getName().getBytes(StandardCharsets.UTF_8);
+			if (buffer.remaining() < 5 + name.length) {
+				write();
+			}
+			buffer.put(TYPE_RECORD).putShort(type).putShort((short) name.length).put(name);
+		}
+		return type;
+	}
+
+	/**
+	 * Writes the records so far to the file.
+	 *
+	 * @throws 	UncheckedIOException if the records couldn't be written
+	 */
+	public synchronized void flush() {
+		write();
+	}
+
+	/**
+	 * Writes the buffer to the file and empties it.
+	 *
+	 * @throws 	UncheckedIOException if the buffer couldn't be written
+	 */
+	private void write() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Writes the records so far to the file and closes it.
+	 *
+	 * @throws 	IOException if the records couldn't be written or the file couldn't be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			write();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			channel.close();
+		}
+	}
+}
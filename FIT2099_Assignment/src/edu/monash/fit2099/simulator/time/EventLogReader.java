@@ -0,0 +1,213 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads back an <code>EventLog</code>, one <code>Event</code> at a time, without holding the whole log in memory.
+ * <p>
+ * {@link #next()} moves on to the next <code>Event</code>, whose fields are then given by the getters. Nothing is made
+ * for each <code>Event</code>, so a long log can be read about as fast as the file can.
+ * <pre>
+ * try (EventLogReader log = new EventLogReader(file)) {
+ *     while (log.next()) {
+ *         count[log.getType()]++;
+ *     }
+ * }
+ * </pre>
+ *
+ * @see 	EventLog
+ */
+public class EventLogReader implements Closeable {
+
+	/**The number of bytes read from the file at a time*/
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/**The file the log is read from*/
+	private final FileChannel channel;
+
+	/**The bytes read from the file that haven't been read as records yet*/
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**The names of the types of <code>Action</code> read so far, by number*/
+	private final List<String> types = new ArrayList<String>();
+
+	/**True once the end of the file has been reached*/
+	private boolean endOfFile;
+
+	//the fields of the current Event
+	private int time;
+	private int actor;
+	private short type = -1;
+	private int target;
+	private byte outcome;
+
+	/**
+	 * Constructor for the <code>EventLogReader</code>. Opens the log and checks its header.
+	 *
+	 * @param 	file the log to read
+	 * @throws 	IOException if the file can't be read, or isn't an <code>EventLog</code> of this version
+	 */
+	public EventLogReader(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		buffer.limit(0);
+		if (!fill(8)) {
+			channel.close();
+			throw new IOException(file + ": not an event log");
+		}
+		int magic = buffer.getInt();
+		int version = buffer.getInt();
+		if (magic != EventLog.MAGIC || version != EventLog.VERSION) {
+			channel.close();
+			throw new IOException(file + ": not an event log of version " + EventLog.VERSION);
+		}
+	}
+
+	/**
+	 * Moves on to the next <code>Event</code> in the log.
+	 *
+	 * @return 	true if there is another <code>Event</code>, false at the end of the log
+	 * @throws 	IOException if the log can't be read, or ends part of the way through a record
+	 */
+	public boolean next() throws IOException {
+		while (fill(1)) {
+			byte kind = buffer.get();
+			if (kind == EventLog.EVENT_RECORD) {
+				require(EventLog.EVENT_RECORD_SIZE - 1);
+				time = buffer.getInt();
+				actor = buffer.getInt();
+				type = buffer.getShort();
+				target = buffer.getInt();
+				outcome = buffer.get();
+				return true;
+			}
+			else if (kind == EventLog.TYPE_RECORD) {
+				require(4);
+				short number = buffer.getShort();
+				int length = buffer.getShort() & 0xFFFF;
+				require(length);
+				byte[] name = new byte[length];
+				buffer.get(name);
+				while (types.size() <= number) {
+					types.add(null);
+				}
+				types.set(number, new String(name, StandardCharsets.UTF_8));
+			}
+			else {
+				throw new IOException("unknown record " + kind + " in event log");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Makes sure that at least <code>n</code> bytes are in the buffer, reading more from the file if need be.
+	 *
+	 * @param 	n the number of bytes needed
+	 * @return 	true if there are, false if the file ends before then
+	 * @throws 	IOException if the file can't be read
+	 */
+	private boolean fill(int n) throws IOException {
+		if (buffer.remaining() >= n) {
+			return true;
+		}
+		buffer.compact();
+		while (buffer.position() < n && !endOfFile) {
+			if (channel.read(buffer) < 0) {
+				endOfFile = true;
+			}
+		}
+		buffer.flip();
+		return buffer.remaining() >= n;
+	}
+
+	/**
+	 * Makes sure that the rest of a record, <code>n</code> bytes, is in the buffer.
+	 *
+	 * @param 	n the number of bytes of the rest of the record
+	 * @throws 	IOException if the file can't be read, or ends before the end of the record
+	 */
+	private void require(int n) throws IOException {
+		if (!fill(n)) {
+			throw new EOFException("event log ends part of the way through a record");
+		}
+	}
+
+	/**
+	 * Returns the time of the current <code>Event</code>.
+	 *
+	 * @return 	the time
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the id of the <code>Actor</code> of the current <code>Event</code>.
+	 *
+	 * @return 	the id, or -1 if there was no <code>Actor</code>
+	 */
+	public int getActor() {
+		return actor;
+	}
+
+	/**
+	 * Returns the number of the type of the <code>Action</code> of the current <code>Event</code>.
+	 *
+	 * @return 	the number of the type
+	 * @see 	#getTypeName()
+	 */
+	public int getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the name of the class of the <code>Action</code> of the current <code>Event</code>.
+	 *
+	 * @return 	the name of the class
+	 */
+	public String getTypeName() {
+		return types.get(type);
+	}
+
+	/**
+	 * Returns the names of the classes of the types of <code>Action</code> read so far, by number.
+	 *
+	 * @return 	an unmodifiable view of the names
+	 */
+	public List<String> getTypeNames() {
+		return Collections.unmodifiableList(types);
+	}
+
+	/**
+	 * Returns the id of the target of the <code>Action</code> of the current <code>Event</code>.
+	 *
+	 * @return 	the id, or -1 if the <code>Action</code> wasn't an <code>Affordance</code>
+	 */
+	public int getTarget() {
+		return target;
+	}
+
+	/**
+	 * Returns the outcome of the current <code>Event</code>.
+	 *
+	 * @return 	<code>EventLog.EXECUTED</code>, <code>EventLog.CANCELLED</code> or <code>EventLog.FAILED</code>
+	 */
+	public byte getOutcome() {
+		return outcome;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,38 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.util.function.IntConsumer;
+
+import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.matter.Actor;
+
+/**
+ * Works out which parts of a <code>World</code> an <code>Event</code> may read or change, so that a <code>Scheduler</code>
+ * can execute <code>Events</code> that don't share any parts at the same time.
+ * <p>
+ * A part is identified by an int key, e.g. the number of a region of the grid. Two <code>Events</code> conflict if they
+ * have a key in common, and conflicting <code>Events</code> are always executed one after the other, in order.
+ * <p>
+ * The <code>Scheduler</code> calls the partitioner for the due <code>Events</code> of a tick one at a time, on its own
+ * thread, before any of them are executed, to group them. It calls it again as each <code>Event</code> is executed, on
+ * a thread of its pool, to find the parts to lock while it runs, since the <code>Actor</code> may have moved in the 
+ * meantime. So the partitioner must be safe to call from several threads, and must give the keys of where things are
+ * when it is called.
+ * 
+ * @see Scheduler#setParallel(EventPartitioner)
+ */
+public interface EventPartitioner {
+	
+	/**
+	 * Gives <code>keys</code> the key of every part of the <code>World</code> that executing <code>action</code> for 
+	 * <code>actor</code> may read or change.
+	 * <p>
+	 * If this can't be worked out, false should be returned. Such an <code>Event</code> is executed on its own, after all the
+	 * <code>Events</code> before it and before all the <code>Events</code> after it.
+	 * 
+	 * @param 	action the <code>Action</code> of the <code>Event</code>
+	 * @param 	actor the <code>Actor</code> of the <code>Event</code>, which may be null
+	 * @param 	keys takes the keys of the parts of the <code>World</code>
+	 * @return 	true if all the keys were given, false if the <code>Event</code> must be executed on its own
+	 */
+	public boolean addKeys(ActionInterface action, Actor<?> actor, IntConsumer keys);
+}
@@ -0,0 +1,50 @@
+package edu.monash.fit2099.simulator.time;
+
+/**
+ * A queue of <code>Events</code> for the <code>Scheduler</code>, which gives them back in the order of 
+ * {@link Event#compareTo(Event)}: by time, and then by the priority of their <code>Actions</code>.
+ * 
+ * @see Scheduler.QueueType
+ */
+interface EventQueue {
+	
+	/**
+	 * Adds an <code>Event</code> to the queue.
+	 * <p>
+	 * The <code>Event</code> may be due at a time that has already been drained, in which case it is given back by the 
+	 * next call to <code>pollDue</code>.
+	 * 
+	 * @param 	e the <code>Event</code> to add
+	 */
+	public void offer(Event e);
+	
+	/**
+	 * Removes and returns the next <code>Event</code> due at or before <code>until</code>, or returns null if there are none.
+	 * 
+	 * @param 	until the latest time of the <code>Events</code> to give back
+	 * @return 	the next <code>Event</code> due, or null
+	 */
+	public Event pollDue(int until);
+	
+	/**
+	 * Returns the time of the next <code>Event</code> in the queue, without removing it, or 
+	 * <code>Integer.MAX_VALUE</code> if the queue is empty. The <code>Event</code> may have been cancelled.
+	 * 
+	 * @return 	the time of the next <code>Event</code>, or <code>Integer.MAX_VALUE</code>
+	 */
+	public int peekTime();
+	
+	/**
+	 * Removes the cancelled <code>Events</code> from the queue.
+	 * 
+	 * @see 	Event#isCancelled()
+	 */
+	public void purge();
+	
+	/**
+	 * Returns the number of <code>Events</code> in the queue.
+	 * 
+	 * @return 	the number of <code>Events</code>
+	 */
+	public int size();
+}
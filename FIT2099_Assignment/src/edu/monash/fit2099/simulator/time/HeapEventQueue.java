@@ -0,0 +1,51 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+/**
+ * <code>EventQueue</code> kept in a binary heap (a <code>PriorityQueue</code>). 
+ * <p>
+ * Adding and removing an <code>Event</code> take O(log n) time for n <code>Events</code> in the queue, whenever they are due.
+ * 
+ * @see Scheduler.QueueType#PRIORITY_QUEUE
+ */
+class HeapEventQueue implements EventQueue {
+	
+	/**The <code>Events</code>, ordered by {@link Event#compareTo(Event)}*/
+	private PriorityQueue<Event> events = new PriorityQueue<Event>();
+
+	@Override
+	public void offer(Event e) {
+		events.offer(e);
+	}
+
+	@Override
+	public Event pollDue(int until) {
+		if (events.isEmpty() || events.peek().getTime() > until) {
+			return null;
+		}
+		return events.poll();
+	}
+
+	@Override
+	public int peekTime() {
+		return events.isEmpty() ? Integer.MAX_VALUE : events.peek().getTime();
+	}
+
+	@Override
+	public void purge() {
+		ArrayList<Event> live = new ArrayList<Event>(events.size());
+		for (Event e : events) {
+			if (!e.isCancelled()) {
+				live.add(e);
+			}
+		}
+		events = new PriorityQueue<Event>(live); //heapified in linear time
+	}
+
+	@Override
+	public int size() {
+		return events.size();
+	}
+}
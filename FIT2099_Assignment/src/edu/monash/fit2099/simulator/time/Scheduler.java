@@ -1,17 +1,44 @@
 package edu.monash.fit2099.simulator.time;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import edu.monash.fit2099.simulator.matter.Action;
 import edu.monash.fit2099.simulator.matter.ActionInterface;
 import edu.monash.fit2099.simulator.matter.Actor;
+import edu.monash.fit2099.simulator.matter.DecisionRecorder;
 import edu.monash.fit2099.simulator.space.World;
 
 /** 
  * This class handles time in the simulation by maintaining a priority queue of <code>Events</code>, prioritized by time and then
  * by priority for <code>Events</code> scheduled to happen in the same tick.
  * <p>
- * <code>Event</code> is an inner class that contains  
+ * The queue is a binary heap unless a timing wheel is asked for, which suits worlds with very many <code>Events</code>.
+ * <p>
+ * Scheduled <code>Events</code> can be cancelled through the {@link EventHandle} returned by <code>schedule</code>, or all
+ * at once for an <code>Actor</code> with {@link #cancelAll(Actor)}. Cancelled <code>Events</code> are skipped when they
+ * come due, and cleared out of the queue early once they make up over half of it.
+ * <p>
+ * Batch simulations can skip stretches of time in which nothing happens with {@link #advanceToNextEvent()} and 
+ * {@link #runUntil(int)}.
+ * <p>
+ * <code>Events</code> are executed one at a time unless the <code>Scheduler</code> is told how to tell which 
+ * <code>Events</code> are independent of each other with {@link #setParallel(EventPartitioner)}. 
+ * <p>
+ * <code>Event</code> is a class that contains  
  * <ul>
  * 	<li>an <code>Action</code></li>
  * 	<li>an <code>Actor</code></li>
@@ -31,112 +58,40 @@ import edu.monash.fit2099.simulator.space.World;
  * 2017-01-20: Comments for the tick method(asel)
  * 2017-02-08: Changes to the compareTo method of the Event class to handle the new ordering of Events based on the priority of the Events Actions(asel)
  * 2017-02-19: Added the duration to Actors events before adding them to the queue.
+ * 2026-10-18: Event was moved out to its own class, and the queue of Events can be a heap or a timing wheel
+ * 2026-10-18: added a parallel tick mode, where independent Events are executed at the same time
+ * 2026-10-18: Events scheduled by Actors deciding concurrently are held back until their decisions are committed
+ * 2026-10-18: Events are numbered as they are scheduled, so simultaneous Events of the same priority happen in a fixed order
+ * 2026-10-18: schedule returns a handle that can cancel the Event, and all the Events of an Actor can be cancelled at once
+ * 2026-10-18: added wakeAfter, which the EntityManager uses to wake parked Actors
+ * 2026-10-18: added getTime, and advanceToNextEvent and runUntil, which skip ticks in which nothing would happen
+ * 2026-10-18: counts the Events it executes, for measuring throughput
+ * 2026-10-18: can record the Events that come due in a binary EventLog
+ * 2026-10-18: reschedule leaves Events that have happened or been cancelled alone, and rejects those of other Schedulers
+ * 2026-10-18: in parallel mode, Events lock the parts of the World they touch when they run, and what they say and 
+ *             schedule is carried out in the order of the Events
+ * 2026-10-18: in parallel mode, Events are executed in batches of the same time and priority, and Events due before the 
+ *             rest of their batch are executed straight after the Event that scheduled them
  */
 
 public class Scheduler {
 	
 	/**
-	 * An <code>Event</code> is the execution of a <code>Action</code>, by an <code>Actor</code>, at a point in time.  
-	 * 
-	 * The <code>Actor</code> may be null in the case of simulations that allow the world to change automatically. 
-	 * 
-	 * @author ram
-	 *
-	 */	
-	private class Event implements Comparable<Event> {
-		
-		/**The <code>Action</code> to be performed for this <code>Event</code>*/
-		private ActionInterface what;
-		
-		/**The <code>Actor</code> of the <code>Action</code> for this <code>Event</code>.
-		 * <p>
-		 * The <code>Actor</code> may be null in the case of simulations that allow the world to change automatically. 
-		 */
-		private Actor<?> who;
-		
-		/**
-		 * When this <code>Event</code> should occur
-		 */
-		private int when;
-		
+	 * The kinds of queue a <code>Scheduler</code> can keep its <code>Events</code> in.
+	 */
+	public enum QueueType {
 		/**
-		 * Constructor for an <code>Event</code> object.
-		 * 
-		 * @param what what Action to be performed as the event
-		 * @param who the actor of the event. The Actor may be null in the case of simulations that allow the world to change automatically.
-		 * @param when when the event should occur
+		 * A binary heap. Scheduling and executing an <code>Event</code> take O(log n) time for n <code>Events</code> in 
+		 * the queue. This is the default.
 		 */
-		public Event(ActionInterface what, Actor<?> who, int when) {
-			this.what = what;
-			this.who = who;
-			this.when = when;
-		}
-		
-		//getters for the class attributes
-		public ActionInterface getAction() {
-			return what;
-		}
-		
-		public Actor<?> getActor() {
-			return who;
-		}
-		
-		public int getTime() {
-			return when;
-		}
+		PRIORITY_QUEUE,
 		
 		/**
-		 * Compare this against another Event, e.
-		 * <p>
-		 * Events will be compared by their time (<code>when</code>) and also by 
-		 * the <code>priority</code> of their <code>Actions</code> (<code>what</code>)
-		 * 
-		 *  
-		 * @author 	ram
-		 * @author 	Asel
-		 * @date 	19 February 2013
-		 * @date  	8 January 2017 (Modified)
-		 * @param 	e the event to compare this Event to
-		 * @return 	<ul>
-		 * 				<li>0 if the events are simultaneous and their <code>Actions</code> have the same <code>priority</code></li>
-		 * 				<li>a positive integer if, 
-		 * 					<ul>
-		 * 						<li>the <code>Event this</code> happens before <code>e</code> OR</li>
-		 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time but
-		 * 							the <code>Action</code> of <code>Event this</code> has higher <code>priority</code> than the <code>Action</code> of <code>Event e</code></li>
-		 * 					</ul>
-		 * 				</li>
-		 *	 			<li>a negative integer if, 
-		 * 					<ul>
-		 * 						<li>the <code>Event this</code> happens after the <code>e</code> OR</li>
-		 * 						<li>the <code>Event this</code> and <code>e</code> happens at the same time but
-		 * 							the <code>Action</code> of event <code>this</code> has lower <code>priority</code> than the <code>Action</code> of <code>Event e</code></li>
-		 * 					</ul>
-		 * 				</li>
-		 * 			</ul>
-		 * @see 	{@link #what}
-		 * @see 	{@link #when}
+		 * A hierarchical timing wheel. Scheduling an <code>Event</code> takes constant time and executing the 
+		 * <code>Events</code> of a tick takes time proportional to their number, so this is faster when there are 
+		 * many <code>Events</code>, e.g. in worlds with thousands of <code>Actors</code>.
 		 */
-		public int compareTo(Event e) {
-			//First sort by the time of the event
-	        int timeResult = this.when - e.when;
-	        
-	        //if the comparison gave us a result i.e the events aren't simultaneous,
-	        //then it's safe to return the results as it is
-	        if (timeResult!=0){
-	        	return timeResult;
-	        }
-	        
-	        //if we are here then the events are simultaneous, hence must be sorted according to priority of the event's action
-	        int priorityResult = e.getAction().getPriority() - this.getAction().getPriority();
-	        
-	        //NOTE: if the priority result is still 0, then we let the events happen in an arbitrary order
-	        
-	        //return the result
-	        return priorityResult;
-		}
-		
-		
+		TIMING_WHEEL
 	}
 	
 	/**
@@ -149,15 +104,28 @@ public class Scheduler {
 	 * hence <code>Events</code> whose <code>Actions (what)</code> have higher <code>priority</code> are completed before others.
 	 * <p>
 	 * <code>Events</code> scheduled to happen at the same time with same <code>priority</code> in their <code>Actions</code> complete in
-	 * arbitrary order.
+	 * the order they were scheduled in.
 	 *   
 	 * @see {@link Event#compareTo(Event)}
+	 * @see QueueType
 	 */
-	private PriorityQueue<Event> events = new PriorityQueue<Event>();
+	private EventQueue events;
 	
 	/**Stores the current time of the <code>World</code>. Zero(0) to start with*/
 	private int now = 0;
 	
+	/**The number to give the next <code>Event</code> that is scheduled*/
+	private long sequence = 0;
+	
+	/**The least number of cancelled <code>Events</code> worth clearing out of the queue early*/
+	private static final int PURGE_THRESHOLD = 1024;
+	
+	/**
+	 * Roughly how many cancelled <code>Events</code> are in the queue. Cancelling all the <code>Events</code> of an 
+	 * <code>Actor</code> counts as one.
+	 */
+	private int cancelled = 0;
+	
 	/**The amount of time that should elapse between polls of this <code>Scheduler</code>.
 	 * Smallest should be 1.
 	 */
@@ -166,6 +134,63 @@ public class Scheduler {
 	/**The <code>World</code> for which this <code>Scheduler</code> passes time, i.e. the <code>World</code> to be ticked*/
 	private World universe;
 	
+	/**Works out which <code>Events</code> are independent in parallel mode, or null to execute <code>Events</code> one at a time*/
+	private EventPartitioner partitioner;
+	
+	/**The pool that executes independent <code>Events</code> in parallel mode*/
+	private ForkJoinPool pool;
+	
+	/**The lock of each part of the <code>World</code>, by key, held by an <code>Event</code> executed in parallel while it runs*/
+	private final ConcurrentHashMap<Integer, ReentrantLock> partLocks = new ConcurrentHashMap<Integer, ReentrantLock>();
+	
+	/**
+	 * Shared by the <code>Events</code> executed in parallel while they run, and held on its own by one whose parts of 
+	 * the <code>World</code> can no longer be worked out by the time it runs
+	 */
+	private final ReentrantReadWriteLock worldLock = new ReentrantReadWriteLock();
+	
+	/**The number of <code>Events</code> executed so far. Added to from several threads in parallel mode*/
+	private LongAdder executed = new LongAdder();
+	
+	/**Where the <code>Events</code> that come due are recorded, or null if they aren't*/
+	private volatile EventLog log;
+	
+	/**The batch of <code>Events</code> due in the current tick, in order, in parallel mode. They all have the same time and priority*/
+	private ArrayList<Event> due = new ArrayList<Event>();
+	
+	/**The time of the <code>Events</code> of the batch being executed in parallel mode*/
+	private int batchTime;
+	
+	/**The priority of the <code>Actions</code> of the batch being executed in parallel mode*/
+	private int batchPriority;
+	
+	/**The group of the batch that touches each part of the <code>World</code>, by key, while the groups run in parallel*/
+	private Map<Integer, Integer> partGroups = new HashMap<Integer, Integer>();
+	
+	/**The <code>Events</code> that go ahead of the rest of the batch, scheduled by the group running on each thread*/
+	private final ThreadLocal<Overtaking> overtaking = new ThreadLocal<Overtaking>();
+	
+	/**
+	 * The <code>Events</code> scheduled by a group of the batch, while it runs in parallel mode, that are due before the 
+	 * rest of the batch. They are executed straight after the <code>Event</code> that scheduled them, as they would be 
+	 * if the <code>Events</code> were executed one at a time.
+	 */
+	private static class Overtaking {
+		
+		/**The representative of the group, or -1 if nothing else runs alongside it*/
+		private final int group;
+		
+		/**The <code>Events</code>, in order*/
+		private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+		
+		/**The number of <code>Events</code> added so far, for ordering those of the same time and priority*/
+		private long sequence;
+		
+		private Overtaking(int group) {
+			this.group = group;
+		}
+	}
+	
 	
 	/**
 	 * Schedules an <code>Action</code> by adding an <code>Event</code> to the queue of events (<code>events</code>).
@@ -173,10 +198,131 @@ public class Scheduler {
 	 * @param 	c the <code>Action</code> to be scheduled
 	 * @param 	a the actor of the <code>Action</code> or <code>Event</code>. The <code>Actor</code> may be null in the case of simulations that allow the world to change automatically.
 	 * @param 	duration of the <code>Event</code> (how long it takes for the event to complete)
+	 * @return 	a handle that can cancel the <code>Event</code>
 	 * 
 	 * @see 	{@link #events}
 	 */
-	public void schedule(ActionInterface c, Actor<?> a, int duration) {
+	public EventHandle schedule(ActionInterface c, Actor<?> a, int duration) {
+		Event e = new Event(this, c, a);
+		if (DecisionRecorder.isRecording()) { //an Actor deciding alongside others. The Event is added when its decision is committed
+			Overtaking o = overtaking.get();
+			if (o != null && overtake(e, duration, o)) { //unless it has to happen before the rest of the batch
+				return e;
+			}
+			DecisionRecorder.defer(() -> add(e, duration));
+			return e;
+		}
+		add(e, duration);
+		return e;
+	}
+	
+	/**
+	 * Cancels an <code>Event</code> and schedules its <code>Action</code> again, for the same <code>Actor</code>.
+	 * <p>
+	 * An <code>Event</code> that isn't pending, because it has already happened or has been cancelled, e.g. along with 
+	 * the other <code>Events</code> of its <code>Actor</code> by {@link #cancelAll(Actor)}, is left alone and its 
+	 * <code>Action</code> isn't scheduled again.
+	 * 
+	 * @param 	handle the handle of the <code>Event</code>, returned by this <code>Scheduler</code>
+	 * @param 	duration of the new <code>Event</code>
+	 * @return 	a handle that can cancel the new <code>Event</code>, or <code>handle</code> if the <code>Event</code> 
+	 * 			isn't pending
+	 * @throws 	IllegalArgumentException if <code>handle</code> wasn't returned by this <code>Scheduler</code>
+	 * @see 	#schedule(ActionInterface, Actor, int)
+	 * @see 	EventHandle#isPending()
+	 */
+	public EventHandle reschedule(EventHandle handle, int duration) {
+		if (!(handle instanceof Event) || ((Event) handle).getScheduler() != this) {
+			throw new IllegalArgumentException("the Event wasn't scheduled with this Scheduler");
+		}
+		Event e = (Event) handle;
+		if (!e.isPending()) {
+			return handle;
+		}
+		e.cancel();
+		return schedule(e.getAction(), e.getActor(), duration);
+	}
+	
+	/**
+	 * Runs <code>wakeUp</code> after <code>ticks</code> ticks, in time for whatever it wakes to be ticked by the 
+	 * <code>World</code> on that tick.
+	 * 
+	 * @param 	ticks the number of ticks to wait
+	 * @param 	wakeUp what to do
+	 * @return 	a handle that can cancel the wake-up
+	 * @see 	edu.monash.fit2099.simulator.matter.EntityManager#setParking(Scheduler)
+	 */
+	public EventHandle wakeAfter(int ticks, Runnable wakeUp) {
+		// Events due by the end of a tick happen after the World has been ticked, so the tick before is the last chance
+		return schedule(new WakeUp(wakeUp), null, ticks * ticksize);
+	}
+	
+	/**
+	 * <code>Action</code> that wakes something up, for {@link Scheduler#wakeAfter(int, Runnable)}.
+	 */
+	private static class WakeUp implements ActionInterface {
+		
+		/**What to do*/
+		private final Runnable wakeUp;
+		
+		private WakeUp(Runnable wakeUp) {
+			this.wakeUp = wakeUp;
+		}
+		
+		@Override
+		public int getDuration() {
+			return 0;
+		}
+		
+		@Override
+		public void execute(Actor<?> actor) {
+			wakeUp.run();
+		}
+		
+		@Override
+		public String getDescription() {
+			return "wake up";
+		}
+		
+		@Override
+		public int getPriority() {
+			return 0;
+		}
+	}
+	
+	/**
+	 * Cancels all the <code>Events</code> of an <code>Actor</code> that have yet to happen, in constant time, e.g. 
+	 * when it dies. <code>Events</code> the <code>Actor</code> schedules afterwards aren't affected.
+	 * 
+	 * @param 	a the <code>Actor</code>
+	 * @see 	Actor#newEventGeneration()
+	 */
+	public synchronized void cancelAll(Actor<?> a) {
+		a.newEventGeneration();
+		cancelled++;
+	}
+	
+	/**
+	 * Counts an <code>Event</code> in the queue that has been cancelled.
+	 */
+	synchronized void noteCancelled() {
+		cancelled++;
+	}
+	
+	/**
+	 * Adds an <code>Event</code> for an <code>Action</code> to the queue of events (<code>events</code>).
+	 * 
+	 * @param 	e the <code>Event</code>, not yet given a time
+	 * @param 	duration of the <code>Event</code>
+	 * @see 	#schedule(ActionInterface, Actor, int)
+	 */
+	private synchronized void add(Event e, int duration) {
+		if (e.isCancelled()) { //cancelled before it was added
+			e.finish();
+			return;
+		}
+		ActionInterface c = e.getAction();
+		Actor<?> a = e.getActor();
 			
 		int delay = 0;
 		int cooldown = 0;
@@ -189,18 +335,67 @@ public class Scheduler {
 				a.setWaittime(waittime);//set actor's wait time
 				
 				//add event to queue of events. Note for the actor the event will be scheduled to happen after the delay from now
-				events.offer(new Event(c, a, now + duration + delay));
+				e.queue(now + duration + delay, sequence++);
+				events.offer(e);
+			}
+			else { //only Actions have delays, so there is nothing to schedule
+				e.finish();
 			}
 		}
 		else{//Non actors or null
 			//add event to queue of events. The event will happen after the duration from now
-			events.offer(new Event(c, a, now + duration));
+			e.queue(now + duration, sequence++);
+			events.offer(e);
 		}
 		
 		
 		
 	}
 	
+	/**
+	 * Takes an <code>Event</code> scheduled by an <code>Event</code> of the batch being executed in parallel mode, if it 
+	 * is due before the rest of the batch, so that it is executed straight after the <code>Event</code> that scheduled 
+	 * it rather than being added to the queue. It is only taken if it touches no part of the <code>World</code> but those 
+	 * of the group of that <code>Event</code>, so that it can't get in the way of the other groups.
+	 * 
+	 * @param 	e the <code>Event</code>, not yet given a time
+	 * @param 	duration of the <code>Event</code>
+	 * @param 	o the <code>Events</code> that go ahead of the batch, of the group that scheduled it
+	 * @return 	true if it was taken, false if it should be added to the queue as usual
+	 * @see 	#add(Event, int)
+	 */
+	private boolean overtake(Event e, int duration, Overtaking o) {
+		ActionInterface c = e.getAction();
+		Actor<?> a = e.getActor();
+		if (a != null && !(c instanceof Action)) { //never queued
+			return false;
+		}
+		int delay = a != null ? ((Action) c).getDelay() : 0;
+		int when = now + duration + delay;
+		if (when > batchTime || (when == batchTime && c.getPriority() <= batchPriority)) { //takes its place after the batch
+			return false;
+		}
+		if (o.group >= 0) {
+			final ArrayList<Integer> keys = new ArrayList<Integer>();
+			if (!partitioner.addKeys(c, a, k -> keys.add(k))) {
+				return false;
+			}
+			for (Integer k : keys) {
+				Integer group = partGroups.get(k);
+				if (group == null || group != o.group) {
+					return false;
+				}
+			}
+		}
+		
+		if (a != null) {
+			a.setWaittime(delay + ((Action) c).getCooldown()); //as add does
+		}
+		e.queue(when, o.sequence++);
+		o.events.offer(e);
+		return true;
+	}
+	
 	/** 
 	 * Allow time to pass.  
 	 * Process any <code>Events</code> that are scheduled to go off between <code>now</code> and the 
@@ -214,14 +409,24 @@ public class Scheduler {
 		//calls the tick in other Entities so that they could schedule actions and so on
 		universe.tick();
 		
-		while (!events.isEmpty() && events.peek().getTime() <= now + ticksize) {
-			//the second condition ensures that an event that should happen in the future doesn't execute now
-								
-			//get the event at the head of the queue
-			Event e = events.poll();
-			
-			//execute that event
-			e.getAction().execute(e.getActor());			
+		synchronized (this) {
+			if (cancelled >= PURGE_THRESHOLD && cancelled > events.size() / 2) { //clear out the dead Events
+				events.purge();
+				cancelled = 0;
+			}
+		}
+		
+		if (partitioner != null) {
+			tickInParallel();
+		}
+		else {
+			//get the events at the head of the queue. An event that should happen in the future doesn't execute now
+			Event e;
+			while ((e = events.pollDue(now + ticksize)) != null) {
+				
+				//execute that event
+				execute(e);			
+			}
 		}
 		//update the present time after the tick has happened
 		now = now + ticksize;
@@ -229,7 +434,481 @@ public class Scheduler {
 	}
 	
 	/**
-	 * Sets the <code>tickSize</code> and instantiates the <code>events</code> queue.
+	 * Returns the current time of the <code>World</code>, i.e. the time up to which <code>Events</code> have happened.
+	 * 
+	 * @return 	the current time
+	 */
+	public int getTime() {
+		return now;
+	}
+	
+	/**
+	 * Ticks until the next <code>Event</code> has happened, skipping straight over the ticks before it if the 
+	 * <code>World</code> is idle, i.e. nothing in it would act on them. If the <code>World</code> isn't idle this is 
+	 * the same as {@link #tick()}.
+	 * 
+	 * @return 	false if the <code>World</code> is idle and there are no <code>Events</code> left, in which case nothing 
+	 * 			will ever happen and time isn't moved on, true otherwise
+	 * @see 	World#isIdle()
+	 */
+	public boolean advanceToNextEvent() {
+		int skippable = skippableTicks();
+		if (skippable == Integer.MAX_VALUE) {
+			return false;
+		}
+		skip(skippable);
+		tick();
+		return true;
+	}
+	
+	/**
+	 * Ticks until the current time is at least <code>time</code>, skipping over ticks in which nothing would happen 
+	 * as {@link #advanceToNextEvent()} does. 
+	 * 
+	 * @param 	time the time to run until
+	 */
+	public void runUntil(int time) {
+		while (now < time) {
+			int left = (time - now + ticksize - 1) / ticksize; //ticks until time is reached
+			int skippable = skippableTicks();
+			if (skippable >= left) {
+				skip(left);
+				return;
+			}
+			skip(skippable);
+			tick();
+		}
+	}
+	
+	/**
+	 * Returns the number of ticks from now in which nothing would happen: none if the <code>World</code> isn't idle, 
+	 * otherwise the ticks before the one the next <code>Event</code> is due in.
+	 * 
+	 * @return 	the number of ticks that can be skipped, or <code>Integer.MAX_VALUE</code> if nothing will ever happen
+	 */
+	private int skippableTicks() {
+		if (!universe.isIdle()) {
+			return 0;
+		}
+		int next;
+		synchronized (this) {
+			next = events.peekTime();
+		}
+		if (next == Integer.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		// an Event is due in the first tick that ends at or after its time
+		return Math.max(0, (next - now - 1) / ticksize);
+	}
+	
+	/**
+	 * Moves time on by <code>ticks</code> ticks without ticking the <code>World</code> or executing any 
+	 * <code>Events</code>.
+	 * 
+	 * @param 	ticks the number of ticks in which nothing would happen
+	 */
+	private void skip(int ticks) {
+		if (ticks > 0) {
+			now = now + ticks * ticksize;
+			universe.skipTicks(ticks);
+		}
+	}
+	
+	/**
+	 * Executes the <code>Action</code> of an <code>Event</code> that has come due, unless the <code>Event</code> has been 
+	 * cancelled.
+	 * 
+	 * @param 	e the <code>Event</code>
+	 */
+	private void execute(Event e) {
+		final EventLog log = this.log;
+		if (e.isCancelled()) {
+			skipped();
+			if (log != null) {
+				record(log, e, EventLog.CANCELLED);
+			}
+			return;
+		}
+		e.finish();
+		executed.increment();
+		if (log == null) {
+			e.getAction().execute(e.getActor());
+			return;
+		}
+		
+		byte outcome = EventLog.FAILED;
+		try {
+			e.getAction().execute(e.getActor());
+			outcome = EventLog.EXECUTED;
+		}
+		finally {
+			record(log, e, outcome);
+		}
+	}
+	
+	/**
+	 * Records the outcome of an <code>Event</code> in <code>log</code>. An <code>Event</code> executed in parallel is 
+	 * recorded once the <code>Events</code> running alongside it have finished, in order.
+	 * 
+	 * @param 	log the <code>EventLog</code>
+	 * @param 	e the <code>Event</code>
+	 * @param 	outcome its outcome
+	 */
+	private static void record(final EventLog log, final Event e, final byte outcome) {
+		if (DecisionRecorder.isRecording()) {
+			DecisionRecorder.defer(() -> log.record(e.getTime(), e.getAction(), e.getActor(), outcome));
+			return;
+		}
+		log.record(e.getTime(), e.getAction(), e.getActor(), outcome);
+	}
+	
+	/**
+	 * Starts recording every <code>Event</code> that comes due in <code>log</code>, whether it is executed or has been 
+	 * cancelled, or stops recording them.
+	 * <p>
+	 * The <code>EventLog</code> is not closed when recording stops.
+	 * 
+	 * @param 	log the <code>EventLog</code> to record the <code>Events</code> in, or null to stop recording them
+	 */
+	public void setEventLog(EventLog log) {
+		this.log = log;
+	}
+	
+	/**
+	 * Returns the number of <code>Events</code> this <code>Scheduler</code> has executed, not counting cancelled ones.
+	 * 
+	 * @return 	the number of <code>Events</code> executed so far
+	 */
+	public long getExecutedEvents() {
+		return executed.sum();
+	}
+	
+	/**
+	 * Counts a cancelled <code>Event</code> that has come due, and so is no longer in the queue.
+	 */
+	private synchronized void skipped() {
+		cancelled = Math.max(0, cancelled - 1);
+	}
+	
+	/**
+	 * Turns on parallel mode, in which <code>Events</code> that are due in the same tick and don't conflict are executed at 
+	 * the same time on the common <code>ForkJoinPool</code>.
+	 * 
+	 * @param 	partitioner works out which parts of the <code>World</code> each <code>Event</code> touches, or null to 
+	 * 			execute <code>Events</code> one at a time again
+	 * @see 	#setParallel(EventPartitioner, ForkJoinPool)
+	 */
+	public void setParallel(EventPartitioner partitioner) {
+		setParallel(partitioner, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Turns on parallel mode, in which <code>Events</code> that are due in the same tick and don't conflict are executed at 
+	 * the same time on <code>pool</code>.
+	 * <p>
+	 * <code>Events</code> that conflict, i.e. that touch a part of the <code>World</code> in common, are still executed one 
+	 * after the other in order of time and then priority. <code>Events</code> that don't conflict may be executed in any
+	 * order. What their <code>Actions</code> say and schedule is held back by a {@link DecisionRecorder} and carried out
+	 * in the order of the <code>Events</code> once they have finished, so messages come out and <code>Events</code> are
+	 * scheduled in the same order as if the <code>Events</code> had been executed one at a time.
+	 * <p>
+	 * The <code>Events</code> are grouped by the parts of the <code>World</code> they touch as the tick starts, but an 
+	 * <code>Actor</code> may have moved by the time one of its <code>Events</code> runs. So each <code>Event</code> asks 
+	 * <code>partitioner</code> again when it runs, and holds the locks of the parts it touches then while it is executed. 
+	 * Anything the <code>Actions</code> share other than those parts must be safe to use from several threads.
+	 * <p>
+	 * The due <code>Events</code> are executed in batches of the same time and priority, one batch after the other, so 
+	 * <code>Events</code> that are scheduled during a tick and are due in it take their place by time and priority as they 
+	 * would if the <code>Events</code> were executed one at a time. One that is due before the rest of its batch, e.g. 
+	 * because it takes no time, is executed straight after the <code>Event</code> that scheduled it, as part of its group. 
+	 * The exception is one that touches a part of the <code>World</code> that another group of the batch touches, or that 
+	 * <code>partitioner</code> can't place: it can't be slipped in among the other groups, so it is executed once the 
+	 * batch has finished.
+	 * 
+	 * @param 	partitioner works out which parts of the <code>World</code> each <code>Event</code> touches, or null to 
+	 * 			execute <code>Events</code> one at a time again
+	 * @param 	pool the pool to execute the <code>Events</code> on
+	 * @see 	EventPartitioner
+	 */
+	public void setParallel(EventPartitioner partitioner, ForkJoinPool pool) {
+		this.partitioner = partitioner;
+		this.pool = pool;
+	}
+	
+	/**
+	 * Executes the due <code>Events</code> of this tick in parallel mode.
+	 * <p>
+	 * The due <code>Events</code> are taken from the queue in batches of the same time and priority, in order, and each 
+	 * batch is executed before the next is taken, until no more are due. So an <code>Event</code> scheduled by a batch 
+	 * that is due after it takes its place among those still in the queue.
+	 */
+	private void tickInParallel() {
+		while (true) {
+			Event e;
+			synchronized (this) {
+				while ((e = events.pollDue(now + ticksize)) != null) {
+					if (e.isCancelled()) {
+						cancelled = Math.max(0, cancelled - 1);
+					}
+					else if (due.isEmpty() || (e.getTime() == due.get(0).getTime() 
+							&& e.getAction().getPriority() == due.get(0).getAction().getPriority())) {
+						due.add(e);
+					}
+					else { //the first of the next batch
+						events.offer(e);
+						break;
+					}
+				}
+			}
+			if (due.isEmpty()) {
+				return;
+			}
+			batchTime = due.get(0).getTime();
+			batchPriority = due.get(0).getAction().getPriority();
+			
+			// Events the partitioner can't place are barriers: the Events before them finish before they start
+			int start = 0;
+			final ArrayList<Integer> keys = new ArrayList<Integer>();
+			Map<Integer, Integer> owners = new HashMap<Integer, Integer>();
+			int[] group = new int[due.size()];
+			for (int i = 0; i < due.size(); i++) {
+				keys.clear();
+				Event ev = due.get(i);
+				if (!partitioner.addKeys(ev.getAction(), ev.getActor(), k -> keys.add(k))) {
+					executeGroups(start, i, group, owners);
+					owners.clear();
+					group[i] = i;
+					executeGroups(i, i + 1, group, owners); //on its own
+					start = i + 1;
+					continue;
+				}
+				
+				// join the group of each Event that touches one of the same parts
+				group[i] = i;
+				for (Integer k : keys) {
+					Integer owner = owners.get(k);
+					if (owner == null) {
+						owners.put(k, i);
+					}
+					else {
+						union(group, owner, i);
+					}
+				}
+			}
+			executeGroups(start, due.size(), group, owners);
+			due.clear();
+		}
+	}
+	
+	/**
+	 * Returns the representative of the group of <code>Event</code> <code>i</code>.
+	 * 
+	 * @param 	group the union-find forest of the due <code>Events</code>
+	 * @param 	i the index of a due <code>Event</code>
+	 * @return 	the index of the representative of its group
+	 */
+	private static int find(int[] group, int i) {
+		while (group[i] != i) {
+			group[i] = group[group[i]]; //halve the path as we go
+			i = group[i];
+		}
+		return i;
+	}
+	
+	/**
+	 * Puts the <code>Events</code> <code>i</code> and <code>j</code> in the same group.
+	 * 
+	 * @param 	group the union-find forest of the due <code>Events</code>
+	 * @param 	i the index of a due <code>Event</code>
+	 * @param 	j the index of another due <code>Event</code>
+	 */
+	private static void union(int[] group, int i, int j) {
+		int a = find(group, i);
+		int b = find(group, j);
+		if (a != b) {
+			group[Math.max(a, b)] = Math.min(a, b);
+		}
+	}
+	
+	/**
+	 * Executes the due <code>Events</code> from <code>start</code> up to but not including <code>end</code>, each group on 
+	 * a task of its own, and waits for them all to finish. The <code>Events</code> of a group are executed in order.
+	 * 
+	 * @param 	start the index of the first <code>Event</code>
+	 * @param 	end the index after the last <code>Event</code>
+	 * @param 	group the union-find forest of the due <code>Events</code>
+	 * @param 	owners the index of the first of these <code>Events</code> to touch each part of the <code>World</code>, 
+	 * 			by key
+	 */
+	private void executeGroups(final int start, int end, int[] group, Map<Integer, Integer> owners) {
+		if (start >= end) {
+			return;
+		}
+		
+		// the indices of the Events of each group
+		Map<Integer, List<Integer>> groups = new HashMap<Integer, List<Integer>>();
+		List<List<Integer>> order = new ArrayList<List<Integer>>();
+		for (int i = start; i < end; i++) {
+			int root = find(group, i);
+			List<Integer> g = groups.get(root);
+			if (g == null) {
+				g = new ArrayList<Integer>();
+				groups.put(root, g);
+				order.add(g);
+			}
+			g.add(i);
+		}
+		
+		// what each Event says and schedules, held back until they have all finished
+		final List<ArrayList<Runnable>> effects = new ArrayList<ArrayList<Runnable>>(
+				Collections.<ArrayList<Runnable>>nCopies(end - start, null));
+		if (order.size() == 1) { //nothing to run alongside
+			executeGroup(order.get(0), -1, start, effects);
+			replay(effects);
+			return;
+		}
+		
+		partGroups.clear();
+		for (Map.Entry<Integer, Integer> owner : owners.entrySet()) {
+			partGroups.put(owner.getKey(), find(group, owner.getValue()));
+		}
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(order.size());
+		for (final List<Integer> g : order) {
+			final int root = find(group, g.get(0));
+			tasks.add(() -> {
+				executeGroup(g, root, start, effects);
+				return null;
+			});
+		}
+		for (Future<Void> f : pool.invokeAll(tasks)) {
+			try {
+				f.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while executing events", ex);
+			}
+			catch (ExecutionException ex) {
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+				if (ex.getCause() instanceof Error) {
+					throw (Error) ex.getCause();
+				}
+				throw new IllegalStateException("event failed", ex.getCause());
+			}
+		}
+		replay(effects);
+	}
+	
+	/**
+	 * Executes the due <code>Events</code> of a group in order, each followed by the <code>Events</code> it schedules 
+	 * that are due before the rest of the batch. What they say and schedule is held back.
+	 * 
+	 * @param 	g the indices of the <code>Events</code> of the group
+	 * @param 	root the representative of the group, or -1 if nothing runs alongside it
+	 * @param 	start the index of the first <code>Event</code> being executed
+	 * @param 	effects where to put what each <code>Event</code> says and schedules, by its index from 
+	 * 			<code>start</code>
+	 * @see 	#overtake(Event, int, Overtaking)
+	 */
+	private void executeGroup(List<Integer> g, int root, int start, List<ArrayList<Runnable>> effects) {
+		Overtaking o = new Overtaking(root);
+		overtaking.set(o);
+		try {
+			for (int i : g) {
+				ArrayList<Runnable> held = new ArrayList<Runnable>();
+				DecisionRecorder.start(held);
+				try {
+					executeLocked(due.get(i));
+					Event e;
+					while ((e = o.events.poll()) != null) {
+						executeLocked(e);
+					}
+				}
+				finally {
+					DecisionRecorder.stop();
+				}
+				effects.set(i - start, held);
+			}
+		}
+		finally {
+			overtaking.remove();
+		}
+	}
+	
+	/**
+	 * Carries out what the <code>Events</code> of a batch said and scheduled, in the order of the <code>Events</code>.
+	 * 
+	 * @param 	effects what each <code>Event</code> said and scheduled
+	 */
+	private static void replay(List<ArrayList<Runnable>> effects) {
+		for (ArrayList<Runnable> held : effects) {
+			for (Runnable effect : held) {
+				effect.run();
+			}
+		}
+	}
+	
+	/**
+	 * Executes an <code>Event</code> alongside others, holding the locks of the parts of the <code>World</code> it touches 
+	 * as it runs. If they can't be worked out any more, it is executed with no other <code>Event</code> running.
+	 * 
+	 * @param 	e the <code>Event</code>
+	 */
+	private void executeLocked(Event e) {
+		if (e.isCancelled()) { //only skipped, which doesn't touch the World
+			execute(e);
+			return;
+		}
+		
+		final ArrayList<Integer> keys = new ArrayList<Integer>();
+		TreeSet<Integer> held = new TreeSet<Integer>();
+		worldLock.readLock().lock();
+		try {
+			while (partitioner.addKeys(e.getAction(), e.getActor(), k -> keys.add(k))) {
+				if (held.containsAll(keys)) {
+					execute(e);
+					return;
+				}
+				// first time round, or the Actor moved before the locks were taken. Take them all again, in order of 
+				// key so that two Events can't each be waiting for a lock the other holds
+				unlock(held);
+				held.addAll(keys);
+				for (Integer k : held) {
+					partLocks.computeIfAbsent(k, key -> new ReentrantLock()).lock();
+				}
+				keys.clear();
+			}
+		}
+		finally {
+			unlock(held);
+			worldLock.readLock().unlock();
+		}
+		
+		worldLock.writeLock().lock();
+		try {
+			execute(e);
+		}
+		finally {
+			worldLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Releases the locks of the parts of the <code>World</code> with the keys in <code>held</code>, and empties it.
+	 * 
+	 * @param 	held the keys of the locks held by the current thread
+	 */
+	private void unlock(TreeSet<Integer> held) {
+		for (Integer k : held) {
+			partLocks.get(k).unlock();
+		}
+		held.clear();
+	}
+	
+	/**
+	 * Sets the <code>tickSize</code> and instantiates the <code>events</code> queue as a binary heap.
 	 * 
 	 * @author 	ram
 	 * @date 	19 February 2013
@@ -241,8 +920,28 @@ public class Scheduler {
 	 * @see {@link #world}
 	 */
 	public Scheduler(int ticksize, World w) {
+		this(ticksize, w, QueueType.PRIORITY_QUEUE);
+	}
+	
+	/**
+	 * Sets the <code>tickSize</code> and instantiates the <code>events</code> queue as the given kind of queue.
+	 * 
+	 * @param 	ticksize the amount of time to be elapsed for each tick 
+	 * @param 	w the <code>World</code> to be ticked
+	 * @param 	queueType the kind of queue to keep the <code>Events</code> in
+	 * 
+	 * @see {@link #ticksize}
+	 * @see {@link #events}
+	 * @see {@link #world}
+	 */
+	public Scheduler(int ticksize, World w, QueueType queueType) {
 		universe = w;
-		events = new PriorityQueue<Event>();
+		if (queueType == QueueType.TIMING_WHEEL) {
+			events = new TimingWheelEventQueue();
+		}
+		else {
+			events = new HeapEventQueue();
+		}
 		this.ticksize = ticksize;
 	}
 		
@@ -0,0 +1,185 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs many simulations at once, each a <code>World</code> ticked by its own <code>Scheduler</code>, on a fixed pool of 
+ * carrier threads.
+ * <p>
+ * A simulation doesn't keep a thread to itself. It is ticked for a slice of <code>slice</code> ticks at a time, and then 
+ * goes to the back of the queue for the carriers, so thousands of simulations share a few threads fairly, and a thread 
+ * is only needed per core rather than per simulation.
+ * <p>
+ * Only <code>maxRunning</code> simulations are run at once. Submitting another blocks until one of them finishes, so 
+ * a caller submitting simulations faster than they can be run is held back rather than filling up memory with them.
+ * <p>
+ * The simulations must not wait for anything, e.g. a user at the keyboard, as that would hold up a carrier, and must not
+ * share anything that isn't safe to use from several threads. A simulation is only ever ticked by one carrier at a time.
+ */
+public class SimulationHost {
+	
+	/**The carrier threads the simulations are ticked on*/
+	private final ExecutorService carriers;
+	
+	/**A permit for each simulation that may be running*/
+	private final Semaphore running;
+	
+	/**The most simulations to run at once*/
+	private final int maxRunning;
+	
+	/**The number of ticks a simulation is ticked for before the next one gets a turn*/
+	private final int slice;
+	
+	/**The number of ticks done, over all the simulations*/
+	private final LongAdder ticks = new LongAdder();
+	
+	/**The number of <code>Events</code> executed by the simulations that have finished*/
+	private final LongAdder events = new LongAdder();
+	
+	/**When this <code>SimulationHost</code> was made, from <code>System.nanoTime()</code>*/
+	private final long start = System.nanoTime();
+	
+	/**
+	 * Constructor for a <code>SimulationHost</code>.
+	 * 
+	 * @param 	threads the number of carrier threads, e.g. the number of cores
+	 * @param 	maxRunning the most simulations to run at once
+	 * @param 	slice the number of ticks a simulation is ticked for before the next one gets a turn
+	 * @pre 	all the arguments are positive
+	 */
+	public SimulationHost(int threads, int maxRunning, int slice) {
+		assert (threads > 0 && maxRunning > 0 && slice > 0): "threads, maxRunning and slice must be positive";
+		this.carriers = Executors.newFixedThreadPool(threads);
+		this.running = new Semaphore(maxRunning);
+		this.maxRunning = maxRunning;
+		this.slice = slice;
+	}
+	
+	/**
+	 * Runs a simulation for <code>ticks</code> ticks, waiting first if <code>maxRunning</code> simulations are already 
+	 * running.
+	 * <p>
+	 * The simulation is set up by <code>setUp</code> on a carrier thread, so that setting up many simulations is shared 
+	 * out between the carriers too.
+	 * 
+	 * @param 	setUp sets up the <code>World</code> of the simulation and returns the <code>Scheduler</code> that ticks it
+	 * @param 	ticks the number of ticks to run it for
+	 * @return 	completes with the <code>Scheduler</code> when the simulation has finished, or exceptionally if setting it 
+	 * 			up or ticking it threw
+	 * @throws 	InterruptedException if interrupted while waiting for a simulation to finish
+	 */
+	public CompletableFuture<Scheduler> submit(Supplier<Scheduler> setUp, int ticks) throws InterruptedException {
+		running.acquire();
+		CompletableFuture<Scheduler> done = new CompletableFuture<Scheduler>();
+		done.whenComplete((s, ex) -> running.release());
+		try {
+			carriers.execute(new Slice(setUp, ticks, done));
+		}
+		catch (RuntimeException ex) { //shut down
+			done.completeExceptionally(ex);
+		}
+		return done;
+	}
+	
+	/**
+	 * A simulation on its way through its ticks. Each run ticks it for one slice and then queues it again.
+	 */
+	private class Slice implements Runnable {
+		
+		/**Sets up the simulation, before its first slice*/
+		private Supplier<Scheduler> setUp;
+		
+		/**The <code>Scheduler</code> of the simulation, or null before it is set up*/
+		private Scheduler scheduler;
+		
+		/**The number of ticks still to do*/
+		private int remaining;
+		
+		/**Completed when the simulation has finished*/
+		private final CompletableFuture<Scheduler> done;
+		
+		private Slice(Supplier<Scheduler> setUp, int ticks, CompletableFuture<Scheduler> done) {
+			this.setUp = setUp;
+			this.remaining = ticks;
+			this.done = done;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				if (scheduler == null) {
+					scheduler = setUp.get();
+					setUp = null;
+				}
+				int n = Math.min(slice, remaining);
+				for (int i = 0; i < n; i++) {
+					scheduler.tick();
+				}
+				ticks.add(n);
+				remaining -= n;
+				
+				if (remaining > 0) {
+					carriers.execute(this); //to the back of the queue
+				}
+				else {
+					events.add(scheduler.getExecutedEvents());
+					done.complete(scheduler);
+				}
+			}
+			catch (Throwable ex) {
+				done.completeExceptionally(ex);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of ticks done so far, over all the simulations.
+	 * 
+	 * @return 	the number of ticks
+	 */
+	public long getTicks() {
+		return ticks.sum();
+	}
+	
+	/**
+	 * Returns the number of <code>Events</code> executed by the simulations that have finished.
+	 * 
+	 * @return 	the number of <code>Events</code>
+	 */
+	public long getEvents() {
+		return events.sum();
+	}
+	
+	/**
+	 * Returns the number of ticks done per second since this <code>SimulationHost</code> was made, over all the 
+	 * simulations.
+	 * 
+	 * @return 	the number of ticks per second
+	 */
+	public double getTicksPerSecond() {
+		return getTicks() * 1e9 / Math.max(1, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Waits for the simulations that have been submitted to finish, and then stops the carrier threads. No more 
+	 * simulations can be submitted afterwards.
+	 * 
+	 * @throws 	InterruptedException if interrupted while waiting
+	 */
+	public void shutdown() throws InterruptedException {
+		try {
+			running.acquire(maxRunning); //every simulation has finished once all the permits are back
+			running.release(maxRunning);
+		}
+		finally {
+			carriers.shutdown();
+		}
+		carriers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+}
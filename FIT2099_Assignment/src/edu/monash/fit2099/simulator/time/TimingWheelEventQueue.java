@@ -0,0 +1,258 @@
+package edu.monash.fit2099.simulator.time;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <code>EventQueue</code> kept in a hierarchical timing wheel.
+ * <p>
+ * <code>Event</code> times are small offsets from the present, so instead of one heap of all the <code>Events</code>
+ * they are dropped into slots by time,
+ * <ul>
+ * 	<li>the inner wheel has a slot for each of the <code>SLOTS</code> times of the current block of time</li>
+ * 	<li>the outer wheel has a slot for each of the <code>SLOTS</code> blocks of the current super-block, of 
+ * 		<code>SLOTS * SLOTS</code> times, but only holds <code>Events</code> in the blocks after the current one. When 
+ * 		time moves into a new block, its slot of the outer wheel is emptied into the inner wheel</li>
+ * 	<li><code>Events</code> after the end of the current super-block wait in a heap. When time moves into a new 
+ * 		super-block, those in it are taken out of the heap</li>
+ * </ul>
+ * So the outer wheel doesn't roll over: an <code>Event</code> only one block ahead goes to the heap if that block is 
+ * in the next super-block.
+ * Adding an <code>Event</code> takes constant time. The <code>Events</code> of a slot are sorted by
+ * {@link Event#compareTo(Event)} when time reaches it, which is cheap because a slot only holds the
+ * <code>Events</code> of one time, so draining takes time proportional to the number of <code>Events</code> due.
+ *
+ * @see Scheduler.QueueType#TIMING_WHEEL
+ */
+class TimingWheelEventQueue implements EventQueue {
+
+	/**The number of bits of a time that pick a slot of a wheel*/
+	private static final int BITS = 8;
+
+	/**The number of slots in each wheel*/
+	private static final int SLOTS = 1 << BITS;
+
+	/**Mask that picks the slot of a time in a wheel*/
+	private static final int MASK = SLOTS - 1;
+
+	/**
+	 * The <code>Events</code> of one time of the inner wheel.
+	 */
+	private static class Slot {
+
+		/**The <code>Events</code> of the slot. Those before <code>read</code> have been given back*/
+		private ArrayList<Event> events = new ArrayList<Event>();
+
+		/**The index of the next <code>Event</code> to give back*/
+		private int read;
+
+		/**True if the <code>Events</code> from <code>read</code> onwards are in order*/
+		private boolean sorted;
+
+		/**Returns true if there are <code>Events</code> left to give back*/
+		private boolean hasEvents() {
+			return read < events.size();
+		}
+
+		/**Empties the slot, ready for its next time*/
+		private void clear() {
+			events.clear();
+			read = 0;
+			sorted = false;
+		}
+	}
+
+	/**The inner wheel, with a slot for each time of the current block*/
+	private Slot[] inner = new Slot[SLOTS];
+
+	/**The outer wheel, with a slot for each block of the current super-block*/
+	private List<ArrayList<Event>> outer = new ArrayList<ArrayList<Event>>(SLOTS);
+
+	/**The <code>Events</code> after the end of the current super-block*/
+	private PriorityQueue<Event> overflow = new PriorityQueue<Event>();
+
+	/**The time the queue has been drained up to. All <code>Events</code> due before it have been given back*/
+	private int time;
+
+	/**Number of <code>Events</code> in the inner wheel*/
+	private int innerCount;
+
+	/**Number of <code>Events</code> in the outer wheel*/
+	private int outerCount;
+
+	/**
+	 * Constructor for a <code>TimingWheelEventQueue</code>.
+	 */
+	TimingWheelEventQueue() {
+		for (int i = 0; i < SLOTS; i++) {
+			inner[i] = new Slot();
+			outer.add(new ArrayList<Event>());
+		}
+	}
+
+	@Override
+	public void offer(Event e) {
+		// an Event that is already due goes in the slot of the present, ahead of the Events actually due now
+		int when = Math.max(e.getTime(), time);
+
+		if (when >> BITS == time >> BITS) { //in the current block
+			Slot slot = inner[when & MASK];
+			if (slot.sorted) {
+				insertSorted(slot, e);
+			}
+			else {
+				slot.events.add(e);
+			}
+			innerCount++;
+		}
+		else if (when >> (2 * BITS) == time >> (2 * BITS)) { //within reach of the outer wheel
+			outer.get((when >> BITS) & MASK).add(e);
+			outerCount++;
+		}
+		else {
+			overflow.offer(e);
+		}
+	}
+
+	/**
+	 * Inserts <code>e</code> into the <code>Events</code> of <code>slot</code> that haven't been given back, after any
+	 * that it doesn't come before.
+	 *
+	 * @param 	slot a sorted slot
+	 * @param 	e the <code>Event</code> to insert
+	 */
+	private static void insertSorted(Slot slot, Event e) {
+		int low = slot.read;
+		int high = slot.events.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (slot.events.get(mid).compareTo(e) <= 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		slot.events.add(low, e);
+	}
+
+	@Override
+	public Event pollDue(int until) {
+		while (true) {
+			Slot slot = inner[time & MASK];
+			if (slot.hasEvents()) {
+				if (!slot.sorted) {
+					Collections.sort(slot.events.subList(slot.read, slot.events.size()));
+					slot.sorted = true;
+				}
+				Event e = slot.events.get(slot.read);
+				if (e.getTime() > until) {
+					return null;
+				}
+				slot.events.set(slot.read++, null);
+				innerCount--;
+				return e;
+			}
+			if (time > until) {
+				return null;
+			}
+
+			slot.clear();
+			// skip over stretches of time with no Events, but no further than the next time asked for
+			if (innerCount == 0 && outerCount == 0) {
+				time = Math.min(time | ((1 << (2 * BITS)) - 1), until);
+			}
+			else if (innerCount == 0) {
+				time = Math.min(time | MASK, until);
+			}
+			advance();
+		}
+	}
+
+	@Override
+	public int peekTime() {
+		if (innerCount > 0) {
+			// the Events of the inner wheel are all in the slots from the present to the end of the block
+			for (int i = time & MASK; i < SLOTS; i++) {
+				if (inner[i].hasEvents()) {
+					return (time & ~MASK) | i;
+				}
+			}
+		}
+		if (outerCount > 0) {
+			for (int i = ((time >> BITS) & MASK) + 1; i < SLOTS; i++) {
+				if (!outer.get(i).isEmpty()) {
+					int next = Integer.MAX_VALUE;
+					for (Event e : outer.get(i)) {
+						next = Math.min(next, e.getTime());
+					}
+					return next;
+				}
+			}
+		}
+		return overflow.isEmpty() ? Integer.MAX_VALUE : overflow.peek().getTime();
+	}
+
+	/**
+	 * Moves time on by one, moving <code>Events</code> inwards when time moves into a new block.
+	 */
+	private void advance() {
+		time++;
+		if ((time & MASK) != 0) {
+			return;
+		}
+
+		if ((time & ((1 << (2 * BITS)) - 1)) == 0) {
+			// the outer wheel has gone all the way round, so bring in the Events it now reaches
+			while (!overflow.isEmpty() && overflow.peek().getTime() >> (2 * BITS) == time >> (2 * BITS)) {
+				offer(overflow.poll());
+			}
+		}
+
+		ArrayList<Event> block = outer.get((time >> BITS) & MASK);
+		outerCount -= block.size();
+		for (int i = 0; i < block.size(); i++) {
+			offer(block.get(i));
+		}
+		block.clear();
+	}
+
+	@Override
+	public void purge() {
+		innerCount = 0;
+		for (Slot slot : inner) {
+			// keep the Events still to be given back, in the same order, so a sorted slot stays sorted
+			int kept = 0;
+			for (int i = slot.read; i < slot.events.size(); i++) {
+				Event e = slot.events.get(i);
+				if (!e.isCancelled()) {
+					slot.events.set(kept++, e);
+				}
+			}
+			slot.events.subList(kept, slot.events.size()).clear();
+			slot.read = 0;
+			innerCount += kept;
+		}
+		
+		outerCount = 0;
+		for (ArrayList<Event> block : outer) {
+			block.removeIf(Event::isCancelled);
+			outerCount += block.size();
+		}
+		
+		ArrayList<Event> live = new ArrayList<Event>(overflow.size());
+		for (Event e : overflow) {
+			if (!e.isCancelled()) {
+				live.add(e);
+			}
+		}
+		overflow = new PriorityQueue<Event>(live);
+	}
+
+	@Override
+	public int size() {
+		return innerCount + outerCount + overflow.size();
+	}
+}
@@ -0,0 +1,152 @@
+package edu.monash.fit2099.simulator.userInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <code>MessageRenderer</code> that collects messages into batches and hands each batch to a background thread, which
+ * passes them on to another <code>MessageRenderer</code> (the sink) in the order they were rendered.
+ * <p>
+ * Rendering a message only adds it to the current batch, so <code>Entities</code> are not held up while the sink writes
+ * to the console. A batch is handed over when it is full, when {@link #flush()} is called, e.g. at the end of each tick,
+ * or when {@link #drain()} is called. A View that writes to the same console itself, e.g. to draw the map or to ask the
+ * user for a command, must call <code>drain()</code> first so that the messages before it come out before it.
+ * <p>
+ * At most <code>MAX_PENDING</code> batches wait for the background thread. If the sink falls that far behind, handing
+ * over another batch waits for it to catch up, rather than letting the batches take up ever more memory.
+ */
+public class BatchingMessageRenderer implements MessageRenderer {
+
+	/**The number of messages in a full batch*/
+	public static final int BATCH_SIZE = 256;
+
+	/**The largest number of batches that wait for the background thread*/
+	public static final int MAX_PENDING = 64;
+
+	/**The <code>MessageRenderer</code> the messages are passed on to*/
+	private final MessageRenderer sink;
+
+	/**The batches waiting for the background thread*/
+	private final BlockingQueue<List<String>> pending = new ArrayBlockingQueue<List<String>>(MAX_PENDING);
+
+	/**The messages rendered since the last batch was handed over*/
+	private List<String> batch = new ArrayList<String>();
+
+	/**Guards <code>handedOver</code> and <code>written</code>, and is notified whenever a batch has been written*/
+	private final Object progress = new Object();
+
+	/**The number of batches handed over to the background thread*/
+	private long handedOver;
+
+	/**The number of batches the background thread has written*/
+	private long written;
+
+	/**The thread that passes the messages on to the sink*/
+	private final Thread writer;
+
+	/**
+	 * Constructor for the <code>BatchingMessageRenderer</code>. Starts the background thread, which is a daemon thread so
+	 * that it does not keep the program running.
+	 *
+	 * @param 	sink the <code>MessageRenderer</code> to pass the messages on to, e.g. one that writes them to the console
+	 * @pre 	sink should not be null
+	 */
+	public BatchingMessageRenderer(MessageRenderer sink) {
+		this.sink = sink;
+		writer = new Thread(this::write, "MessageWriter");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Adds <code>message</code> to the current batch, and hands the batch over if it is full.
+	 *
+	 * @param 	message a string to be displayed
+	 */
+	@Override
+	public synchronized void render(String message) {
+		batch.add(message);
+		if (batch.size() >= BATCH_SIZE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Returns if or not the sink displays messages of <code>level</code>.
+	 * 
+	 * @param 	level the <code>Level</code> of a message
+	 * @return 	true if the sink displays messages of <code>level</code>, false otherwise
+	 */
+	@Override
+	public boolean isEnabled(Level level) {
+		return sink.isEnabled(level);
+	}
+
+	/**
+	 * Hands the current batch over to the background thread, if there is anything in it. Does not wait for it to be
+	 * written unless <code>MAX_PENDING</code> batches are already waiting.
+	 */
+	public synchronized void flush() {
+		if (batch.isEmpty()) {
+			return;
+		}
+		synchronized (progress) {
+			handedOver++;
+		}
+		try {
+			pending.put(batch);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			synchronized (progress) {
+				handedOver--; //the batch was not handed over, so it is kept to be handed over next time
+			}
+			return;
+		}
+		batch = new ArrayList<String>();
+	}
+
+	/**
+	 * Hands the current batch over to the background thread, and waits until every message rendered so far has been
+	 * passed on to the sink.
+	 */
+	public void drain() {
+		flush();
+		synchronized (progress) {
+			while (written < handedOver) {
+				try {
+					progress.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes each batch on to the sink, for as long as the program runs. Run by the background thread.
+	 */
+	private void write() {
+		while (true) {
+			List<String> next;
+			try {
+				next = pending.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				for (String message : next) {
+					sink.render(message);
+				}
+			} catch (RuntimeException e) { //the rest of the batch is lost, but later batches are still written
+				e.printStackTrace();
+			}
+			synchronized (progress) {
+				written++;
+				progress.notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package edu.monash.fit2099.simulator.userInterface;
+
+/**
+ * <code>MessageRenderer</code> that passes on to another <code>MessageRenderer</code> only the messages of a
+ * <code>Level</code> that matters at least as much as a minimum. Messages without a <code>Level</code> are always
+ * passed on.
+ * <p>
+ * Messages of a lower <code>Level</code> are not even made from their templates.
+ *
+ * @see 	MessageRenderer.Level
+ */
+public class FilteringMessageRenderer implements MessageRenderer {
+
+	/**The <code>MessageRenderer</code> the messages are passed on to*/
+	private final MessageRenderer sink;
+
+	/**The least <code>Level</code> that is passed on*/
+	private final Level minimum;
+
+	/**
+	 * Constructor for the <code>FilteringMessageRenderer</code>.
+	 *
+	 * @param 	sink the <code>MessageRenderer</code> to pass the messages on to
+	 * @param 	minimum the least <code>Level</code> to pass on
+	 * @pre 	sink and minimum should not be null
+	 */
+	public FilteringMessageRenderer(MessageRenderer sink, Level minimum) {
+		this.sink = sink;
+		this.minimum = minimum;
+	}
+
+	@Override
+	public void render(String message) {
+		sink.render(message);
+	}
+
+	@Override
+	public boolean isEnabled(Level level) {
+		return level.compareTo(minimum) >= 0 && sink.isEnabled(level);
+	}
+}
@@ -6,6 +6,11 @@ package edu.monash.fit2099.simulator.userInterface;
  * <p>
  * All messages that needs to be displayed needs to be displayed through the <code>messageRenderer</code> so that the Views
  * can determine they way in which they could be displayed.
+ * <p>
+ * A message can also be given as a template with arguments and a <code>Level</code>. It is only made if the 
+ * <code>MessageRenderer</code> displays messages of that <code>Level</code>, so messages that nobody reads cost 
+ * next to nothing. Each "{}" in the template is replaced by the next argument, as by <code>String.valueOf</code>. 
+ * <code>Entities</code> give their short description, so they can be given as arguments as they are.
  * 
  * TODO: they might not be needed in Actions if Actions can delegate their messaging to Entities.
  * 
@@ -15,10 +20,94 @@ package edu.monash.fit2099.simulator.userInterface;
  */
 public interface MessageRenderer {
 	
+	/**
+	 * How much a message matters, from the least to the most.
+	 */
+	public enum Level {
+		/**Running commentary, e.g. where an Actor is or where it is heading next*/
+		DETAIL, 
+		/**Something that happened, e.g. a move or an attack*/
+		INFO, 
+		/**Something the user needs to see, e.g. what a human controlled Actor can see before it is given a command*/
+		IMPORTANT
+	}
+	
 	/**
 	 * Handles the display of messages in a View
 	 * 
 	 * @param message a string to be displayed
 	 */
 	public abstract void render(String message);
+	
+	/**
+	 * Returns if or not messages of <code>level</code> are displayed. Messages without a <code>Level</code> are 
+	 * always displayed.
+	 * <p>
+	 * By default, messages of every <code>Level</code> are displayed.
+	 * 
+	 * @param 	level the <code>Level</code> of a message
+	 * @return 	true if messages of <code>level</code> are displayed, false otherwise
+	 */
+	public default boolean isEnabled(Level level) {
+		return true;
+	}
+	
+	/**
+	 * Makes a message from <code>template</code> and displays it, if messages of <code>level</code> are displayed.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where the argument goes
+	 * @param 	arg the argument
+	 * @see 	MessageTemplate#format(String, Object)
+	 */
+	public default void render(Level level, String template, Object arg) {
+		if (isEnabled(level)) {
+			render(MessageTemplate.format(template, arg));
+		}
+	}
+	
+	/**
+	 * Makes a message from <code>template</code> and displays it, if messages of <code>level</code> are displayed.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @see 	MessageTemplate#format(String, Object, Object)
+	 */
+	public default void render(Level level, String template, Object arg1, Object arg2) {
+		if (isEnabled(level)) {
+			render(MessageTemplate.format(template, arg1, arg2));
+		}
+	}
+	
+	/**
+	 * Makes a message from <code>template</code> and displays it, if messages of <code>level</code> are displayed.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @param 	arg3 the third argument
+	 * @see 	MessageTemplate#format(String, Object, Object, Object)
+	 */
+	public default void render(Level level, String template, Object arg1, Object arg2, Object arg3) {
+		if (isEnabled(level)) {
+			render(MessageTemplate.format(template, arg1, arg2, arg3));
+		}
+	}
+	
+	/**
+	 * Makes a message from <code>template</code> and displays it, if messages of <code>level</code> are displayed.
+	 * 
+	 * @param 	level the <code>Level</code> of the message
+	 * @param 	template the message, with "{}" where each argument goes
+	 * @param 	args the arguments
+	 * @see 	MessageTemplate#format(String, Object...)
+	 */
+	public default void render(Level level, String template, Object... args) {
+		if (isEnabled(level)) {
+			render(MessageTemplate.format(template, args));
+		}
+	}
 }
@@ -0,0 +1,91 @@
+package edu.monash.fit2099.simulator.userInterface;
+
+/**
+ * Makes messages from templates, in which each "{}" is replaced by the next argument as by <code>String.valueOf</code>.
+ * <p>
+ * A "{}" without an argument is left as it is, and arguments without a "{}" are left out. There are methods for one,
+ * two and three arguments, so that the most common messages do not make an array for their arguments.
+ *
+ * @see 	MessageRenderer#render(MessageRenderer.Level, String, Object)
+ */
+public final class MessageTemplate {
+
+	/**What is replaced by an argument in a template*/
+	public static final String PLACEHOLDER = "{}";
+
+	private MessageTemplate() {
+	}
+
+	/**
+	 * Makes a message from a template with one argument.
+	 *
+	 * @param 	template the template
+	 * @param 	arg the argument
+	 * @return 	the message
+	 */
+	public static String format(String template, Object arg) {
+		return format(template, 1, arg, null, null, null);
+	}
+
+	/**
+	 * Makes a message from a template with two arguments.
+	 *
+	 * @param 	template the template
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @return 	the message
+	 */
+	public static String format(String template, Object arg1, Object arg2) {
+		return format(template, 2, arg1, arg2, null, null);
+	}
+
+	/**
+	 * Makes a message from a template with three arguments.
+	 *
+	 * @param 	template the template
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @param 	arg3 the third argument
+	 * @return 	the message
+	 */
+	public static String format(String template, Object arg1, Object arg2, Object arg3) {
+		return format(template, 3, arg1, arg2, arg3, null);
+	}
+
+	/**
+	 * Makes a message from a template with any number of arguments.
+	 *
+	 * @param 	template the template
+	 * @param 	args the arguments
+	 * @return 	the message
+	 */
+	public static String format(String template, Object... args) {
+		return format(template, args.length, args.length > 0 ? args[0] : null, args.length > 1 ? args[1] : null,
+				args.length > 2 ? args[2] : null, args);
+	}
+
+	/**
+	 * Makes a message from a template. The first three arguments are given on their own, and the rest, if any, in
+	 * <code>args</code>.
+	 *
+	 * @param 	template the template
+	 * @param 	count the number of arguments
+	 * @param 	arg1 the first argument
+	 * @param 	arg2 the second argument
+	 * @param 	arg3 the third argument
+	 * @param 	args all the arguments, or null if there are no more than three
+	 * @return 	the message
+	 */
+	private static String format(String template, int count, Object arg1, Object arg2, Object arg3, Object[] args) {
+		StringBuilder message = new StringBuilder(template.length() + 16 * count);
+		int from = 0;
+		int at;
+		for (int i = 0; i < count && (at = template.indexOf(PLACEHOLDER, from)) >= 0; i++) {
+			message.append(template, from, at);
+			message.append(i == 0 ? arg1 : i == 1 ? arg2 : i == 2 ? arg3 : args[i]);
+			from = at + PLACEHOLDER.length();
+		}
+		message.append(template, from, template.length());
+		return message.toString();
+	}
+}
@@ -0,0 +1,22 @@
+package edu.monash.fit2099.simulator.userInterface;
+
+/**
+ * <code>MessageRenderer</code> that throws its messages away, for running a simulation without a View, e.g. as a batch job.
+ */
+public class NullMessageRenderer implements MessageRenderer {
+
+	@Override
+	public void render(String message) {
+		return;
+	}
+	
+	/**
+	 * Returns false, so that messages of any <code>Level</code> aren't even made.
+	 * 
+	 * @return 	false
+	 */
+	@Override
+	public boolean isEnabled(Level level) {
+		return false;
+	}
+}
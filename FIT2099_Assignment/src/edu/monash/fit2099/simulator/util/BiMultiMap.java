@@ -1,13 +1,18 @@
 /*
  * Change log 
  * 2017-01-20:	Paragraph tags to the java doc (asel)
+ * 2026-10-18:	Added reverseView, which looks up the keys of a value without copying them
+ * 2026-10-18:	The keys of each value are kept in a LinkedHashSet so that they can be removed in constant time, and
+ * 				values with no keys left are dropped
  */
 package edu.monash.fit2099.simulator.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,9 +22,13 @@ import java.util.Set;
  * values. 
  * <p>
  * Internally, this is done by maintaining two HashMaps: one mapping K onto V, the other
- * mapping V onto Lists of K.  This means that insertion and deletion code needs to be aware that
+ * mapping V onto sets of K.  This means that insertion and deletion code needs to be aware that
  * an extra step may be needed to maintain consistency between the two private maps.
  * <p>
+ * The sets of keys are <code>LinkedHashSets</code>, so a key can be moved or removed in constant time however many 
+ * keys share its value, and the keys of a value stay in the order they were put. A value is forgotten as soon as
+ * no keys map onto it.
+ * <p>
  * Implements the Map<K,V> interface, largely by acting as a wrapper for the forward
  * version of the map.
  * 
@@ -35,7 +44,7 @@ import java.util.Set;
 
 public class BiMultiMap<K,V> implements Map<K,V> {
 	private Map<K,V> kToV;
-	private Map<V, List<K>> vToK;
+	private Map<V, LinkedHashSet<K>> vToK;
 	
 	/**
 	 * Default constructor.  Instantiates an empty <code>BiMultiMap</code>.
@@ -43,7 +52,7 @@ public class BiMultiMap<K,V> implements Map<K,V> {
 	 */
 	public BiMultiMap() {
 		kToV = new HashMap<K,V>();
-		vToK = new HashMap<V, List<K>>();
+		vToK = new HashMap<V, LinkedHashSet<K>>();
 	}
 	
 	/**
@@ -57,32 +66,46 @@ public class BiMultiMap<K,V> implements Map<K,V> {
 	 * @param newVal value of the new association
 	 */
 	public V put(K newKey, V newVal) {
-		if (kToV.containsKey(newKey))
-		{
+		boolean hadKey = kToV.containsKey(newKey);
+		V oldVal = kToV.put(newKey, newVal);
+		if (hadKey) {
+			if (Objects.equals(oldVal, newVal)) {
+				// already mapped onto newVal, so the reverse mapping is unchanged
+				return newVal;
+			}
 			// remove current reverse association
-			V oldVal = kToV.get(newKey);
-			List<K> oldAssoc = vToK.get(oldVal);
-			oldAssoc.remove(newKey);
-			
-			// handle removal of last mapping to this value
-			if (oldAssoc.isEmpty())
-				vToK.remove(oldVal);
+			removeReverse(newKey, oldVal);
 		}
-		kToV.put(newKey, newVal);
 		
 		// insert reverse mapping
-		if (vToK.containsKey(newVal))
-			vToK.get(newVal).add(newKey);
-		else {
-			// value already exists, so add new key to its list of inverses
-			ArrayList<K> newList = new ArrayList<K>();
-			newList.add(newKey);
-			vToK.put(newVal, newList);
+		LinkedHashSet<K> keys = vToK.get(newVal);
+		if (keys == null) {
+			// value doesn't exist yet, so start its set of inverses
+			keys = new LinkedHashSet<K>();
+			vToK.put(newVal, keys);
 		}
+		keys.add(newKey);
 		
 		return newVal;
 	}
 	
+	/**
+	 * Removes the reverse mapping <code>val</code> -> <code>key</code>, and forgets about <code>val</code> if no keys are
+	 * left mapping onto it.
+	 * 
+	 * @param key the key
+	 * @param val the value it mapped onto
+	 */
+	private void removeReverse(Object key, V val) {
+		LinkedHashSet<K> keys = vToK.get(val);
+		keys.remove(key);
+		
+		// handle removal of last mapping to this value
+		if (keys.isEmpty()) {
+			vToK.remove(val);
+		}
+	}
+	
 	/**
 	 * Returns the key that maps onto a particular value.
 	 * <p>
@@ -102,6 +125,26 @@ public class BiMultiMap<K,V> implements Map<K,V> {
 		}
 		return null;
 	}
+	
+	/**
+	 * Returns a read-only view of the keys that map onto a particular value.
+	 * <p>
+	 * Unlike <code>reverseLookup</code> the keys aren't copied, so this is cheap enough to call in loops that run 
+	 * for every value. The view is live: it changes as the <code>BiMultiMap</code> changes, so the 
+	 * <code>BiMultiMap</code> must not be changed while the view is being iterated over. Use <code>reverseLookup</code> 
+	 * to get a copy that can be kept.
+	 * 
+	 * @param 	target the value to look up
+	 * @return 	the keys that map onto target, in the order they were put, or an empty set if there are none
+	 * @see 	#reverseLookup(Object)
+	 */
+	public Set<K> reverseView(V target) {
+		Set<K> keys = vToK.get(target);
+		if (keys == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(keys);
+	}
 
 	@Override
 	/**
@@ -168,8 +211,11 @@ public class BiMultiMap<K,V> implements Map<K,V> {
 	 * @see Map.remove()
 	 */
 	public V remove(Object key) {
+		if (!kToV.containsKey(key)) {
+			return null;
+		}
 		V val = kToV.remove(key);
-		vToK.get(val).remove(key);
+		removeReverse(key, val);
 		return val;
 	}
 
@@ -0,0 +1,248 @@
+package edu.monash.fit2099.simulator.util;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional multimap from int keys onto int values, for objects that have been given dense ids.
+ * The keys must be unique but the values need not be.
+ * <p>
+ * Like <code>BiMultiMap</code> this can look up the value of a key and all the keys of a value, but nothing is boxed
+ * and nothing is allocated once the arrays are big enough. The value of each key is kept in an array indexed by key,
+ * and the keys of each value form a doubly linked list threaded through two more arrays indexed by key. Putting and
+ * removing a key just relinks it, so it takes the same time however many keys share its value.
+ * <p>
+ * Keys and values must not be negative. Keys of a value are kept in the order they were put.
+ * <p>
+ * To walk through the keys of a value,
+ * <pre>
+ * for (int k = map.first(value); k != -1; k = map.next(k)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @see BiMultiMap
+ */
+public class IdBiMultiMap {
+
+	/**Returned when there is no key or value*/
+	public static final int NONE = -1;
+
+	/**The value of each key, or <code>NONE</code>*/
+	private int[] valueOf;
+
+	/**The key after each key in the list of keys of its value, or <code>NONE</code>*/
+	private int[] next;
+
+	/**The key before each key in the list of keys of its value, or <code>NONE</code>*/
+	private int[] prev;
+
+	/**The first key of each value, or <code>NONE</code>*/
+	private int[] first;
+
+	/**The last key of each value, or <code>NONE</code>*/
+	private int[] last;
+
+	/**The number of keys of each value*/
+	private int[] count;
+
+	/**The number of keys in the map*/
+	private int size;
+
+	/**
+	 * Default constructor.  Instantiates an empty <code>IdBiMultiMap</code>.
+	 */
+	public IdBiMultiMap() {
+		valueOf = new int[16];
+		next = new int[16];
+		prev = new int[16];
+		Arrays.fill(valueOf, NONE);
+		first = new int[16];
+		last = new int[16];
+		count = new int[16];
+		Arrays.fill(first, NONE);
+		Arrays.fill(last, NONE);
+	}
+
+	/**
+	 * Maps <code>key</code> onto <code>value</code>, replacing any value it was mapped onto before.
+	 * <p>
+	 * <code>key</code> is moved to the end of the keys of <code>value</code>, unless it was already mapped onto
+	 * <code>value</code>, in which case nothing changes.
+	 *
+	 * @param 	key the key
+	 * @param 	value the value
+	 */
+	public void put(int key, int value) {
+		assert (key >= 0 && value >= 0):"ids cannot be negative";
+
+		growKeys(key);
+		growValues(value);
+
+		int old = valueOf[key];
+		if (old == value) {
+			return;
+		}
+		if (old != NONE) {
+			unlink(key, old);
+		}
+		else {
+			size++;
+		}
+
+		// link at the end of the keys of value
+		valueOf[key] = value;
+		next[key] = NONE;
+		prev[key] = last[value];
+		if (last[value] == NONE) {
+			first[value] = key;
+		}
+		else {
+			next[last[value]] = key;
+		}
+		last[value] = key;
+		count[value]++;
+	}
+
+	/**
+	 * Removes <code>key</code> from the map. This method does nothing if <code>key</code> isn't in the map.
+	 *
+	 * @param 	key the key
+	 * @return 	the value <code>key</code> was mapped onto, or <code>NONE</code>
+	 */
+	public int remove(int key) {
+		int value = get(key);
+		if (value != NONE) {
+			unlink(key, value);
+			valueOf[key] = NONE;
+			size--;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the value <code>key</code> is mapped onto, or <code>NONE</code> if it isn't in the map.
+	 *
+	 * @param 	key the key
+	 * @return 	the value of <code>key</code>, or <code>NONE</code>
+	 */
+	public int get(int key) {
+		if (key < 0 || key >= valueOf.length) {
+			return NONE;
+		}
+		return valueOf[key];
+	}
+
+	/**
+	 * Returns true if and only if <code>key</code> is in the map.
+	 *
+	 * @param 	key the key
+	 * @return 	true if <code>key</code> is mapped onto a value
+	 */
+	public boolean containsKey(int key) {
+		return get(key) != NONE;
+	}
+
+	/**
+	 * Returns the first key mapped onto <code>value</code>, or <code>NONE</code> if there are none.
+	 *
+	 * @param 	value the value
+	 * @return 	the first key of <code>value</code>, or <code>NONE</code>
+	 * @see 	#next(int)
+	 */
+	public int first(int value) {
+		if (value < 0 || value >= first.length) {
+			return NONE;
+		}
+		return first[value];
+	}
+
+	/**
+	 * Returns the key after <code>key</code> among the keys of its value, or <code>NONE</code> if it is the last one.
+	 *
+	 * @param 	key a key in the map
+	 * @return 	the next key with the same value, or <code>NONE</code>
+	 * @see 	#first(int)
+	 */
+	public int next(int key) {
+		return next[key];
+	}
+
+	/**
+	 * Returns the number of keys mapped onto <code>value</code>.
+	 *
+	 * @param 	value the value
+	 * @return 	the number of keys of <code>value</code>
+	 */
+	public int count(int value) {
+		if (value < 0 || value >= count.length) {
+			return 0;
+		}
+		return count[value];
+	}
+
+	/**
+	 * Returns the number of keys in the map.
+	 *
+	 * @return 	the number of keys
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Takes <code>key</code> out of the list of keys of <code>value</code>.
+	 *
+	 * @param 	key the key
+	 * @param 	value the value it is mapped onto
+	 */
+	private void unlink(int key, int value) {
+		if (prev[key] == NONE) {
+			first[value] = next[key];
+		}
+		else {
+			next[prev[key]] = next[key];
+		}
+		if (next[key] == NONE) {
+			last[value] = prev[key];
+		}
+		else {
+			prev[next[key]] = prev[key];
+		}
+		count[value]--;
+	}
+
+	/**
+	 * Makes the arrays indexed by key big enough for <code>key</code>.
+	 *
+	 * @param 	key the key
+	 */
+	private void growKeys(int key) {
+		if (key < valueOf.length) {
+			return;
+		}
+		int length = Math.max(key + 1, valueOf.length * 2);
+		int old = valueOf.length;
+		valueOf = Arrays.copyOf(valueOf, length);
+		Arrays.fill(valueOf, old, length, NONE);
+		next = Arrays.copyOf(next, length);
+		prev = Arrays.copyOf(prev, length);
+	}
+
+	/**
+	 * Makes the arrays indexed by value big enough for <code>value</code>.
+	 *
+	 * @param 	value the value
+	 */
+	private void growValues(int value) {
+		if (value < first.length) {
+			return;
+		}
+		int length = Math.max(value + 1, first.length * 2);
+		int old = first.length;
+		first = Arrays.copyOf(first, length);
+		last = Arrays.copyOf(last, length);
+		count = Arrays.copyOf(count, length);
+		Arrays.fill(first, old, length, NONE);
+		Arrays.fill(last, old, length, NONE);
+	}
+}
@@ -1,5 +1,8 @@
 package starwars;
 
+import java.io.File;
+import java.io.IOException;
+
 import edu.monash.fit2099.simulator.time.Scheduler;
 import starwars.swinterfaces.SWGridController;
 
@@ -15,18 +18,21 @@ import starwars.swinterfaces.SWGridController;
  * 			    Therefore there is tight coupling with the user interfaces and the driver. The application no longer has to worry about the
  * 				UI(asel)
  * 2017-02-19	Removed the show banner method. The text interface will deal with showing the banner. (asel)
+ * 2026-10-18	The world can be loaded from a map file given as the first argument
+ * 2026-10-18	The Scheduler is given to the world rather than to all SWActors
  */
 
 public class Application {
-	public static void main(String args[]) {
+	public static void main(String args[]) throws IOException {
 		
-		SWWorld world = new SWWorld();
+		// the built-in world, or the one in the map file given
+		SWWorld world = args.length > 0 ? new SWWorld(SWMapFile.load(new File(args[0]))) : new SWWorld();
 		
 		//Grid controller controls the data and commands between the UI and the model
 		SWGridController uiController = new SWGridController(world);
 		
 		Scheduler theScheduler = new Scheduler(1, world);
-		SWActor.setScheduler(theScheduler);
+		world.setScheduler(theScheduler);
 		
 		// set up the world
 		world.initializeWorld(uiController);
@@ -0,0 +1,158 @@
+package starwars;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.monash.fit2099.simulator.time.EventLog;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import edu.monash.fit2099.simulator.userInterface.BatchingMessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.FilteringMessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
+import edu.monash.fit2099.simulator.userInterface.NullMessageRenderer;
+import starwars.entities.actors.Player;
+import starwars.entities.actors.behaviors.RandomDecisionMaker;
+import starwars.entities.actors.behaviors.ScriptedDecisionMaker;
+
+/**
+ * Driver class that runs a <code>SWWorld</code> without a user interface, as a batch job. Contains nothing but a main()
+ * and the helpers it needs.
+ * <p>
+ * Messages are thrown away, unless a <code>Level</code> is given, and the map isn't drawn. The <code>Players</code> are 
+ * handed over to <code>DecisionMakers</code>: they choose at random, or follow a script of commands if a script file is 
+ * given. The number of ticks and <code>Events</code> per second are reported at the end.
+ * <p>
+ * Usage: <code>java starwars.BatchApplication [--park] [--fast-forward] [ticks] [seed] [map file] [script file] [level] 
+ * [event log]</code>. The default is 100000 ticks of the built-in world with seed 2099. A map file of "-" also means the built-in world, and a 
+ * script file of "-" means that the <code>Players</code> choose at random. A script file has the description of a 
+ * command on each line, e.g. "move NORTH", and every <code>Player</code> follows it. If a <code>Level</code> is given, 
+ * e.g. INFO, the messages of that <code>Level</code> and those that matter more are printed; "-" means none are. If an 
+ * event log file is given, every <code>Event</code> is recorded in it, to be read back by <code>EventLogApplication</code>.
+ * <p>
+ * With <code>--park</code>, <code>Actors</code> that have to wait are parked until they are ready to act, rather than 
+ * ticked on every tick to count down their wait. Only <code>Actions</code> with a delay or a cooldown make 
+ * <code>Actors</code> wait, and the waking up is counted among the <code>Events</code>. With <code>--fast-forward</code>, 
+ * they are parked as well, and the ticks in which every <code>Actor</code> is parked and no <code>Event</code> is due 
+ * are skipped rather than ticked.
+ * 
+ * @see Application
+ * @see edu.monash.fit2099.simulator.matter.EntityManager#setParking(Scheduler)
+ * @see Scheduler#runUntil(int)
+ */
+public class BatchApplication {
+	
+	public static void main(String args[]) throws IOException {
+		//take the options out, leaving the arguments in their places
+		boolean park = false;
+		boolean fastForward = false;
+		List<String> rest = new ArrayList<String>();
+		for (String arg : args) {
+			if (arg.equals("--park")) {
+				park = true;
+			}
+			else if (arg.equals("--fast-forward")) {
+				park = true; //only parked Actors can be skipped over
+				fastForward = true;
+			}
+			else {
+				rest.add(arg);
+			}
+		}
+		args = rest.toArray(new String[rest.size()]);
+		
+		final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 2099;
+		final boolean builtIn = args.length < 3 || args[2].equals("-");
+		final List<String> script = args.length > 3 && !args[3].equals("-")
+				? Files.readAllLines(new File(args[3]).toPath(), StandardCharsets.UTF_8) : null;
+		final BatchingMessageRenderer messages = args.length > 4 && !args[4].equals("-")
+				? new BatchingMessageRenderer(new FilteringMessageRenderer(System.out::println, Level.valueOf(args[4]))) : null;
+		final EventLog log = args.length > 5 ? new EventLog(new File(args[5]).toPath()) : null;
+		
+		SWWorld world = builtIn ? new SWWorld() : new SWWorld(SWMapFile.load(new File(args[2])));
+		Scheduler theScheduler = setUpHeadless(world, seed, script, 
+				messages != null ? messages : new NullMessageRenderer());
+		theScheduler.setEventLog(log);
+		if (park) {
+			world.getEntityManager().setParking(theScheduler);
+		}
+		
+		long start = System.nanoTime();
+		if (fastForward) {
+			theScheduler.runUntil(ticks);
+		}
+		else {
+			for (int t = 0; t < ticks; t++) {
+				theScheduler.tick();
+			}
+		}
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		
+		if (messages != null) {
+			messages.drain();
+		}
+		if (log != null) {
+			log.close();
+		}
+		
+		long events = theScheduler.getExecutedEvents();
+		System.out.println(ticks + " ticks, " + events + " events in " + elapsed / 1000000 + " ms: " 
+				+ (long) (ticks * 1e9 / elapsed) + " ticks/s, " + (long) (events * 1e9 / elapsed) + " events/s");
+	}
+	
+	/**
+	 * Seeds and initializes <code>world</code> to run without a user interface, with its <code>Players</code> handed 
+	 * over to <code>DecisionMakers</code>, and gives it a <code>Scheduler</code>.
+	 * 
+	 * @param 	world a new <code>SWWorld</code>
+	 * @param 	seed the seed of the world
+	 * @param 	script the commands for the <code>Players</code> to follow, or null for them to choose at random
+	 * @return 	the <code>Scheduler</code> of <code>world</code>
+	 */
+	static Scheduler setUpHeadless(SWWorld world, long seed, List<String> script) {
+		return setUpHeadless(world, seed, script, new NullMessageRenderer());
+	}
+	
+	/**
+	 * Seeds and initializes <code>world</code> to run without a user interface, with its <code>Players</code> handed 
+	 * over to <code>DecisionMakers</code>, and gives it a <code>Scheduler</code>. The messages of the 
+	 * <code>Entities</code> of <code>world</code> are displayed by <code>m</code>.
+	 * 
+	 * @param 	world a new <code>SWWorld</code>
+	 * @param 	seed the seed of the world
+	 * @param 	script the commands for the <code>Players</code> to follow, or null for them to choose at random
+	 * @param 	m the <code>MessageRenderer</code> for the messages
+	 * @return 	the <code>Scheduler</code> of <code>world</code>
+	 */
+	public static Scheduler setUpHeadless(SWWorld world, long seed, List<String> script, MessageRenderer m) {
+		world.setSeed(seed);
+		
+		Scheduler theScheduler = new Scheduler(1, world);
+		world.setScheduler(theScheduler);
+		
+		world.initializeWorld(m);
+		
+		// hand the Players over, in the order they were placed so that seeded runs are the same
+		List<Player> players = new ArrayList<Player>();
+		for (SWEntityInterface e : world.getEntityManager().inRect(0, 0, world.width() - 1, world.height() - 1)) {
+			if (e instanceof Player) {
+				players.add((Player) e);
+			}
+		}
+		players.sort(Comparator.comparingInt(Player::getId));
+		for (Player p : players) {
+			if (script != null) {
+				p.setDecisionMaker(new ScriptedDecisionMaker(script));
+			}
+			else {
+				p.setDecisionMaker(new RandomDecisionMaker());
+			}
+		}
+		return theScheduler;
+	}
+}
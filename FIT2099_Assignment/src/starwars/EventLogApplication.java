@@ -0,0 +1,70 @@
+package starwars;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import edu.monash.fit2099.simulator.time.EventLog;
+import edu.monash.fit2099.simulator.time.EventLogReader;
+
+/**
+ * Driver class that reads back an <code>EventLog</code> written by <code>BatchApplication</code> and reports how many
+ * <code>Events</code> of each type of <code>Action</code> there were, with each outcome. Contains nothing but a main()
+ * and the helpers it needs.
+ * <p>
+ * Usage: <code>java starwars.EventLogApplication [event log]</code>.
+ *
+ * @see 	BatchApplication
+ */
+public class EventLogApplication {
+
+	public static void main(String args[]) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Usage: java starwars.EventLogApplication [event log]");
+			return;
+		}
+
+		//the number of Events of each type with each outcome
+		long[][] counts = new long[0][];
+		long events = 0;
+		int lastTime = 0;
+
+		long start = System.nanoTime();
+		List<String> types;
+		try (EventLogReader log = new EventLogReader(new File(args[0]).toPath())) {
+			while (log.next()) {
+				int type = log.getType();
+				if (type >= counts.length) {
+					counts = grow(counts, type + 1);
+				}
+				counts[type][log.getOutcome()]++;
+				events++;
+				lastTime = log.getTime();
+			}
+			types = log.getTypeNames();
+		}
+		long elapsed = Math.max(1, System.nanoTime() - start);
+
+		System.out.println(events + " events up to time " + lastTime + ", read in " + elapsed / 1000000 + " ms: "
+				+ (long) (events * 1e9 / elapsed) + " events/s");
+		for (int type = 0; type < counts.length; type++) {
+			System.out.println("\t" + types.get(type) + ": " + counts[type][EventLog.EXECUTED] + " executed, "
+					+ counts[type][EventLog.CANCELLED] + " cancelled, " + counts[type][EventLog.FAILED] + " failed");
+		}
+	}
+
+	/**
+	 * Makes room for the counts of more types of <code>Action</code>.
+	 *
+	 * @param 	counts the counts so far
+	 * @param 	types the number of types to make room for
+	 * @return 	the counts, with room for <code>types</code> types
+	 */
+	private static long[][] grow(long[][] counts, int types) {
+		long[][] grown = new long[types][];
+		for (int type = 0; type < types; type++) {
+			grown[type] = type < counts.length ? counts[type] : new long[EventLog.FAILED + 1];
+		}
+		return grown;
+	}
+}
@@ -0,0 +1,59 @@
+package starwars;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import edu.monash.fit2099.simulator.time.SimulationHost;
+
+/**
+ * Driver class that runs many short scenarios of the built-in world at once on a <code>SimulationHost</code>, e.g. for 
+ * balancing. Contains nothing but a main() and the helpers it needs.
+ * <p>
+ * Each scenario is the built-in world with a seed of its own, run without a user interface like 
+ * {@link BatchApplication}. At the end the aggregate ticks and <code>Events</code> per second are reported, and the 
+ * average number of <code>SWActors</code> of each <code>Team</code> still alive in a world.
+ * <p>
+ * Usage: <code>java starwars.HostApplication [worlds] [ticks] [threads] [max running] [slice]</code>. The default is 
+ * 1000 worlds of 1000 ticks each, on a carrier thread per core, with up to 256 worlds running at once, each ticked 
+ * 50 ticks at a time.
+ */
+public class HostApplication {
+	
+	public static void main(String args[]) throws InterruptedException {
+		final int worlds = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		final int maxRunning = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+		final int slice = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+		
+		SimulationHost host = new SimulationHost(threads, maxRunning, slice);
+		
+		// the number of SWActors of each Team left alive, over all the worlds
+		final AtomicLongArray survivors = new AtomicLongArray(Team.values().length);
+		
+		List<CompletableFuture<?>> finished = new ArrayList<CompletableFuture<?>>(worlds);
+		for (int i = 0; i < worlds; i++) {
+			final SWWorld world = new SWWorld();
+			final long seed = i;
+			finished.add(host.submit(() -> BatchApplication.setUpHeadless(world, seed, null), ticks)
+					.thenRun(() -> {
+						for (SWEntityInterface e : world.getEntityManager().inRect(0, 0, world.width() - 1, world.height() - 1)) {
+							if (e instanceof SWActor && !((SWActor) e).isDead()) {
+								survivors.incrementAndGet(((SWActor) e).getTeam().ordinal());
+							}
+						}
+					}));
+		}
+		CompletableFuture.allOf(finished.toArray(new CompletableFuture<?>[0])).join();
+		double ticksPerSecond = host.getTicksPerSecond();
+		host.shutdown();
+		
+		System.out.println(worlds + " worlds of " + ticks + " ticks on " + threads + " threads: " 
+				+ host.getTicks() + " ticks, " + host.getEvents() + " events, " + (long) ticksPerSecond + " ticks/s");
+		for (Team team : Team.values()) {
+			System.out.println(team + " alive per world: " + String.format("%.2f", survivors.get(team.ordinal()) / (double) worlds));
+		}
+	}
+}
@@ -2,7 +2,6 @@ package starwars;
 
 import edu.monash.fit2099.simulator.matter.Action;
 import edu.monash.fit2099.simulator.matter.Actor;
-import edu.monash.fit2099.simulator.matter.EntityManager;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
 
 /**
@@ -18,11 +17,10 @@ import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
  * 2017-02-08: The execute will only call the act of the SWActor is alive (asel) 
  * 2017-02-20: Removed the redundant compareTo method. The compareTo method is already implemented in the 
  * 			   ActionInterface. (asel)
+ * 2026-10-18: Removed the entity manager shared by all SWActions. Each SWWorld has its own, which SWActions get from 
+ * 			   the SWActor performing them
  */
 public abstract class SWAction extends Action implements SWActionInterface {
-	
-	/**The entity manager of the world which keeps track of <code>SWEntities</code> and their <code>SWLocation</code>s*/
-	private static final EntityManager<SWEntityInterface, SWLocation> entityManager = SWWorld.getEntitymanager();
 
 	/**
 	 * Constructor for the <code>SWAction</code>. 
@@ -79,15 +77,4 @@ public abstract class SWAction extends Action implements SWActionInterface {
 	public abstract void act(SWActor a);
 	
 
-	/**
-	 * Returns the <code>EntityManager</code> which keeps track of <code>SWEntities</code> and their <code>SWLocation</code>s
-	 * 
-	 * @return 	entityManager of the <code>World</code> 
-	 * @see 	#entityManager
-	 */
-	public static EntityManager<SWEntityInterface, SWLocation> getEntitymanager() {
-		return entityManager;
-	}
-
-
 }
@@ -12,11 +12,18 @@
  * 2017-01-20: Added missing Javadocs and improved comments (asel)
  * 2017-02-08: Removed the removeEventsMethod as it's no longer required.
  * 			   Removed the tick and act methods for SWActor as they are never called
+ * 2026-10-18: SWActors that aren't human controlled can decide concurrently
+ * 2026-10-18: Each SWActor has a Random of its own, made by its SWWorld, and keeps its actions in a fixed order
+ * 2026-10-18: The pending SWActions of a SWActor are cancelled when it dies
+ * 2026-10-18: SWActors schedule with the Scheduler of their own SWWorld, instead of one shared by all SWActors
+ * 2026-10-18: Changing the symbol of a SWActor on the map touches it, so that Views redraw it
  */
 package starwars;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
 
 import edu.monash.fit2099.gridworld.Grid.CompassBearing;
 import edu.monash.fit2099.simulator.matter.Actor;
@@ -38,9 +45,6 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	/**The world this <code>SWActor</code> belongs to.*/
 	protected SWWorld world;
 	
-	/**Scheduler to schedule this <code>SWActor</code>'s events*/
-	protected static Scheduler scheduler;
-	
 	/**The item carried by this <code>SWActor</code>. <code>itemCarried</code> is null if this <code>SWActor</code> is not carrying an item*/
 	private SWEntityInterface itemCarried;
 	
@@ -53,6 +57,9 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	/**A set of <code>Capabilities</code> of this <code>SWActor</code>*/
 	private HashSet<Capability> capabilities;
 	
+	/**Where this <code>SWActor</code>'s random choices come from*/
+	private final Random random;
+	
 	/**
 	 * Constructor for the <code>SWActor</code>.
 	 * <p>
@@ -76,11 +83,12 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	 */
 	public SWActor(Team team, int hitpoints, MessageRenderer m, SWWorld world) {
 		super(m);
-		actions = new HashSet<SWActionInterface>();
+		actions = new LinkedHashSet<SWActionInterface>();
 		this.team = team;
 		this.hitpoints = hitpoints;
 		this.world = world;
 		this.symbol = "@";
+		this.random = world != null ? world.newRandom() : new Random();
 		
 		//SWActors are given the Attack affordance hence they can be attacked
 		SWAffordance attack = new Attack(this, m);
@@ -88,13 +96,23 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	}
 	
 	/**
-	 * Sets the <code>scheduler</code> of this <code>SWActor</code> to a new <code>Scheduler s</code>
+	 * Returns the world this <code>SWActor</code> belongs to.
 	 * 
-	 * @param	s the new <code>Scheduler</code> of this <code>SWActor</code> 
-	 * @see 	#scheduler
+	 * @return 	the <code>SWWorld</code> of this <code>SWActor</code>
+	 * @see 	#world
 	 */
-	public static void setScheduler(Scheduler s) {
-		scheduler = s;
+	public SWWorld getWorld() {
+		return world;
+	}
+	
+	/**
+	 * Returns the <code>Scheduler</code> to schedule this <code>SWActor</code>'s events with, i.e. that of its world.
+	 * 
+	 * @return 	the <code>Scheduler</code> of the world of this <code>SWActor</code>
+	 * @see 	SWWorld#getScheduler()
+	 */
+	protected Scheduler getScheduler() {
+		return world.getScheduler();
 	}
 	
 	/**
@@ -170,15 +188,24 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	/**
 	 * Method insists damage on this <code>SWActor</code> by reducing a 
 	 * certain amount of <code>damage</code> from this <code>SWActor</code>'s <code>hitpoints</code>
+	 * <p>
+	 * If this kills the <code>SWActor</code>, the <code>SWActions</code> it has scheduled but not yet performed are 
+	 * cancelled.
 	 * 
 	 * @param 	damage the amount of <code>hitpoints</code> to be reduced
 	 * @pre 	<code>damage</code> should not be negative
+	 * @see 	edu.monash.fit2099.simulator.time.Scheduler#cancelAll(Actor)
 	 */
 	@Override
 	public void takeDamage(int damage) {
 		//Precondition 1: Ensure the damage is not negative. Negative damage could increase the SWActor's hitpoints
 		assert (damage >= 0)	:"damage on SWActor must not be negative";
+		boolean wasDead = isDead();
 		this.hitpoints -= damage;
+		
+		if (!wasDead && isDead() && world != null && world.getScheduler() != null) { //it has just died, so it won't get to do what it was going to
+			world.getScheduler().cancelAll(this);
+		}
 	}
 
 	/**
@@ -219,6 +246,9 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	@Override
 	public void setSymbol(String s) {
 		symbol = s;
+		if (world != null) {
+			world.getEntityManager().touch(this);
+		}
 	}
 	
 	/**
@@ -233,6 +263,33 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 		return humanControlled;
 	}
 	
+	/**
+	 * Returns the <code>Random</code> this <code>SWActor</code> should make its random choices with.
+	 * <p>
+	 * It is seeded from the seed of the <code>SWWorld</code>, so a seeded run makes the same choices every time, and 
+	 * as each <code>SWActor</code> has its own, the choices don't depend on the order <code>SWActors</code> decide in.
+	 * 
+	 * @return 	the <code>Random</code> of this <code>SWActor</code>
+	 * @see 	SWWorld#setSeed(long)
+	 */
+	public Random getRandom() {
+		return random;
+	}
+	
+	/**
+	 * Returns true if this <code>SWActor</code> can decide what to do at the same time as other <code>Actors</code>.
+	 * <p>
+	 * <code>SWActors</code> only look at the world when they <code>act</code> and only change it by scheduling 
+	 * <code>SWActions</code> and saying things, so they can, except for human controlled ones, which wait for the user.
+	 * 
+	 * @return 	true if this <code>SWActor</code> isn't human controlled
+	 * @see 	#isHumanControlled()
+	 */
+	@Override
+	public boolean canDecideConcurrently() {
+		return !humanControlled;
+	}
+	
 
 	@Override
 	public boolean hasCapability(Capability c) {
@@ -251,7 +308,7 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 	 * @pre		<code>loc</code> is the actual location of this <code>SWActor</code>
 	 */
 	public void resetMoveCommands(Location loc) {
-		HashSet<SWActionInterface> newActions = new HashSet<SWActionInterface>();
+		LinkedHashSet<SWActionInterface> newActions = new LinkedHashSet<SWActionInterface>();
 		
 		// Copy all the existing non-movement options to newActions
 		for (SWActionInterface a: actions) {
@@ -261,7 +318,7 @@ public abstract class SWActor extends Actor<SWActionInterface> implements SWEnti
 		
 		// add new movement possibilities
 		for (CompassBearing d: CompassBearing.values()) { 														  
-			if (loc.getNeighbour(d) != null) //if there is an exit from the current location in direction d, add that as a Move command
+			if (loc.hasExit(d)) //if there is an exit from the current location in direction d, add that as a Move command
 				newActions.add(new Move(d,messageRenderer, world)); 
 		}
 		
@@ -3,7 +3,6 @@ package starwars;
 import edu.monash.fit2099.simulator.matter.Actor;
 import edu.monash.fit2099.simulator.matter.Affordance;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
-import starwars.actions.Fill;
 
 /**
  * Class that represents <code>Affordances</code> in the <code>starwars</code> world.
@@ -20,6 +19,8 @@ import starwars.actions.Fill;
  * 2017-02-04 Added conditions in tick method to avoid dead actors from performing actions (asel)
  * 2017-02-20: Removed the redundant compareTo method. The compareTo method is already implemented in the 
  * 			   ActionInterface. (asel)
+ * 2026-10-18: Removed the debugging output printed whenever a Fill was executed, which bypassed the MessageRenderer
+ * 2026-10-18: getTarget is public, as it is in Affordance
  */
 public abstract class SWAffordance extends Affordance implements SWActionInterface {
 
@@ -67,7 +68,8 @@ public abstract class SWAffordance extends Affordance implements SWActionInterfa
 	 * @return the current target downcasted to <code>SWEntityInterface</code>
 	 * 		   or null if the current target isn't a <code>SWEntityInterface</code>
 	 */
-	protected SWEntityInterface getTarget() {
+	@Override
+	public SWEntityInterface getTarget() {
 		if (target instanceof SWEntityInterface)
 			//return the downcasted target
 			return (SWEntityInterface) target;
@@ -95,9 +97,6 @@ public abstract class SWAffordance extends Affordance implements SWActionInterfa
 	 */
 	@Override
 	public void execute(Actor<?> actor) {
-		if (this instanceof Fill) {
-			System.out.println("Fill execute called");
-		}
 		if (actor instanceof SWActor && !((SWActor)actor).isDead())
 			act((SWActor) actor);
 
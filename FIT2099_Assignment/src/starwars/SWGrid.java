@@ -1,5 +1,8 @@
 package starwars;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import edu.monash.fit2099.gridworld.Grid;
 import edu.monash.fit2099.simulator.space.LocationMaker;
 
@@ -14,9 +17,15 @@ import edu.monash.fit2099.simulator.space.LocationMaker;
  * 2017-02-02: 	Removed the render method and the location width attributes. The rendering of the map
  * 				and displaying it is now the job of the UI. The dependency with EntityManager package was hence removed
  * 				and this resulted in a simpler SWGrid class (asel) 
+ * 2026-10-18:	Added a constructor for lazy SWGrids
+ * 2026-10-18:	Added a constructor for SWGrids of any size
+ * 2026-10-18:	SWLocations of unloaded chunks are stood in for by shared SWLocations with the same symbols
  */
 public class SWGrid extends Grid<SWLocation> {
 
+	/**The stand-ins for unloaded <code>SWLocations</code>, keyed by their symbol and empty symbol*/
+	private final Map<Integer, SWLocation> standIns = new HashMap<Integer, SWLocation>();
+
 	/**
 	 * The constructor of the <code>SWGrid</code>. 
 	 * Will create a 10 by 10 grid with 100 <code>SWLocation</code>s
@@ -27,5 +36,48 @@ public class SWGrid extends Grid<SWLocation> {
 		super(10,10,factory);
 	}
 	
+	/**
+	 * The constructor of a 10 by 10 <code>SWGrid</code> that may be lazy.
+	 * <p>
+	 * A lazy <code>SWGrid</code> only creates a <code>SWLocation</code> when it is first asked for. 
+	 * 
+	 * @param factory the maker of the <code>SWLocation</code>s
+	 * @param lazy true if <code>SWLocation</code>s should be created when first needed, false to create them all now
+	 * @see	  edu.monash.fit2099.gridworld.Grid#Grid(int, int, LocationMaker, boolean)
+	 */
+	public SWGrid(LocationMaker<SWLocation> factory, boolean lazy) {
+		super(10,10,factory,lazy);
+	}
+	
+	/**
+	 * The constructor of a <code>SWGrid</code> of any size, e.g. the size given by a map file.
+	 * 
+	 * @param width the width of the <code>SWGrid</code>
+	 * @param height the height of the <code>SWGrid</code>
+	 * @param factory the maker of the <code>SWLocation</code>s
+	 * @param lazy true if <code>SWLocation</code>s should be created when first needed, false to create them all now
+	 * @see   SWMapFile
+	 */
+	public SWGrid(int width, int height, LocationMaker<SWLocation> factory, boolean lazy) {
+		super(width,height,factory,lazy);
+	}
+	
+	/**
+	 * Returns a <code>SWLocation</code> with the same symbol and empty symbol as <code>loc</code>, which is all that the 
+	 * text based Views draw of it. It is shared by every unloaded <code>SWLocation</code> with those symbols.
+	 * 
+	 * @param 	loc a <code>SWLocation</code> of a chunk that is being unloaded
+	 * @return 	the stand-in for <code>loc</code>
+	 */
+	@Override
+	protected SWLocation standIn(SWLocation loc) {
+		return standIns.computeIfAbsent(loc.getSymbol() << 16 | loc.getEmptySymbol(), key -> {
+			SWLocation standIn = new SWLocation();
+			standIn.setSymbol(loc.getSymbol());
+			standIn.setEmptySymbol(loc.getEmptySymbol());
+			return standIn;
+		});
+	}
+	
 
 }
@@ -1,8 +1,5 @@
 package starwars;
 
-import java.util.HashMap;
-
-import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.space.Location;
 import edu.monash.fit2099.simulator.space.LocationMaker;
 
@@ -13,21 +10,37 @@ import edu.monash.fit2099.simulator.space.LocationMaker;
  * 
  * @author ram
  */
+/*
+ * Change log
+ * 2026-10-18:	Descriptions come from the SWRegion of the SWLocation unless they have been set, 
+ * 				so SWLocations don't hold description strings of their own
+ * 2026-10-18:	toString gives the short description, so that SWLocations can be given to message templates
+ */
 
 public class SWLocation extends Location {
 	
-	/**A character that represents the <code>SWLocation</code>, suitable for display*/
-	private char symbol;
+	private static final long serialVersionUID = 1L;
+	
+	/**The region of <code>SWLocation</code>s that haven't been put in one, i.e. plain desert*/
+	public static final SWRegion DESERT = SWRegion.of("SWWorld ({x}, {y})", '.', '.');
+	
+	/**A character that represents the <code>SWLocation</code>, suitable for display.
+	 * By default <code>SWLocation</code>s are represented by a '.'
+	 */
+	private char symbol = '.';
 	
 	/**A character that represents an empty space in this <code>SWLocation</code>, suitable for display.
 	 * By default empty spaces in all <code>SWLocation</code>s are represented by a '.'
 	 */
 	private char emptySymbol = '.';
 	
-	/**A longer string that describes this <code>SWLocation</code>*/
+	/**The region this <code>SWLocation</code> is in, which its descriptions are made from*/
+	private SWRegion region = DESERT;
+	
+	/**A longer string that describes this <code>SWLocation</code>, or null to use the description from the region*/
 	private String longDescription;
 	
-	/**A shorter string that describes this <code>SWLocation</code>*/
+	/**A shorter string that describes this <code>SWLocation</code>, or null to use the description from the region*/
 	private String shortDescription;
 	
 	
@@ -54,10 +67,12 @@ public class SWLocation extends Location {
 	}
 
 	/**
-	 * Constructor for <code>SWLocation</code>. Will initialize the list of neighboring references
+	 * Constructor for <code>SWLocation</code>. 
+	 * <p>
+	 * Neighbours are worked out by the <code>Grid</code> from the coordinates of this <code>SWLocation</code>, 
+	 * so no neighbouring references are set up here.
 	 */
 	public SWLocation() {
-		neighbours = new HashMap<Direction, Location>();
 	}
 	
 	/** 
@@ -127,6 +142,35 @@ public class SWLocation extends Location {
 	}
 	
 
+	/**
+	 * Puts this <code>SWLocation</code> in the region <code>r</code>. 
+	 * <p>
+	 * The symbols of this <code>SWLocation</code> are set to those of the region, and any descriptions that have been
+	 * set are cleared so that the descriptions come from the region.
+	 * 
+	 * @param 	r the new region of this <code>SWLocation</code>
+	 * @see 	#getRegion()
+	 */
+	public void setRegion(SWRegion r) {
+		assert (r != null):"region cannot be null";
+		
+		region = r;
+		symbol = r.getSymbol();
+		emptySymbol = r.getEmptySymbol();
+		longDescription = null;
+		shortDescription = null;
+	}
+	
+	/**
+	 * Returns the region this <code>SWLocation</code> is in.
+	 * 
+	 * @return 	the region of this <code>SWLocation</code>, which is {@link #DESERT} unless it has been set
+	 * @see 	#setRegion(SWRegion)
+	 */
+	public SWRegion getRegion() {
+		return region;
+	}
+
 	/**
 	 * Sets the long description of this <code>SWLocation</code> to a new string <code>s</code>
 	 * <p>
@@ -155,24 +199,48 @@ public class SWLocation extends Location {
 	
 	/**
 	 * Returns the long description of this <code>SWLocation</code>.
+	 * <p>
+	 * If no long description has been set, the description is made from the region of this <code>SWLocation</code>.
 	 * 
 	 * @return a string that describes this <code>SWLocation</code>
 	 * @see #longDescription
+	 * @see SWRegion#describe(int, int)
 	 */
 	public String getLongDescription() {
+		if (longDescription == null) {
+			return region.describe(getX(), getY());
+		}
 		return longDescription;
 	}
 	
 	/**
 	 * Returns the short description of this <code>SWLocation</code>.
+	 * <p>
+	 * If no short description has been set, the description is made from the region of this <code>SWLocation</code>.
 	 *  
 	 * @return a string that describes this <code>SWLocation</code>
 	 * @see #shortDescription
+	 * @see SWRegion#describe(int, int)
 	 */
 	public String getShortDescription() {
+		if (shortDescription == null) {
+			return region.describe(getX(), getY());
+		}
 		return shortDescription;
 	}
 	
+	/**
+	 * Returns the short description of this <code>SWLocation</code>, so that it can be given to a message template.
+	 * 
+	 * @return the short description
+	 * @see #getShortDescription()
+	 * @see edu.monash.fit2099.simulator.userInterface.MessageTemplate
+	 */
+	@Override
+	public String toString() {
+		return getShortDescription();
+	}
+	
 
 
 }
@@ -0,0 +1,292 @@
+package starwars;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The contents of a map file describing a <code>SWWorld</code>: its size, the symbol of every <code>SWLocation</code>,
+ * what each symbol stands for and where <code>SWEntities</code> are placed.
+ * <p>
+ * A map file is a text file made of sections. Blank lines and lines starting with '#' are ignored.
+ * <pre>
+ * size 10 10
+ * legend
+ * b . Badlands ({x}, {y})
+ * C = Beggar's Canyon ({x}, {y})
+ * map
+ * ..........
+ * ....bbb...
+ * entities
+ * player 5 9 Luke 100
+ * every F reservoir
+ * </pre>
+ * <ul>
+ * 	<li><code>size</code> gives the width and height of the grid. It must come first.</li>
+ * 	<li>Each line of the <code>legend</code> is a <code>SWRegion</code>: a location symbol, the empty symbol of locations 
+ * 		with that symbol and their description. <code>{x}</code> and <code>{y}</code> in the description stand for the 
+ * 		coordinates of the location.
+ * 		Locations with the symbol '.' are plain desert and need no legend entry.</li>
+ * 	<li>The <code>map</code> has one line per row of the grid, with one symbol per location.</li>
+ * 	<li>Each line of <code>entities</code> is a kind of entity, its coordinates and any arguments for that kind, or
+ * 		<code>every</code> followed by a location symbol, a kind and its arguments to place one in every location with
+ * 		that symbol. The kinds are listed in {@link SWWorld#initializeWorld(MessageRenderer)}.</li>
+ * </ul>
+ * The file is memory mapped and the map section is copied straight into a byte array, so loading a large map doesn't
+ * create a String for every row.
+ */
+public class SWMapFile {
+
+	/**The symbol of plain desert locations, which don't need a legend entry*/
+	public static final char DESERT = '.';
+
+	/**
+	 * A line of the entities section.
+	 */
+	public static class Placement {
+
+		/**The kind of <code>SWEntity</code> to place, e.g. "tusken"*/
+		public final String kind;
+
+		/**Where to place it, or -1 for a placement in every location with the symbol <code>where</code>*/
+		public final int x, y;
+
+		/**The symbol of the locations to place one in, for <code>every</code> placements*/
+		public final char where;
+
+		/**Any arguments that follow the coordinates*/
+		public final String[] args;
+
+		public Placement(String kind, int x, int y, char where, String[] args) {
+			this.kind = kind;
+			this.x = x;
+			this.y = y;
+			this.where = where;
+			this.args = args;
+		}
+	}
+
+	/**Width of the map*/
+	private int width;
+
+	/**Height of the map*/
+	private int height;
+
+	/**The symbol of every location, stored row by row*/
+	private byte[] symbols;
+
+	/**The legend, keyed by location symbol*/
+	private Map<Character, SWRegion> legend = new HashMap<Character, SWRegion>();
+
+	/**The entity placements, in the order they appear in the file*/
+	private List<Placement> placements = new ArrayList<Placement>();
+
+	/**
+	 * Private constructor. Map files are read with {@link #load(File)}.
+	 */
+	private SWMapFile() {}
+
+	/**
+	 * Reads a map file.
+	 *
+	 * @param 	file the map file
+	 * @return 	the contents of the map file
+	 * @throws 	IOException if the file can't be read
+	 * @throws 	IllegalArgumentException if the file isn't a valid map file
+	 */
+	public static SWMapFile load(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			SWMapFile map = new SWMapFile();
+			map.parse(buf, file.getName());
+			return map;
+		}
+		finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Parses the contents of a map file.
+	 *
+	 * @param 	buf the contents of the file
+	 * @param 	name the name of the file, for error messages
+	 */
+	private void parse(MappedByteBuffer buf, String name) {
+		String section = null;
+		int row = 0;
+		int lineNumber = 0;
+
+		while (buf.hasRemaining()) {
+			lineNumber++;
+			final int start = buf.position();
+			int end = start;
+			while (buf.hasRemaining() && buf.get() != '\n') {
+				end++;
+			}
+			if (end > start && buf.get(end - 1) == '\r') { //Windows line ending
+				end--;
+			}
+
+			if ("map".equals(section) && row < height) {
+				//copy the row straight into the symbols, without making a String of it
+				if (end - start != width) {
+					throw error(name, lineNumber, "row " + row + " should have " + width + " symbols");
+				}
+				for (int i = 0; i < width; i++) {
+					symbols[row * width + i] = buf.get(start + i);
+				}
+				row++;
+				continue;
+			}
+
+			if (end == start || buf.get(start) == '#') { //blank line or comment
+				continue;
+			}
+
+			byte[] bytes = new byte[end - start];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buf.get(start + i);
+			}
+			String line = new String(bytes, StandardCharsets.UTF_8).trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			if (line.equals("legend") || line.equals("map") || line.equals("entities")) {
+				if (symbols == null) {
+					throw error(name, lineNumber, "the size must be given first");
+				}
+				if ("map".equals(section) && row < height) {
+					throw error(name, lineNumber, "the map should have " + height + " rows");
+				}
+				section = line;
+				continue;
+			}
+
+			String[] words = line.split("\\s+");
+			try {
+				if (section == null && words[0].equals("size") && words.length == 3) {
+					width = Integer.parseInt(words[1]);
+					height = Integer.parseInt(words[2]);
+					if (width <= 0 || height <= 0) {
+						throw error(name, lineNumber, "the size must be positive");
+					}
+					try {
+						symbols = new byte[Math.multiplyExact(width, height)];
+					}
+					catch (ArithmeticException e) {
+						throw error(name, lineNumber, "the map is too large");
+					}
+				}
+				else if ("legend".equals(section) && words.length >= 3 && words[0].length() == 1 && words[1].length() == 1) {
+					String description = line.split("\\s+", 3)[2];
+					legend.put(words[0].charAt(0), SWRegion.of(description, words[0].charAt(0), words[1].charAt(0)));
+				}
+				else if ("entities".equals(section) && words[0].equals("every") && words.length >= 3 && words[1].length() == 1) {
+					placements.add(new Placement(words[2], -1, -1, words[1].charAt(0), rest(words, 3)));
+				}
+				else if ("entities".equals(section) && words.length >= 3) {
+					int x = Integer.parseInt(words[1]);
+					int y = Integer.parseInt(words[2]);
+					if (x < 0 || x >= width || y < 0 || y >= height) {
+						throw error(name, lineNumber, "(" + x + ", " + y + ") is not on the map");
+					}
+					placements.add(new Placement(words[0], x, y, (char) 0, rest(words, 3)));
+				}
+				else {
+					throw error(name, lineNumber, "unexpected line \"" + line + "\"");
+				}
+			}
+			catch (NumberFormatException e) {
+				throw error(name, lineNumber, "bad number in \"" + line + "\"");
+			}
+		}
+
+		if (symbols == null || row < height) {
+			throw error(name, lineNumber, "the map should have " + height + " rows");
+		}
+	}
+
+	/**
+	 * Returns the words of a line from <code>from</code> onwards.
+	 *
+	 * @param 	words the words of a line
+	 * @param 	from the index of the first word to return
+	 * @return 	the remaining words
+	 */
+	private static String[] rest(String[] words, int from) {
+		String[] args = new String[words.length - from];
+		System.arraycopy(words, from, args, 0, args.length);
+		return args;
+	}
+
+	/**
+	 * Makes the exception thrown for an invalid map file.
+	 *
+	 * @param 	name the name of the file
+	 * @param 	lineNumber the line at which the problem was found
+	 * @param 	problem what is wrong
+	 * @return 	the exception to throw
+	 */
+	private static IllegalArgumentException error(String name, int lineNumber, String problem) {
+		return new IllegalArgumentException(name + ":" + lineNumber + ": " + problem);
+	}
+
+	/**
+	 * Returns the width of the map.
+	 *
+	 * @return 	the width of the map
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the map.
+	 *
+	 * @return 	the height of the map
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the symbol of the location at (<code>x</code>, <code>y</code>).
+	 *
+	 * @param 	x West/East coordinate of the location
+	 * @param 	y North/South coordinate of the location
+	 * @return 	the symbol of that location
+	 */
+	public char getSymbol(int x, int y) {
+		return (char) symbols[y * width + x];
+	}
+
+	/**
+	 * Returns the region the symbol <code>c</code> stands for, or null if it isn't in the legend.
+	 *
+	 * @param 	c a location symbol
+	 * @return 	the region for <code>c</code>, or null
+	 */
+	public SWRegion getRegion(char c) {
+		return legend.get(c);
+	}
+
+	/**
+	 * Returns the entity placements of the map, in the order they appear in the file.
+	 *
+	 * @return 	the entity placements
+	 */
+	public List<Placement> getPlacements() {
+		return placements;
+	}
+}
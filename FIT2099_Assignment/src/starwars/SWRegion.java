@@ -0,0 +1,186 @@
+package starwars;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class representing a kind of terrain in the Star Wars universe, e.g. the Badlands or a Moisture Farm.
+ * <p>
+ * All the <code>SWLocation</code>s in a region share one <code>SWRegion</code>, which holds their symbols and a 
+ * template for their descriptions. <code>{x}</code> and <code>{y}</code> in the template stand for the coordinates 
+ * of the <code>SWLocation</code>, so "Badlands ({x}, {y})" describes the <code>SWLocation</code> at (4, 5) as 
+ * "Badlands (4, 5)". Descriptions are only made when they are asked for, so the <code>SWLocation</code>s don't hold 
+ * on to description strings of their own.
+ * <p>
+ * <code>SWRegions</code> are made with {@link #of(String, char, char)}, which gives back the same 
+ * <code>SWRegion</code> for the same template and symbols. <code>SWLocations</code> that are written to disk and read 
+ * back, e.g. when a chunk of the grid is unloaded, get that same <code>SWRegion</code> back rather than a copy of it.
+ * 
+ * @see SWLocation#setRegion(SWRegion)
+ */
+public class SWRegion implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**Every <code>SWRegion</code> made so far, by its key*/
+	private static final ConcurrentHashMap<String, SWRegion> regions = new ConcurrentHashMap<String, SWRegion>();
+	
+	/**The template the descriptions are made from*/
+	private final String template;
+	
+	/**
+	 * The template split at its placeholders. The parts are the text between the placeholders, and 
+	 * <code>placeholders[i]</code> is the placeholder ('x' or 'y') that comes after <code>parts[i]</code>
+	 */
+	private final String[] parts;
+	
+	/**The placeholders of the template, in order*/
+	private final char[] placeholders;
+	
+	/**The symbol of the <code>SWLocation</code>s in this region*/
+	private final char symbol;
+	
+	/**The empty symbol of the <code>SWLocation</code>s in this region*/
+	private final char emptySymbol;
+	
+	/**
+	 * Returns the <code>SWRegion</code> with the given template and symbols, making it if there isn't one yet.
+	 * 
+	 * @param 	template the template of the descriptions of the <code>SWLocation</code>s in the region. 
+	 * 			<code>{x}</code> and <code>{y}</code> stand for the coordinates of a <code>SWLocation</code>
+	 * @param 	symbol the symbol of the <code>SWLocation</code>s in the region
+	 * @param 	emptySymbol the empty symbol of the <code>SWLocation</code>s in the region
+	 * @return 	the <code>SWRegion</code>
+	 */
+	public static SWRegion of(String template, char symbol, char emptySymbol) {
+		assert (template != null):"a region must have a description";
+		
+		SWRegion region = regions.get(key(template, symbol, emptySymbol));
+		if (region == null) {
+			region = intern(new SWRegion(template, symbol, emptySymbol));
+		}
+		return region;
+	}
+	
+	/**
+	 * Returns the <code>SWRegion</code> equal to <code>region</code> that was made first, which is 
+	 * <code>region</code> itself if there wasn't one.
+	 * 
+	 * @param 	region a <code>SWRegion</code>
+	 * @return 	the <code>SWRegion</code> to use in its place
+	 */
+	private static SWRegion intern(SWRegion region) {
+		SWRegion first = regions.putIfAbsent(key(region.template, region.symbol, region.emptySymbol), region);
+		return first != null ? first : region;
+	}
+	
+	/**
+	 * Returns the key of the <code>SWRegion</code> with the given template and symbols.
+	 * 
+	 * @param 	template the description template
+	 * @param 	symbol the symbol
+	 * @param 	emptySymbol the empty symbol
+	 * @return 	the key: the two symbols followed by the template
+	 */
+	private static String key(String template, char symbol, char emptySymbol) {
+		return new StringBuilder(template.length() + 2).append(symbol).append(emptySymbol).append(template).toString();
+	}
+	
+	/**
+	 * Gives back the <code>SWRegion</code> that was made with <code>of</code>, when a <code>SWRegion</code> is read 
+	 * back from disk, so that there is only ever one of each.
+	 * 
+	 * @return 	the <code>SWRegion</code> to use instead of the one that was read
+	 */
+	private Object readResolve() {
+		return intern(this);
+	}
+	
+	/**
+	 * Constructor for <code>SWRegion</code>.
+	 * 
+	 * @param 	template the template of the descriptions of the <code>SWLocation</code>s in this region. 
+	 * 			<code>{x}</code> and <code>{y}</code> stand for the coordinates of a <code>SWLocation</code>
+	 * @param 	symbol the symbol of the <code>SWLocation</code>s in this region
+	 * @param 	emptySymbol the empty symbol of the <code>SWLocation</code>s in this region
+	 * @see 	#of(String, char, char)
+	 */
+	private SWRegion(String template, char symbol, char emptySymbol) {
+		assert (template != null):"a region must have a description";
+		
+		this.template = template;
+		this.symbol = symbol;
+		this.emptySymbol = emptySymbol;
+		
+		// split the template once here, rather than every time a description is made
+		List<String> parts = new ArrayList<String>();
+		StringBuilder placeholders = new StringBuilder();
+		int start = 0;
+		for (int i = 0; i + 2 < template.length(); i++) {
+			if (template.charAt(i) == '{' && template.charAt(i + 2) == '}' 
+					&& (template.charAt(i + 1) == 'x' || template.charAt(i + 1) == 'y')) {
+				parts.add(template.substring(start, i));
+				placeholders.append(template.charAt(i + 1));
+				start = i + 3;
+				i += 2;
+			}
+		}
+		parts.add(template.substring(start));
+		
+		this.parts = parts.toArray(new String[parts.size()]);
+		this.placeholders = placeholders.toString().toCharArray();
+	}
+	
+	/**
+	 * Returns the description of the <code>SWLocation</code> at (<code>x</code>, <code>y</code>) in this region.
+	 * <p>
+	 * If the template has no placeholders the template itself is returned, so every <code>SWLocation</code> in the 
+	 * region shares the one string.
+	 * 
+	 * @param 	x West/East coordinate of the <code>SWLocation</code>
+	 * @param 	y North/South coordinate of the <code>SWLocation</code>
+	 * @return 	the description of that <code>SWLocation</code>
+	 */
+	public String describe(int x, int y) {
+		if (placeholders.length == 0) {
+			return template;
+		}
+		
+		StringBuilder description = new StringBuilder(template.length() + 8);
+		for (int i = 0; i < placeholders.length; i++) {
+			description.append(parts[i]).append(placeholders[i] == 'x' ? x : y);
+		}
+		return description.append(parts[placeholders.length]).toString();
+	}
+	
+	/**
+	 * Returns the template the descriptions of this region are made from.
+	 * 
+	 * @return 	the description template
+	 */
+	public String getTemplate() {
+		return template;
+	}
+	
+	/**
+	 * Returns the symbol of the <code>SWLocation</code>s in this region.
+	 * 
+	 * @return 	the symbol
+	 * @see 	SWLocation#getSymbol()
+	 */
+	public char getSymbol() {
+		return symbol;
+	}
+	
+	/**
+	 * Returns the empty symbol of the <code>SWLocation</code>s in this region.
+	 * 
+	 * @return 	the empty symbol
+	 * @see 	SWLocation#getEmptySymbol()
+	 */
+	public char getEmptySymbol() {
+		return emptySymbol;
+	}
+}
@@ -1,14 +1,23 @@
 package starwars;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
 import edu.monash.fit2099.gridworld.Grid.CompassBearing;
 import edu.monash.fit2099.simulator.matter.EntityManager;
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.space.Location;
 import edu.monash.fit2099.simulator.space.World;
+import edu.monash.fit2099.simulator.time.EventPartitioner;
+import edu.monash.fit2099.simulator.time.Scheduler;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import starwars.actions.Move;
 import starwars.actions.Take;
 import starwars.entities.*;
 import starwars.entities.actors.*;
+import starwars.entities.actors.behaviors.DecisionMaker;
 
 /**
  * Class representing a world in the Star Wars universe. 
@@ -20,6 +29,15 @@ import starwars.entities.actors.*;
  * 2017-02-02:  Render method was removed from Middle Earth
  * 				Displaying the Grid is now handled by the TextInterface rather 
  * 				than by the Grid or MiddleWorld classes (asel)
+ * 2026-10-18:	The grid is lazy. Default location symbols and descriptions come from SWLocation instead of
+ * 				being set for every location
+ * 2026-10-18:	Idle chunks of the grid can be unloaded to disk
+ * 2026-10-18:	Worlds can be set up from a map file
+ * 2026-10-18:	Locations are put in SWRegions, which their descriptions are made from
+ * 2026-10-18:	Supplies an EventPartitioner so that Actions in different chunks of the grid can be executed in parallel
+ * 2026-10-18:	Can be seeded, and gives each SWActor a Random of its own made from the seed
+ * 2026-10-18:	Each SWWorld has its own EntityManager and Scheduler, and knows what asks its user for commands, so that
+ * 				several worlds can run in one JVM
  */
 public class SWWorld extends World {
 	
@@ -29,18 +47,112 @@ public class SWWorld extends World {
 	private SWGrid myGrid;
 	
 	/**The entity manager of the world which keeps track of <code>SWEntities</code> and their <code>SWLocation</code>s*/
-	private static final EntityManager<SWEntityInterface, SWLocation> entityManager = new EntityManager<SWEntityInterface, SWLocation>();
+	private final EntityManager<SWEntityInterface, SWLocation> entityManager = new EntityManager<SWEntityInterface, SWLocation>();
+	
+	/**The <code>Scheduler</code> that passes time in this <code>SWWorld</code>, which the <code>SWActors</code> schedule with*/
+	private Scheduler scheduler;
+	
+	/**What asks the user for the commands of the human controlled <code>SWActors</code>, or null if there is no user*/
+	private DecisionMaker userDecisionMaker;
+	
+	/**The map file this <code>SWWorld</code> is set up from, or null for the built-in world*/
+	private SWMapFile map;
+	
+	/**Where the seeds of the <code>Randoms</code> of the <code>SWActors</code> come from*/
+	private Random seeds = new Random();
 	
 	/**
 	 * Constructor of <code>SWWorld</code>. This will initialize the <code>SWLocationMaker</code>
 	 * and the grid.
+	 * <p>
+	 * The grid is lazy, so a <code>SWLocation</code> is only created when something is placed at it, moves into it or
+	 * it is given a description of its own.
 	 */
 	public SWWorld() {
 		SWLocation.SWLocationMaker factory = SWLocation.getMaker();
-		myGrid = new SWGrid(factory);
+		myGrid = new SWGrid(factory, true);
 		space = myGrid;
 		
 	}
+	
+	/**
+	 * Constructor of a <code>SWWorld</code> that is set up from a map file. The grid is sized from the map, 
+	 * and is lazy like the grid of the built-in world.
+	 * 
+	 * @param 	map the contents of the map file
+	 * @see 	#initializeWorld(MessageRenderer)
+	 */
+	public SWWorld(SWMapFile map) {
+		SWLocation.SWLocationMaker factory = SWLocation.getMaker();
+		myGrid = new SWGrid(map.getWidth(), map.getHeight(), factory, true);
+		space = myGrid;
+		this.map = map;
+	}
+	
+	/**
+	 * Seeds this <code>SWWorld</code>, so that a run of it can be repeated exactly.
+	 * <p>
+	 * Each <code>SWActor</code> makes its random choices with a <code>Random</code> of its own, seeded from 
+	 * <code>seed</code> and the number of <code>SWActors</code> made before it. This must be called before the 
+	 * <code>SWActors</code> are made, i.e. before the world is initialized.
+	 * 
+	 * @param 	seed the seed
+	 * @see 	#newRandom()
+	 */
+	public void setSeed(long seed) {
+		seeds = new Random(seed);
+	}
+	
+	/**
+	 * Sets the <code>Scheduler</code> that passes time in this <code>SWWorld</code>. The <code>SWActors</code> in it 
+	 * schedule their <code>SWActions</code> with it.
+	 * 
+	 * @param 	scheduler the <code>Scheduler</code> made for this <code>SWWorld</code>
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+	
+	/**
+	 * Returns the <code>Scheduler</code> that passes time in this <code>SWWorld</code>.
+	 * 
+	 * @return 	the <code>Scheduler</code>, or null if it hasn't been set
+	 * @see 	#setScheduler(Scheduler)
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+	
+	/**
+	 * Sets what asks the user for the commands of the human controlled <code>SWActors</code> in this <code>SWWorld</code>,
+	 * e.g. the controller of its user interface.
+	 * 
+	 * @param 	userDecisionMaker what asks the user, or null if there is no user
+	 */
+	public void setUserDecisionMaker(DecisionMaker userDecisionMaker) {
+		this.userDecisionMaker = userDecisionMaker;
+	}
+	
+	/**
+	 * Returns what asks the user for the commands of the human controlled <code>SWActors</code> in this <code>SWWorld</code>.
+	 * 
+	 * @return 	what asks the user, or null if there is no user
+	 * @see 	#setUserDecisionMaker(DecisionMaker)
+	 */
+	public DecisionMaker getUserDecisionMaker() {
+		return userDecisionMaker;
+	}
+	
+	/**
+	 * Returns a new <code>Random</code> for a <code>SWActor</code>, seeded from the seed of this <code>SWWorld</code> and 
+	 * the number of <code>Randoms</code> made before it.
+	 * 
+	 * @return 	a new <code>Random</code>
+	 * @see 	#setSeed(long)
+	 */
+	public synchronized Random newRandom() {
+		return new Random(seeds.nextLong());
+	}
 
 	/** 
 	 * Returns the height of the <code>Grid</code>. Useful to the Views when rendering the map.
@@ -65,38 +177,46 @@ public class SWWorld extends World {
 	/**
 	 * Set up the world, setting descriptions for locations and placing items and actors
 	 * on the grid.
+	 * <p>
+	 * If this <code>SWWorld</code> was made from a map file, the locations and entities are set up as the file says.
+	 * The kinds of entities a map file can place, and their arguments, are
+	 * <ul>
+	 * 	<li><code>player</code> name hitpoints: a human controlled <code>Player</code></li>
+	 * 	<li><code>ben</code> moves...: Ben Kenobi, patrolling the given <code>CompassBearings</code></li>
+	 * 	<li><code>tusken</code> name hitpoints: a <code>TuskenRaider</code></li>
+	 * 	<li><code>reservoir</code>: a <code>Reservoir</code></li>
+	 * 	<li><code>canteen</code> capacity level: a <code>Canteen</code> that can be taken</li>
+	 * 	<li><code>lightsaber</code> and <code>blaster</code></li>
+	 * 	<li><code>item</code> symbol hitpoints description: an item that can be taken. A '|' in the description 
+	 * 		separates its short description from its long description</li>
+	 * </ul>
+	 * Otherwise the built-in world is set up.
 	 * 
 	 * @author 	ram
 	 * @param 	iface a MessageRenderer to be passed onto newly-created entities
+	 * @throws 	IllegalArgumentException if the map file places an unknown kind of entity or has bad arguments
 	 */
 	public void initializeWorld(MessageRenderer iface) {
-		SWLocation loc;
-		// Set default location string
-		for (int row=0; row < height(); row++) {
-			for (int col=0; col < width(); col++) {
-				loc = myGrid.getLocationByCoordinates(col, row);
-				loc.setLongDescription("SWWorld (" + col + ", " + row + ")");
-				loc.setShortDescription("SWWorld (" + col + ", " + row + ")");
-				loc.setSymbol('.');				
-			}
+		if (map != null) {
+			initializeFromMap(iface);
+			return;
 		}
 		
+		SWLocation loc;
+		// Locations that aren't set up below are in the SWLocation.DESERT region, described as "SWWorld (col, row)"
+		
 		
 		// BadLands
+		SWRegion badlands = SWRegion.of("Badlands ({x}, {y})", 'b', '.');
 		for (int row = 5; row < 8; row++) {
 			for (int col = 4; col < 7; col++) {
-				loc = myGrid.getLocationByCoordinates(col, row);
-				loc.setLongDescription("Badlands (" + col + ", " + row + ")");
-				loc.setShortDescription("Badlands (" + col + ", " + row + ")");
-				loc.setSymbol('b');
+				myGrid.getLocationByCoordinates(col, row).setRegion(badlands);
 			}
 		}
 		
 		//Ben's Hut
 		loc = myGrid.getLocationByCoordinates(5, 6);
-		loc.setLongDescription("Ben's Hut");
-		loc.setShortDescription("Ben's Hut");
-		loc.setSymbol('H');
+		loc.setRegion(SWRegion.of("Ben's Hut", 'H', '.'));
 		
 		Direction [] patrolmoves = {CompassBearing.EAST, CompassBearing.EAST,
                 CompassBearing.SOUTH,
@@ -120,22 +240,18 @@ public class SWWorld extends World {
 		luke.resetMoveCommands(loc);
 		
 		
-		// Beggar's Canyon 
+		// Beggar's Canyon, where '=' represents the sides of the canyon
+		SWRegion canyon = SWRegion.of("Beggar's Canyon ({x}, {y})", 'C', '=');
 		for (int col = 3; col < 8; col++) {
-			loc = myGrid.getLocationByCoordinates(col, 8);
-			loc.setShortDescription("Beggar's Canyon (" + col + ", " + 8 + ")");
-			loc.setLongDescription("Beggar's Canyon  (" + col + ", " + 8 + ")");
-			loc.setSymbol('C');
-			loc.setEmptySymbol('='); // to represent sides of the canyon
+			myGrid.getLocationByCoordinates(col, 8).setRegion(canyon);
 		}
 		
 		// Moisture Farms
+		SWRegion moistureFarm = SWRegion.of("Moisture Farm ({x}, {y})", 'F', '.');
 		for (int row = 0; row < 10; row++) {
 			for (int col = 8; col < 10; col++) {
 				loc = myGrid.getLocationByCoordinates(col, row);
-				loc.setLongDescription("Moisture Farm (" + col + ", " + row + ")");
-				loc.setShortDescription("Moisture Farm (" + col + ", " + row + ")");
-				loc.setSymbol('F');
+				loc.setRegion(moistureFarm);
 				
 				// moisture farms have reservoirs
 				entityManager.setLocation(new Reservoir(iface), loc);				
@@ -184,6 +300,118 @@ public class SWWorld extends World {
 
 	}
 
+	/**
+	 * Set up the world from its map file.
+	 * 
+	 * @param 	iface a MessageRenderer to be passed onto newly-created entities
+	 * @see 	#initializeWorld(MessageRenderer)
+	 */
+	private void initializeFromMap(MessageRenderer iface) {
+		// Desert locations are left alone, so they are only created when something happens in them 
+		for (int row = 0; row < height(); row++) {
+			for (int col = 0; col < width(); col++) {
+				char c = map.getSymbol(col, row);
+				if (c == SWMapFile.DESERT) {
+					continue;
+				}
+				SWLocation loc = myGrid.getLocationByCoordinates(col, row);
+				SWRegion region = map.getRegion(c);
+				if (region != null) {
+					loc.setRegion(region);
+				}
+				else {
+					loc.setSymbol(c);
+				}
+			}
+		}
+		
+		for (SWMapFile.Placement p : map.getPlacements()) {
+			if (p.x >= 0) {
+				placeEntity(p.kind, p.x, p.y, p.args, iface);
+				continue;
+			}
+			// an "every" placement
+			for (int row = 0; row < height(); row++) {
+				for (int col = 0; col < width(); col++) {
+					if (map.getSymbol(col, row) == p.where) {
+						placeEntity(p.kind, col, row, p.args, iface);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Creates an entity of the given kind and places it at (<code>x</code>, <code>y</code>).
+	 * 
+	 * @param 	kind the kind of entity, as listed in {@link #initializeWorld(MessageRenderer)}
+	 * @param 	x West/East coordinate to place it at
+	 * @param 	y North/South coordinate to place it at
+	 * @param 	args the arguments for that kind of entity
+	 * @param 	iface a MessageRenderer to be passed onto the new entity
+	 * @throws 	IllegalArgumentException if the kind is unknown or the arguments are wrong
+	 */
+	private void placeEntity(String kind, int x, int y, String[] args, MessageRenderer iface) {
+		SWLocation loc = myGrid.getLocationByCoordinates(x, y);
+		
+		try {
+			switch (kind) {
+			case "player":
+				Player player = new Player(Team.GOOD, Integer.parseInt(args[1]), iface, this);
+				player.setShortDescription(args[0]);
+				entityManager.setLocation(player, loc);
+				player.resetMoveCommands(loc);
+				break;
+			case "ben":
+				Direction [] patrolmoves = new Direction[args.length];
+				for (int i = 0; i < args.length; i++) {
+					patrolmoves[i] = CompassBearing.valueOf(args[i]);
+				}
+				BenKenobi ben = BenKenobi.getBenKenobi(iface, this, patrolmoves);
+				ben.setSymbol("B");
+				entityManager.setLocation(ben, loc);
+				break;
+			case "tusken":
+				TuskenRaider tusken = new TuskenRaider(Integer.parseInt(args[1]), args[0], iface, this);
+				tusken.setSymbol("T");
+				entityManager.setLocation(tusken, loc);
+				break;
+			case "reservoir":
+				entityManager.setLocation(new Reservoir(iface), loc);
+				break;
+			case "canteen":
+				SWEntity canteen = new Canteen(iface, Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+				canteen.setSymbol("o");
+				canteen.setHitpoints(500);
+				entityManager.setLocation(canteen, loc);
+				canteen.addAffordance(new Take(canteen, iface));
+				break;
+			case "lightsaber":
+				entityManager.setLocation(new LightSaber(iface), loc);
+				break;
+			case "blaster":
+				entityManager.setLocation(new Blaster(iface), loc);
+				break;
+			case "item":
+				String description = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
+				String[] descriptions = description.split("\\|", 2);
+				SWEntity item = new SWEntity(iface);
+				item.setShortDescription(descriptions[0].trim());
+				item.setLongDescription(descriptions[descriptions.length - 1].trim());
+				item.setSymbol(args[0]);
+				item.setHitpoints(Integer.parseInt(args[1]));
+				entityManager.setLocation(item, loc);
+				item.addAffordance(new Take(item, iface));
+				break;
+			default:
+				throw new IllegalArgumentException("unknown kind of entity \"" + kind + "\" at (" + x + ", " + y + ")");
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+			throw new IllegalArgumentException("bad arguments for " + kind + " at (" + x + ", " + y + ")", e);
+		}
+	}
+
 	/*
 	 * Render method was removed from here
 	 */
@@ -202,6 +430,41 @@ public class SWWorld extends World {
 		return where.hasExit(whichDirection);
 	}
 	
+	/**
+	 * Sets the directory that idle chunks of the grid are unloaded to.
+	 * 
+	 * @param 	dir an existing, writable directory
+	 * @see 	#unloadIdleChunks()
+	 */
+	public void setChunkStore(File dir) {
+		myGrid.setChunkStore(dir);
+	}
+	
+	/**
+	 * Unloads every chunk of the grid that has no <code>SWEntities</code> in it to the chunk store. Unloaded chunks 
+	 * are reloaded when one of their <code>SWLocations</code> is next asked for.
+	 * <p>
+	 * Only chunks with nothing in them are unloaded, because <code>SWEntities</code> hold on to things (like the
+	 * <code>MessageRenderer</code> and this <code>SWWorld</code>) that can't be written to disk. Chunks with 
+	 * <code>SWEntities</code> but no <code>SWActors</code> stay in memory but aren't ticked.
+	 * 
+	 * @return 	the number of chunks unloaded
+	 * @throws 	IOException if a chunk could not be written
+	 * @see 	edu.monash.fit2099.gridworld.Grid#unloadChunk(int)
+	 */
+	public int unloadIdleChunks() throws IOException {
+		int count = 0;
+		for (int chunk = 0; chunk < myGrid.getChunkCount(); chunk++) {
+			if (!myGrid.isChunkUnloaded(chunk) && !entityManager.isRegionOccupied(chunk)) {
+				myGrid.unloadChunk(chunk);
+				if (myGrid.isChunkUnloaded(chunk)) { //chunks with nothing in memory are left alone
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+	
 	/**
 	 * Accessor for the grid.
 	 * 
@@ -211,6 +474,51 @@ public class SWWorld extends World {
 	public SWGrid getGrid() {
 		return myGrid;
 	}
+	
+	/**
+	 * Returns an <code>EventPartitioner</code> that tells a <code>Scheduler</code> which chunks of the grid an 
+	 * <code>SWAction</code> touches, so that <code>SWActions</code> in different chunks can be executed in parallel.
+	 * <p>
+	 * <code>SWActions</code> only touch the <code>SWLocation</code> of their <code>SWActor</code> and its contents, as well as
+	 * <ul>
+	 * 	<li>the <code>SWLocation</code> being moved to, for a <code>Move</code></li>
+	 * 	<li>the <code>SWLocation</code> of the target, for a <code>SWAffordance</code>, as the target may have moved since 
+	 * 		the <code>SWAffordance</code> was chosen</li>
+	 * </ul>
+	 * Any other kind of <code>Action</code>, or one whose <code>Actor</code> isn't on the grid, is executed on its own.
+	 * <p>
+	 * The chunks are those where things are when the partitioner is asked, so the <code>Scheduler</code> can ask again 
+	 * as each <code>SWAction</code> runs to lock the chunks it touches then.
+	 * 
+	 * @return 	the partitioner for this <code>SWWorld</code>
+	 * @see 	edu.monash.fit2099.simulator.time.Scheduler#setParallel(EventPartitioner)
+	 */
+	public EventPartitioner getEventPartitioner() {
+		return (action, actor, keys) -> {
+			if (!(action instanceof SWActionInterface) || !(actor instanceof SWActor)) {
+				return false;
+			}
+			SWLocation where = entityManager.whereIs((SWActor) actor);
+			if (where == null) {
+				return false;
+			}
+			keys.accept(myGrid.getRegion(where));
+			
+			if (action instanceof Move) {
+				Location to = where.getNeighbour(((Move) action).getWhichDirection());
+				if (to != null) {
+					keys.accept(myGrid.getRegion(to));
+				}
+			}
+			else if (action instanceof SWAffordance) {
+				SWLocation targetWhere = entityManager.whereIs(((SWAffordance) action).getTarget());
+				if (targetWhere != null) {
+					keys.accept(myGrid.getRegion(targetWhere));
+				}
+			}
+			return true;
+		};
+	}
 
 	/**
 	 * Move an actor in a direction.
@@ -242,24 +550,15 @@ public class SWWorld extends World {
 		return entityManager.whereIs(e); //cast and return a SWLocation?
 	}
 
-	/**
-	 * This is only here for compliance with the abstract base class's interface and is not supposed to be
-	 * called.
-	 */
-
-	@SuppressWarnings("unchecked")
-	public EntityManager<SWEntityInterface, SWLocation> getEntityManager() {
-		return SWWorld.getEntitymanager();
-	}
-
 	/**
 	 * Returns the <code>EntityManager</code> which keeps track of the <code>SWEntities</code> and
-	 * <code>SWLocations</code> in <code>SWWorld</code>.
+	 * <code>SWLocations</code> in this <code>SWWorld</code>.
 	 * 
 	 * @return 	the <code>EntityManager</code> of this <code>SWWorld</code>
 	 * @see 	{@link #entityManager}
 	 */
-	public static EntityManager<SWEntityInterface, SWLocation> getEntitymanager() {
+	@SuppressWarnings("unchecked")
+	public EntityManager<SWEntityInterface, SWLocation> getEntityManager() {
 		return entityManager;
 	}
 }
@@ -1,6 +1,7 @@
 package starwars.actions;
 
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.Capability;
 import starwars.SWActionInterface;
 import starwars.SWActor;
@@ -18,6 +19,7 @@ import starwars.SWEntityInterface;
  * Change log
  * 2017/02/03	Fixed the bug where the an actor could attack another actor in the same team (asel)
  * 2017/02/08	Attack given a priority of 1 in constructor (asel)
+ * 2026-10-18	Messages are only made if messages of their Level are displayed
  */
 public class Attack extends SWAffordance implements SWActionInterface {
 
@@ -106,12 +108,12 @@ public class Attack extends SWAffordance implements SWActionInterface {
 					
 		
 		if (targetIsActor && (a.getTeam() == targetActor.getTeam())) { //don't attack SWActors in the same team
-			a.say("\t" + a.getShortDescription() + " says: Silly me! We're on the same team, " + target.getShortDescription() + ". No harm done");
+			a.say(Level.INFO, "\t{} says: Silly me! We're on the same team, {}. No harm done", a, target);
 		}
 		else if (a.isHumanControlled() // a human-controlled player can attack anyone
 			|| (targetIsActor && (a.getTeam() != targetActor.getTeam()))) {  // others will only attack actors on different teams
 				
-			a.say(a.getShortDescription() + " is attacking " + target.getShortDescription() + "!");
+			a.say(Level.INFO, "{} is attacking {}!", a, target);
 			
 			SWEntityInterface itemCarried = a.getItemCarried();
 			if (itemCarried != null) {//if the actor is carrying an item 
@@ -122,10 +124,8 @@ public class Attack extends SWAffordance implements SWActionInterface {
 				}
 				else {//an attack with a none weapon
 					if (targetIsActor) {
-						targetActor.say("\t" + targetActor.getShortDescription()
-								+ " is amused by " + a.getShortDescription()
-								+ "'s attempted attack with "
-								+ itemCarried.getShortDescription());
+						targetActor.say(Level.INFO, "\t{} is amused by {}'s attempted attack with {}", 
+								targetActor, a, itemCarried);
 					}
 				} 
 			}
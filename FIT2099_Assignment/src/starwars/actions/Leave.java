@@ -52,7 +52,7 @@ public class Leave extends SWAffordance {
 		else {
 			// put the item in the actor's location
 			if (target instanceof SWEntityInterface) {
-				EntityManager<SWEntityInterface, SWLocation> entityManager = SWAction.getEntitymanager();
+				EntityManager<SWEntityInterface, SWLocation> entityManager = a.getWorld().getEntityManager();
 				entityManager.setLocation((SWEntityInterface)target, entityManager.whereIs(a));
 				a.setItemCarried(null);
 				target.removeAffordance(this);
@@ -2,6 +2,7 @@ package starwars.actions;
 
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.SWAction;
 import starwars.SWActor;
 import starwars.SWWorld;
@@ -15,6 +16,8 @@ import starwars.SWWorld;
  * Change log
  * 2017-02-03	Added a getter for whichDirection attribute. Need it for the GUI to display the move 
  * 				commands in a nice way (asel)
+ * 2026-10-18	The message is only made if messages of its Level are displayed
+ * 2026-10-18	The message is said by the SWActor that is moving
  */
 public class Move extends SWAction {
 
@@ -54,7 +57,7 @@ public class Move extends SWAction {
 		if (world.canMove(a, whichDirection)) {
 			world.moveEntity(a, whichDirection);
 			a.resetMoveCommands(world.find(a));//reset the new possible set of moves based on the new location of the entity
-			messageRenderer.render(a.getShortDescription() + " is moving " + whichDirection);
+			a.say(Level.INFO, "{} is moving {}", a, whichDirection); //said by a, so it is held back like anything else a says
 		}
 				
 	}
@@ -69,7 +69,7 @@ public class Take extends SWAffordance {
 		if (target instanceof SWEntityInterface) {
 			SWEntityInterface theItem = (SWEntityInterface) target;
 			a.setItemCarried(theItem);
-			SWAction.getEntitymanager().remove(target);//remove the target from the entity manager since it's now held by the SWActor
+			a.getWorld().getEntityManager().remove(target);//remove the target from the entity manager since it's now held by the SWActor
 			
 			//remove the take affordance
 			target.removeAffordance(this);
@@ -0,0 +1,190 @@
+package starwars.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.userInterface.NullMessageRenderer;
+import starwars.SWEntity;
+import starwars.SWEntityInterface;
+import starwars.SWLocation;
+import starwars.swinterfaces.TextFrame;
+
+/**
+ * Driver class that measures the cost of making and printing a text map of a grid. Contains nothing but a main()
+ * and the helpers it needs.
+ * <p>
+ * Three ways of making a frame are timed on square grids, with one location in twenty holding an entity,
+ * <ul>
+ * 	<li>adding the string of each location to a <code>String</code>, as <code>TextInterface</code> used to do. Every
+ * 		location copies the whole frame so far, so this is only timed on grids of up to 100 by 100</li>
+ * 	<li>making two <code>StringBuffers</code> for each location and joining them with a <code>StringBuilder</code>,
+ * 		as <code>SWGridTextInterface</code> used to do</li>
+ * 	<li>drawing every location over a <code>TextFrame</code> that is kept from one frame to the next</li>
+ * </ul>
+ * Each frame is printed to a stream that throws it away, so that the cost of the write is counted but not that of
+ * the console.
+ * <p>
+ * Usage: <code>java starwars.benchmarks.FrameBenchmark [size...]</code>. The default is a 100 by 100 grid and a
+ * 1000 by 1000 grid. Large grids need a larger heap than the JVM default, e.g. <code>-Xmx2g</code>.
+ */
+public class FrameBenchmark {
+
+	/**Number of times each measurement is repeated. The fastest repetition is reported*/
+	private static final int REPETITIONS = 5;
+
+	/**The largest number of locations that the <code>String</code> concatenation is timed on*/
+	private static final int MAX_CONCATENATED = 100 * 100;
+
+	/**The number of characters of a location including the location symbol and colon ':'*/
+	private static final int LOCATION_WIDTH = TextFrame.LOCATION_WIDTH;
+
+	public static void main(String args[]) {
+		String[] sizes = args.length > 0 ? args : new String[] {"100", "1000"};
+
+		//a stream that throws away what is printed to it
+		PrintStream out = new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				return;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				return;
+			}
+		});
+
+		for (String arg : sizes) {
+			final int size = Integer.parseInt(arg);
+			Grid<SWLocation> grid = new Grid<SWLocation>(size, size, SWLocation.getMaker()) {};
+			List<List<SWEntityInterface>> contents = makeContents(size * size);
+
+			long concatenated = Long.MAX_VALUE, buffered = Long.MAX_VALUE, framed = Long.MAX_VALUE;
+			TextFrame frame = new TextFrame(size, size, "\n");
+
+			for (int r = 0; r < REPETITIONS; r++) {
+				long start;
+				if (size * size <= MAX_CONCATENATED) {
+					start = System.nanoTime();
+					out.println(concatenate(grid, contents));
+					concatenated = Math.min(concatenated, System.nanoTime() - start);
+				}
+
+				start = System.nanoTime();
+				out.println(buffer(grid, contents));
+				buffered = Math.min(buffered, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				for (int row = 0; row < size; row++) {
+					for (int col = 0; col < size; col++) {
+						frame.drawLocation(col, row, grid.getLocationByCoordinates(col, row), contents.get(row * size + col));
+					}
+				}
+				frame.print(out);
+				framed = Math.min(framed, System.nanoTime() - start);
+			}
+
+			System.out.println("Frames of a " + size + "x" + size + " grid:");
+			System.out.println("\tString concatenation   "
+					+ (concatenated == Long.MAX_VALUE ? "not timed" : millis(concatenated) + " ms"));
+			System.out.println("\tStringBuffers          " + millis(buffered) + " ms");
+			System.out.println("\tTextFrame              " + millis(framed) + " ms");
+		}
+	}
+
+	/**
+	 * Makes the contents of each location, with an entity in one location in twenty.
+	 *
+	 * @param 	locations the number of locations
+	 * @return 	the contents of each location, row by row
+	 */
+	private static List<List<SWEntityInterface>> makeContents(int locations) {
+		Random random = new Random(2099);
+		List<List<SWEntityInterface>> contents = new ArrayList<List<SWEntityInterface>>(locations);
+		for (int i = 0; i < locations; i++) {
+			if (random.nextInt(20) == 0) {
+				SWEntity e = new SWEntity(new NullMessageRenderer()) {};
+				e.setSymbol(String.valueOf((char) ('a' + random.nextInt(26))));
+				contents.add(Collections.<SWEntityInterface>singletonList(e));
+			}
+			else {
+				contents.add(Collections.<SWEntityInterface>emptyList());
+			}
+		}
+		return contents;
+	}
+
+	/**
+	 * Makes a frame the way <code>TextInterface</code> used to, by adding each location to a <code>String</code>.
+	 *
+	 * @param 	grid the grid
+	 * @param 	contents the contents of each location, row by row
+	 * @return 	the frame
+	 */
+	private static String concatenate(Grid<SWLocation> grid, List<List<SWEntityInterface>> contents) {
+		String buffer = "";
+		for (int row = 0; row < grid.getHeight(); row++) {
+			for (int col = 0; col < grid.getWidth(); col++) {
+				buffer += "|" + locationString(grid.getLocationByCoordinates(col, row), contents.get(row * grid.getWidth() + col)) + "| ";
+			}
+			buffer += "\n";
+		}
+		return buffer;
+	}
+
+	/**
+	 * Makes a frame the way <code>SWGridTextInterface</code> used to, by joining the string of each location.
+	 *
+	 * @param 	grid the grid
+	 * @param 	contents the contents of each location, row by row
+	 * @return 	the frame
+	 */
+	private static String buffer(Grid<SWLocation> grid, List<List<SWEntityInterface>> contents) {
+		StringBuilder buffer = new StringBuilder("\n");
+		for (int row = 0; row < grid.getHeight(); row++) {
+			for (int col = 0; col < grid.getWidth(); col++) {
+				buffer.append("|").append(locationString(grid.getLocationByCoordinates(col, row), contents.get(row * grid.getWidth() + col))).append("| ");
+			}
+			buffer.append("\n");
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Makes the string of a location with two <code>StringBuffers</code>, as the text interfaces used to.
+	 *
+	 * @param 	loc the location
+	 * @param 	contents the contents of the location
+	 * @return 	the string of the location, without its separators
+	 */
+	private static String locationString(SWLocation loc, List<SWEntityInterface> contents) {
+		StringBuffer emptyBuffer = new StringBuffer();
+		char es = loc.getEmptySymbol();
+		for (int i = 0; i < LOCATION_WIDTH - 2; i++) {
+			emptyBuffer.append(es);
+		}
+
+		StringBuffer buf = new StringBuffer(loc.getSymbol() + ":");
+		for (int i = 0; i < contents.size(); i++) {
+			buf.append(contents.get(i).getSymbol());
+		}
+		buf.append(emptyBuffer);
+		buf.setLength(LOCATION_WIDTH);
+		return buf.toString();
+	}
+
+	/**
+	 * Converts a duration in nanoseconds to milliseconds, for display.
+	 *
+	 * @param 	nanos the duration in nanoseconds
+	 * @return 	the duration in milliseconds
+	 */
+	private static double millis(long nanos) {
+		return nanos / 1000000.0;
+	}
+}
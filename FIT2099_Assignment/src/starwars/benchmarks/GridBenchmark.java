@@ -0,0 +1,120 @@
+package starwars.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.monash.fit2099.gridworld.Grid;
+import starwars.SWLocation;
+
+/**
+ * Driver class that measures the cost of <code>Location</code> lookups in a <code>Grid</code>. Contains nothing but a main()
+ * and the helpers it needs.
+ * <p>
+ * Two access patterns are timed on a square grid,
+ * <ul>
+ * 	<li>random lookups with <code>getLocationByCoordinates</code>, as done by AI behaviours and actions</li>
+ * 	<li>full row-by-row scans of the grid, as done by the text interfaces on every render</li>
+ * </ul>
+ * Each pattern is timed against the flat array used by <code>Grid</code> and against the List of row Lists layout
+ * that <code>Grid</code> used to have, so that the two can be compared.
+ * <p>
+ * Usage: <code>java starwars.benchmarks.GridBenchmark [size] [lookups]</code>. The default is a 1000 by 1000 grid.
+ * Large grids need a larger heap than the JVM default, e.g. <code>-Xmx2g</code>.
+ */
+public class GridBenchmark {
+
+	/**Number of times each measurement is repeated. The fastest repetition is reported*/
+	private static final int REPETITIONS = 5;
+
+	public static void main(String args[]) {
+		final int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+
+		long start = System.nanoTime();
+		Grid<SWLocation> grid = new Grid<SWLocation>(size, size, SWLocation.getMaker()) {};
+		System.out.println("Built " + size + "x" + size + " grid in " + millis(System.nanoTime() - start) + " ms");
+
+		//the layout the Grid used to have: a List of row Lists
+		List<List<SWLocation>> rows = new ArrayList<List<SWLocation>>();
+		for (int y = 0; y < size; y++) {
+			List<SWLocation> row = new ArrayList<SWLocation>();
+			for (int x = 0; x < size; x++) {
+				row.add(grid.getLocationByCoordinates(x, y));
+			}
+			rows.add(row);
+		}
+
+		//the same random coordinates are used for both layouts
+		Random random = new Random(2099);
+		int[] xs = new int[lookups];
+		int[] ys = new int[lookups];
+		for (int i = 0; i < lookups; i++) {
+			xs[i] = random.nextInt(size);
+			ys[i] = random.nextInt(size);
+		}
+
+		long flatLookup = Long.MAX_VALUE, listLookup = Long.MAX_VALUE;
+		long flatScan = Long.MAX_VALUE, listScan = Long.MAX_VALUE;
+		int sink = 0; //keeps the JIT from eliminating the loops
+
+		for (int r = 0; r < REPETITIONS; r++) {
+			start = System.nanoTime();
+			for (int i = 0; i < lookups; i++) {
+				sink += grid.getLocationByCoordinates(xs[i], ys[i]).getEmptySymbol();
+			}
+			flatLookup = Math.min(flatLookup, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (int i = 0; i < lookups; i++) {
+				sink += rows.get(ys[i]).get(xs[i]).getEmptySymbol();
+			}
+			listLookup = Math.min(listLookup, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					sink += grid.getLocationByCoordinates(x, y).getEmptySymbol();
+				}
+			}
+			flatScan = Math.min(flatScan, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					sink += rows.get(y).get(x).getEmptySymbol();
+				}
+			}
+			listScan = Math.min(listScan, System.nanoTime() - start);
+		}
+
+		System.out.println("Random lookups (" + lookups + "):");
+		System.out.println("\tflat array      " + millis(flatLookup) + " ms (" + nanosPer(flatLookup, lookups) + " ns/lookup)");
+		System.out.println("\tList of Lists   " + millis(listLookup) + " ms (" + nanosPer(listLookup, lookups) + " ns/lookup)");
+		System.out.println("Full scans (" + size * size + " cells):");
+		System.out.println("\tflat array      " + millis(flatScan) + " ms");
+		System.out.println("\tList of Lists   " + millis(listScan) + " ms");
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Converts a duration in nanoseconds to milliseconds, for display.
+	 *
+	 * @param 	nanos the duration in nanoseconds
+	 * @return 	the duration in milliseconds
+	 */
+	private static double millis(long nanos) {
+		return nanos / 1000000.0;
+	}
+
+	/**
+	 * Returns the average duration of one operation, for display.
+	 *
+	 * @param 	nanos the total duration in nanoseconds
+	 * @param 	count the number of operations
+	 * @return 	the duration of one operation in nanoseconds
+	 */
+	private static double nanosPer(long nanos, int count) {
+		return (double) nanos / count;
+	}
+}
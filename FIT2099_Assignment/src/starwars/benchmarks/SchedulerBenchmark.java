@@ -0,0 +1,96 @@
+package starwars.benchmarks;
+
+import java.util.Random;
+
+import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.matter.Actor;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import edu.monash.fit2099.simulator.time.Scheduler.QueueType;
+import starwars.SWWorld;
+
+/**
+ * Driver class that measures how fast a <code>Scheduler</code> gets through <code>Events</code> with each kind of queue.
+ * Contains nothing but a main() and the helpers it needs.
+ * <p>
+ * A number of <code>Actions</code> are scheduled, and each one schedules itself again a few ticks later whenever it is
+ * executed, the way <code>Actors</code> keep scheduling their next move. The time taken to run a number of ticks is
+ * reported for each <code>QueueType</code>.
+ * <p>
+ * Usage: <code>java starwars.benchmarks.SchedulerBenchmark [events] [ticks] [queue type]</code>. The default is 100000 
+ * events for 500 ticks, with each kind of queue. Each kind is best measured in a JVM of its own, as the JIT compiles 
+ * the <code>Scheduler</code> for whichever kind of queue runs first.
+ */
+public class SchedulerBenchmark {
+
+	/**Number of times each measurement is repeated. The fastest repetition is reported*/
+	private static final int REPETITIONS = 3;
+
+	/**
+	 * An <code>Action</code> that schedules itself again, one to four ticks after it is executed.
+	 */
+	private static class Repeat implements ActionInterface {
+
+		/**The <code>Scheduler</code> to schedule with*/
+		private final Scheduler scheduler;
+
+		/**Where the delays come from*/
+		private final Random random;
+
+		/**Number of times this has been executed, summed over all the Repeats*/
+		private static long executed;
+
+		private Repeat(Scheduler scheduler, Random random) {
+			this.scheduler = scheduler;
+			this.random = random;
+		}
+
+		@Override
+		public int getDuration() {
+			return 1;
+		}
+
+		@Override
+		public void execute(Actor<?> actor) {
+			executed++;
+			scheduler.schedule(this, null, 1 + random.nextInt(4));
+		}
+
+		@Override
+		public String getDescription() {
+			return "repeat";
+		}
+
+		@Override
+		public int getPriority() {
+			return 0;
+		}
+	}
+
+	public static void main(String args[]) {
+		final int events = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+		SWWorld world = new SWWorld(); //no entities, so ticking the world costs nothing
+
+		QueueType[] types = args.length > 2 ? new QueueType[] {QueueType.valueOf(args[2])} : QueueType.values();
+		for (QueueType type : types) {
+			long best = Long.MAX_VALUE;
+			for (int r = 0; r < REPETITIONS; r++) {
+				Scheduler scheduler = new Scheduler(1, world, type);
+				Random random = new Random(2099); //the same Events for each kind of queue
+				for (int i = 0; i < events; i++) {
+					scheduler.schedule(new Repeat(scheduler, random), null, random.nextInt(4));
+				}
+
+				Repeat.executed = 0;
+				long start = System.nanoTime();
+				for (int t = 0; t < ticks; t++) {
+					scheduler.tick();
+				}
+				best = Math.min(best, System.nanoTime() - start);
+			}
+			System.out.println(type + ": " + best / 1000000 + " ms for " + ticks + " ticks, "
+					+ (best / Math.max(1, Repeat.executed)) + " ns/event (" + Repeat.executed + " events)");
+		}
+	}
+}
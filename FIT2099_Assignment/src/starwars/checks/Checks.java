@@ -0,0 +1,122 @@
+package starwars.checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+import edu.monash.fit2099.simulator.matter.EntityManager;
+import starwars.SWEntityInterface;
+import starwars.SWLocation;
+import starwars.SWMapFile;
+import starwars.SWWorld;
+
+/**
+ * Helpers shared by the driver classes of this package: failing a check, comparing two runs, writing the map a check
+ * is run on, and describing the state of a <code>SWWorld</code> at the end of a run.
+ */
+class Checks {
+
+	private Checks() {
+	}
+
+	/**
+	 * Fails the check if <code>condition</code> doesn't hold. Doesn't depend on assertions being enabled.
+	 *
+	 * @param 	condition what should hold
+	 * @param 	what what is wrong if it doesn't
+	 * @throws 	AssertionError if <code>condition</code> is false
+	 */
+	static void check(boolean condition, String what) {
+		if (!condition) {
+			throw new AssertionError(what);
+		}
+	}
+
+	/**
+	 * Compares what happened in a run with what happened in the run it should be the same as, line by line.
+	 *
+	 * @param 	expected what should have happened
+	 * @param 	run what happened in the run
+	 * @param 	how what was done differently in the run
+	 * @throws 	AssertionError if they differ
+	 */
+	static void compare(List<String> expected, List<String> run, String how) {
+		for (int i = 0; i < Math.min(expected.size(), run.size()); i++) {
+			check(expected.get(i).equals(run.get(i)), "with " + how + ", line " + i + " differs:\n\t" + expected.get(i)
+					+ "\n\t" + run.get(i));
+		}
+		check(expected.size() == run.size(), "with " + how + ", there were " + run.size() + " lines, not "
+				+ expected.size());
+	}
+
+	/**
+	 * Writes a square map of nothing but desert, with <code>SWEntities</code> in it.
+	 *
+	 * @param 	file the file to write the map to
+	 * @param 	size the width and height of the map
+	 * @param 	entities the lines of the entities section, which is left out if there are none
+	 * @throws 	IOException if the file can't be written
+	 */
+	static void writeDesertMap(File file, int size, List<String> entities) throws IOException {
+		writeMap(file, size, Collections.<String>emptyList(), (x, y) -> SWMapFile.DESERT, entities);
+	}
+
+	/**
+	 * Writes a square map.
+	 *
+	 * @param 	file the file to write the map to
+	 * @param 	size the width and height of the map
+	 * @param 	legend the lines of the legend section, which is left out if there are none
+	 * @param 	symbolAt gives the symbol of the map at (x, y)
+	 * @param 	entities the lines of the entities section, which is left out if there are none
+	 * @throws 	IOException if the file can't be written
+	 * @see 	SWMapFile
+	 */
+	static void writeMap(File file, int size, List<String> legend, IntBinaryOperator symbolAt, List<String> entities)
+			throws IOException {
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			out.println("size " + size + " " + size);
+			if (!legend.isEmpty()) {
+				out.println("legend");
+				legend.forEach(out::println);
+			}
+			out.println("map");
+			StringBuilder row = new StringBuilder(size);
+			for (int y = 0; y < size; y++) {
+				row.setLength(0);
+				for (int x = 0; x < size; x++) {
+					row.append((char) symbolAt.applyAsInt(x, y));
+				}
+				out.println(row);
+			}
+			if (!entities.isEmpty()) {
+				out.println("entities");
+				entities.forEach(out::println);
+			}
+		}
+	}
+
+	/**
+	 * Adds the state of each <code>SWEntity</code> on the grid of <code>world</code>, in order of their ids, to what
+	 * happened in a run: where it is and how many hitpoints it has.
+	 *
+	 * @param 	world the world that was run
+	 * @param 	lines what happened in the run, which the state is added to
+	 */
+	static void addState(SWWorld world, List<String> lines) {
+		EntityManager<SWEntityInterface, SWLocation> entityManager = world.getEntityManager();
+		List<SWEntityInterface> entities = entityManager.inRect(0, 0, world.getGrid().getWidth() - 1,
+				world.getGrid().getHeight() - 1);
+		entities.sort(Comparator.comparingInt(SWEntityInterface::getId));
+		for (SWEntityInterface e : entities) {
+			SWLocation loc = entityManager.whereIs(e);
+			lines.add(e.getId() + " " + e.getShortDescription() + " at (" + loc.getX() + ", " + loc.getY() + ") with "
+					+ e.getHitpoints() + " hitpoints");
+		}
+	}
+}
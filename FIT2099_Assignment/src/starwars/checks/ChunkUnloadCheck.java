@@ -0,0 +1,154 @@
+package starwars.checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.userInterface.NullMessageRenderer;
+import starwars.SWEntityInterface;
+import starwars.SWGrid;
+import starwars.SWLocation;
+import starwars.SWMapFile;
+import starwars.SWRegion;
+import starwars.SWWorld;
+import starwars.swinterfaces.TextFrame;
+
+/**
+ * Driver class that checks that the chunks of the grid that a <code>SWWorld</code> unloads come back as they were.
+ * Contains nothing but a main() and the helpers it needs.
+ * <p>
+ * A map is made with regions in chunks far from its <code>SWEntities</code>, so that those chunks are unloaded. A
+ * <code>TextFrame</code> of the whole grid must be drawn the same before and after the chunks are unloaded, and drawing
+ * it must leave them unloaded. The symbols, descriptions and <code>SWRegion</code> of every <code>SWLocation</code> that
+ * had been made are compared before the chunks are unloaded and after they have been reloaded. The
+ * <code>SWRegions</code> must be the same objects, not copies of them.
+ * <p>
+ * Usage: <code>java starwars.checks.ChunkUnloadCheck</code>. Exits with an <code>AssertionError</code> if anything
+ * differs.
+ */
+public class ChunkUnloadCheck {
+
+	/**The width and height of the map, which is several chunks across*/
+	private static final int SIZE = 3 * Grid.CHUNK_SIZE + 8;
+
+	public static void main(String args[]) throws IOException {
+		File dir = Files.createTempDirectory("chunks").toFile();
+		File mapFile = new File(dir, "unload.map");
+		writeMap(mapFile);
+
+		SWWorld world = new SWWorld(SWMapFile.load(mapFile));
+		world.initializeWorld(new NullMessageRenderer());
+		SWGrid grid = world.getGrid();
+
+		//what every SWLocation that has been made looks like before anything is unloaded
+		SWLocation[] before = new SWLocation[SIZE * SIZE];
+		char[] symbols = new char[SIZE * SIZE];
+		char[] emptySymbols = new char[SIZE * SIZE];
+		String[] shortDescriptions = new String[SIZE * SIZE];
+		String[] longDescriptions = new String[SIZE * SIZE];
+		SWRegion[] regions = new SWRegion[SIZE * SIZE];
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				SWLocation loc = grid.peekLocationByCoordinates(x, y);
+				int i = y * SIZE + x;
+				before[i] = loc;
+				if (loc != null) {
+					symbols[i] = loc.getSymbol();
+					emptySymbols[i] = loc.getEmptySymbol();
+					shortDescriptions[i] = loc.getShortDescription();
+					longDescriptions[i] = loc.getLongDescription();
+					regions[i] = loc.getRegion();
+				}
+			}
+		}
+		String frameBefore = draw(grid);
+
+		world.setChunkStore(dir);
+		int unloaded = world.unloadIdleChunks();
+		Checks.check(unloaded > 0, "no chunks were unloaded");
+		System.out.println("Unloaded " + unloaded + " of " + grid.getChunkCount() + " chunks");
+
+		boolean[] wasUnloaded = new boolean[grid.getChunkCount()];
+		for (int chunk = 0; chunk < grid.getChunkCount(); chunk++) {
+			wasUnloaded[chunk] = grid.isChunkUnloaded(chunk);
+		}
+		String frameAfter = draw(grid);
+		Checks.check(frameBefore.equals(frameAfter), "the map is drawn differently after unloading");
+		for (int chunk = 0; chunk < grid.getChunkCount(); chunk++) {
+			Checks.check(grid.isChunkUnloaded(chunk) == wasUnloaded[chunk], "drawing the map reloaded chunk " + chunk);
+		}
+
+		int compared = 0;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				int i = y * SIZE + x;
+				if (before[i] == null) {
+					Checks.check(grid.peekLocationByCoordinates(x, y) == null, "(" + x + ", " + y + ") was made by unloading");
+					continue;
+				}
+				SWLocation loc = grid.getLocationByCoordinates(x, y);
+				Checks.check(loc.getSymbol() == symbols[i], "symbol of (" + x + ", " + y + ")");
+				Checks.check(loc.getEmptySymbol() == emptySymbols[i], "empty symbol of (" + x + ", " + y + ")");
+				Checks.check(loc.getShortDescription().equals(shortDescriptions[i]), "short description of (" + x + ", " + y + ")");
+				Checks.check(loc.getLongDescription().equals(longDescriptions[i]), "long description of (" + x + ", " + y + ")");
+				Checks.check(loc.getRegion() == regions[i], "region of (" + x + ", " + y + ") is a copy");
+				compared++;
+			}
+		}
+		for (int chunk = 0; chunk < grid.getChunkCount(); chunk++) {
+			Checks.check(!grid.isChunkUnloaded(chunk), "chunk " + chunk + " was not reloaded");
+		}
+		System.out.println("Compared " + compared + " locations: OK");
+
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Writes a map with two regions far from the origin and a few <code>SWEntities</code> near it.
+	 *
+	 * @param 	file the file to write the map to
+	 * @throws 	IOException if the file can't be written
+	 */
+	private static void writeMap(File file) throws IOException {
+		Checks.writeMap(file, SIZE, Arrays.asList("b , Badlands ({x}, {y})", "C = Beggar's Canyon ({x}, {y})"), (x, y) -> {
+			if (x >= 2 * Grid.CHUNK_SIZE && y >= Grid.CHUNK_SIZE && (x + y) % 5 == 0) {
+				return 'b';
+			}
+			else if (y >= 2 * Grid.CHUNK_SIZE && x < 2 * Grid.CHUNK_SIZE && x % 7 == 3) {
+				return 'C';
+			}
+			else {
+				return SWMapFile.DESERT;
+			}
+		}, Arrays.asList("tusken 2 2 Tim 10", "reservoir 4 3"));
+	}
+
+	/**
+	 * Draws every <code>SWLocation</code> of <code>grid</code> that has been made, with nothing in it, as the Views do:
+	 * an unloaded <code>SWLocation</code> is drawn from its stand-in.
+	 *
+	 * @param 	grid the grid to draw
+	 * @return 	the text of the frame
+	 */
+	private static String draw(SWGrid grid) {
+		TextFrame frame = new TextFrame(grid.getWidth(), grid.getHeight(), "");
+		for (int y = 0; y < grid.getHeight(); y++) {
+			for (int x = 0; x < grid.getWidth(); x++) {
+				SWLocation loc = grid.peekLocationByCoordinates(x, y);
+				if (loc == null) {
+					loc = grid.getStandIn(x, y);
+				}
+				if (loc != null) {
+					frame.drawLocation(x, y, loc, Collections.<SWEntityInterface>emptyList());
+				}
+			}
+		}
+		return frame.toString();
+	}
+}
@@ -0,0 +1,180 @@
+package starwars.checks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.matter.Actor;
+import edu.monash.fit2099.simulator.time.EventHandle;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import edu.monash.fit2099.simulator.time.Scheduler.QueueType;
+import starwars.SWWorld;
+
+/**
+ * Driver class that checks that a <code>Scheduler</code> that keeps its <code>Events</code> in a timing wheel executes
+ * them in the same order, and at the same times, as one that keeps them in a binary heap. Contains nothing but a main()
+ * and the helpers it needs.
+ * <p>
+ * The same random <code>Events</code> are scheduled with both, in empty worlds, with delays that reach the outer wheel
+ * and the overflow heap, while time moves on past several multiples of 2^8 and 2^16, sometimes one tick at a time and
+ * sometimes in jumps with <code>runUntil</code>, which skips straight to the time of the next <code>Event</code>. Some
+ * <code>Events</code> schedule more as they are executed, some of them due in the same tick, some are cancelled, and
+ * now and then so many are cancelled that the queues are purged. After every step, the <code>Events</code> executed,
+ * and the time they were executed at, must be the same.
+ * <p>
+ * Usage: <code>java starwars.checks.EventQueueCheck [seed] [end time]</code>. Exits with an
+ * <code>AssertionError</code> if the <code>Schedulers</code> differ.
+ */
+public class EventQueueCheck {
+
+	/**
+	 * A <code>Scheduler</code>, and what it has executed since the last step.
+	 */
+	private static class Run {
+
+		private final Scheduler scheduler;
+
+		/**For the <code>Events</code> that executed <code>Events</code> schedule*/
+		private final Random random;
+
+		/**The <code>Events</code> executed since the last step, and when*/
+		private final List<String> executed = new ArrayList<String>();
+
+		/**The <code>Events</code> scheduled so far that may still be pending, to cancel some of*/
+		private final List<EventHandle> offered = new ArrayList<EventHandle>();
+
+		/**The number of <code>Events</code> scheduled so far*/
+		private int sequence;
+
+		private Run(QueueType queueType, long seed) {
+			scheduler = new Scheduler(1, new SWWorld(), queueType); //nothing in the world, so it is always idle
+			random = new Random(seed);
+		}
+
+		/**
+		 * Schedules a new <code>Event</code>.
+		 *
+		 * @param 	duration the delay of the <code>Event</code>
+		 * @param 	priority the priority of its <code>Action</code>
+		 */
+		private void offer(int duration, int priority) {
+			offered.add(scheduler.schedule(new Noted(sequence++, priority, this), null, duration));
+		}
+	}
+
+	/**
+	 * <code>Action</code> that notes down that it has been executed, and now and then schedules another.
+	 */
+	private static class Noted implements ActionInterface {
+
+		private final int id;
+
+		private final int priority;
+
+		private final Run run;
+
+		private Noted(int id, int priority, Run run) {
+			this.id = id;
+			this.priority = priority;
+			this.run = run;
+		}
+
+		@Override
+		public int getDuration() {
+			return 0;
+		}
+
+		@Override
+		public void execute(Actor<?> actor) {
+			run.executed.add(id + " at " + run.scheduler.getTime());
+			if (run.random.nextInt(4) == 0) { //some of them due in the same tick
+				run.offer(run.random.nextInt(3), run.random.nextInt(3));
+			}
+		}
+
+		@Override
+		public String getDescription() {
+			return "note " + id;
+		}
+
+		@Override
+		public int getPriority() {
+			return priority;
+		}
+	}
+
+	public static void main(String args[]) {
+		final long seed = args.length > 0 ? Long.parseLong(args[0]) : 2099;
+		final int end = args.length > 1 ? Integer.parseInt(args[1]) : 3 * (1 << 16) + 1000;
+
+		Random random = new Random(seed);
+		Run heap = new Run(QueueType.PRIORITY_QUEUE, seed);
+		Run wheel = new Run(QueueType.TIMING_WHEEL, seed);
+		long executed = 0;
+		int jumps = 0;
+		int massCancels = 0;
+
+		while (heap.scheduler.getTime() < end) {
+			// schedule Events due later, reaching the inner wheel, the outer wheel and the overflow heap
+			int n = random.nextInt(6);
+			for (int i = 0; i < n; i++) {
+				int delay;
+				switch (random.nextInt(8)) {
+				case 0:
+					delay = 1 + random.nextInt(1 << 16);
+					break;
+				case 1:
+					delay = 1 + random.nextInt(1 << 18);
+					break;
+				default:
+					delay = 1 + random.nextInt(1 << 8);
+				}
+				int priority = random.nextInt(3);
+				heap.offer(delay, priority);
+				wheel.offer(delay, priority);
+			}
+
+			// cancel a few, and now and then so many that the queues are purged
+			Checks.check(heap.offered.size() == wheel.offered.size(), "Events scheduled by " + heap.scheduler.getTime());
+			if (!heap.offered.isEmpty() && random.nextInt(3) == 0) {
+				int i = random.nextInt(heap.offered.size());
+				heap.offered.get(i).cancel();
+				wheel.offered.get(i).cancel();
+			}
+			if (random.nextInt(1000) == 0) {
+				for (int i = 0; i < heap.offered.size(); i++) {
+					if (random.nextInt(4) != 0) {
+						heap.offered.get(i).cancel();
+						wheel.offered.get(i).cancel();
+					}
+				}
+				massCancels++;
+			}
+			if (heap.offered.size() > 20000) {
+				heap.offered.subList(0, 10000).clear();
+				wheel.offered.subList(0, 10000).clear();
+			}
+
+			// one tick, or a jump over the ticks before the next Event
+			if (random.nextInt(50) == 0) {
+				int until = heap.scheduler.getTime() + 1 + random.nextInt(3000);
+				heap.scheduler.runUntil(until);
+				wheel.scheduler.runUntil(until);
+				jumps++;
+			}
+			else {
+				heap.scheduler.tick();
+				wheel.scheduler.tick();
+			}
+			Checks.check(heap.scheduler.getTime() == wheel.scheduler.getTime(), "time after " + wheel.scheduler.getTime());
+			Checks.compare(heap.executed, wheel.executed, "a timing wheel, by time " + heap.scheduler.getTime());
+			executed += heap.executed.size();
+			heap.executed.clear();
+			wheel.executed.clear();
+		}
+
+		System.out.println("Scheduled " + heap.sequence + " and executed " + executed + " Events up to time " + end
+				+ ", with " + jumps + " jumps and " + massCancels + " mass cancellations: OK");
+	}
+}
@@ -0,0 +1,127 @@
+package starwars.checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import starwars.BatchApplication;
+import starwars.SWMapFile;
+import starwars.SWWorld;
+
+/**
+ * Driver class that checks that skipping the ticks in which nothing would happen leaves a seeded <code>SWWorld</code>
+ * in the same state as ticking through them. Contains nothing but a main() and the helpers it needs.
+ * <p>
+ * The world has nothing in it but a few Sleepers, which wait a long time between their moves, so that with parking on
+ * it is often idle. It is run
+ * <ul>
+ * 	<li>by ticking it, without parking</li>
+ * 	<li>by <code>Scheduler.runUntil</code>, with parking</li>
+ * 	<li>by <code>Scheduler.advanceToNextEvent</code>, with parking, until that time has passed</li>
+ * </ul>
+ * and the messages said, the time, and where each <code>SWEntity</code> ends up must be the same as when it is ticked
+ * for as long. <code>advanceToNextEvent</code> must have been called far fewer times than there were ticks.
+ * <p>
+ * Usage: <code>java starwars.checks.FastForwardCheck [ticks] [seed]</code>. Exits with an <code>AssertionError</code>
+ * if the runs differ.
+ */
+public class FastForwardCheck {
+
+	/**The width and height of the map*/
+	private static final int SIZE = Grid.CHUNK_SIZE;
+
+	/**The number of Sleepers*/
+	private static final int SLEEPERS = 8;
+
+	/**The longest delay of the move of a Sleeper*/
+	private static final int MAX_DELAY = 1000;
+
+	public static void main(String args[]) throws IOException {
+		final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 2099;
+
+		File mapFile = Files.createTempFile("fastforward", ".map").toFile();
+		try {
+			Checks.writeDesertMap(mapFile, SIZE, Collections.<String>emptyList());
+
+			List<String> ticked = new ArrayList<String>();
+			SWWorld world = setUp(mapFile, seed, ticked, false);
+			for (int t = 0; t < ticks; t++) {
+				world.getScheduler().tick();
+			}
+			describe(world, ticked);
+
+			List<String> run = new ArrayList<String>();
+			world = setUp(mapFile, seed, run, true);
+			world.getScheduler().runUntil(ticks);
+			describe(world, run);
+			Checks.compare(ticked, run, "runUntil");
+
+			List<String> advanced = new ArrayList<String>();
+			world = setUp(mapFile, seed, advanced, true);
+			Scheduler scheduler = world.getScheduler();
+			int calls = 0;
+			while (scheduler.getTime() < ticks) {
+				Checks.check(scheduler.advanceToNextEvent(), "advanceToNextEvent found nothing left to happen");
+				calls++;
+			}
+			Checks.check(calls < ticks / 10, "advanceToNextEvent was called " + calls + " times in " + scheduler.getTime()
+					+ " ticks");
+			describe(world, advanced);
+
+			// it stops after the tick of the next Event, which may be past the end
+			List<String> tickedAsLong = new ArrayList<String>();
+			world = setUp(mapFile, seed, tickedAsLong, false);
+			while (world.getScheduler().getTime() < scheduler.getTime()) {
+				world.getScheduler().tick();
+			}
+			describe(world, tickedAsLong);
+			Checks.compare(tickedAsLong, advanced, "advanceToNextEvent");
+
+			System.out.println(ticks + " ticks, " + ticked.size() + " lines of messages and state; " + calls
+					+ " calls to advanceToNextEvent: OK");
+		}
+		finally {
+			mapFile.delete();
+		}
+	}
+
+	/**
+	 * Sets up the world of <code>mapFile</code>, with Sleepers added to it.
+	 *
+	 * @param 	mapFile the map file
+	 * @param 	seed the seed of the world
+	 * @param 	lines where to put the messages said
+	 * @param 	park whether to park waiting <code>Actors</code>
+	 * @return 	the world, with its <code>Scheduler</code>
+	 * @throws 	IOException if the map file can't be read
+	 */
+	private static SWWorld setUp(File mapFile, long seed, List<String> lines, boolean park) throws IOException {
+		SWWorld world = new SWWorld(SWMapFile.load(mapFile));
+		Scheduler scheduler = BatchApplication.setUpHeadless(world, seed, null, lines::add);
+		for (int i = 0; i < SLEEPERS; i++) {
+			world.getEntityManager().setLocation(new Sleeper("Sleeper" + i, MAX_DELAY, lines::add, world),
+					world.getGrid().getLocationByCoordinates(8 + i * 6, 8 + i * 6));
+		}
+		if (park) {
+			world.getEntityManager().setParking(scheduler);
+		}
+		return world;
+	}
+
+	/**
+	 * Adds the time, and the state of each <code>SWEntity</code>, to what happened in a run.
+	 *
+	 * @param 	world the world that was run
+	 * @param 	lines the messages said in the run, which the state is added to
+	 */
+	private static void describe(SWWorld world, List<String> lines) {
+		lines.add("time " + world.getScheduler().getTime());
+		Checks.addState(world, lines);
+	}
+}
@@ -0,0 +1,206 @@
+package starwars.checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
+import starwars.BatchApplication;
+import starwars.SWAction;
+import starwars.SWActor;
+import starwars.SWMapFile;
+import starwars.SWWorld;
+import starwars.Team;
+
+/**
+ * Driver class that checks that ticking a seeded <code>SWWorld</code> in parallel leaves it in the same state as 
+ * ticking it one <code>SWEntity</code> and one <code>Event</code> at a time. Contains nothing but a main() and the 
+ * helpers it needs.
+ * <p>
+ * A map several chunks across is made, with Tusken Raiders and <code>Players</code> bunched up on the borders between
+ * chunks so that they move, fight and pick things up across them. Shouters among them now and then shout, which sets 
+ * off more shouts in the same tick: some that take no time, some of a higher priority, both of which are due before the 
+ * rest of the <code>Events</code> of the tick, and some of a lower priority. It is run for the same number of ticks 
+ * with the same seed,
+ * <ul>
+ * 	<li>one at a time</li>
+ * 	<li>with the <code>Scheduler</code> in parallel mode</li>
+ * 	<li>with the <code>EntityManager</code> ticking in two phases, the <code>SWActors</code> deciding in parallel</li>
+ * 	<li>with both</li>
+ * </ul>
+ * on a pool of several threads. The messages said, the number of <code>Events</code> executed, and where each 
+ * <code>SWEntity</code> ends up and how many hitpoints it has, must be the same each time.
+ * <p>
+ * Usage: <code>java starwars.checks.ParallelTickCheck [ticks] [seed] [threads]</code>. Exits with an 
+ * <code>AssertionError</code> if the runs differ.
+ */
+public class ParallelTickCheck {
+
+	/**The width and height of the map, which is several chunks across*/
+	private static final int SIZE = 3 * Grid.CHUNK_SIZE;
+
+	/**
+	 * <code>SWActor</code> that now and then shouts.
+	 */
+	private static class Shouter extends SWActor {
+
+		private final String name;
+
+		private Shouter(String name, MessageRenderer m, SWWorld world) {
+			super(Team.NEUTRAL, 1000000, m, world); //so the Tusken Raiders don't kill it
+			this.name = name;
+		}
+
+		@Override
+		public void act() {
+			if (getRandom().nextInt(4) == 0) {
+				getScheduler().schedule(new Shout(2, 0, messageRenderer), this, 1);
+			}
+		}
+
+		@Override
+		public String getShortDescription() {
+			return name + " the Shouter";
+		}
+
+		@Override
+		public String getLongDescription() {
+			return getShortDescription();
+		}
+	}
+
+	/**
+	 * <code>SWAction</code> of shouting, which sets off more shouts in the same tick until it has no echoes left: one 
+	 * that takes no time, one of a higher priority and one of a lower priority.
+	 */
+	private static class Shout extends SWAction {
+
+		/**The number of times the shout sets off more*/
+		private final int echoes;
+
+		private Shout(int echoes, int priority, MessageRenderer m) {
+			super(m);
+			this.echoes = echoes;
+			this.priority = priority;
+		}
+
+		@Override
+		public void act(SWActor a) {
+			a.say(Level.INFO, "{} shouts {}", a, echoes + " at priority " + priority);
+			if (echoes > 0) {
+				Scheduler scheduler = a.getWorld().getScheduler();
+				scheduler.schedule(new Shout(echoes - 1, priority, messageRenderer), a, 0);
+				scheduler.schedule(new Shout(echoes - 1, priority + 1, messageRenderer), a, 1);
+				scheduler.schedule(new Shout(echoes - 1, priority - 1, messageRenderer), a, 1);
+			}
+		}
+
+		@Override
+		public boolean canDo(SWActor a) {
+			return true;
+		}
+
+		@Override
+		public int getDuration() {
+			return 1;
+		}
+
+		@Override
+		public String getDescription() {
+			return "shout";
+		}
+	}
+
+	public static void main(String args[]) throws IOException {
+		final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 2099;
+		final int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+		File mapFile = Files.createTempFile("parallel", ".map").toFile();
+		try {
+			writeMap(mapFile);
+			List<String> serial = run(mapFile, ticks, seed, null, null);
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			Checks.compare(serial, run(mapFile, ticks, seed, pool, null), "parallel Events");
+			Checks.compare(serial, run(mapFile, ticks, seed, null, pool), "two-phase ticks");
+			Checks.compare(serial, run(mapFile, ticks, seed, pool, pool), "parallel Events and two-phase ticks");
+			pool.shutdown();
+			System.out.println(ticks + " ticks, " + serial.size() + " lines of messages and state each time: OK");
+		}
+		finally {
+			mapFile.delete();
+		}
+	}
+
+	/**
+	 * Runs the world of <code>mapFile</code> and describes what happened.
+	 *
+	 * @param 	mapFile the map file
+	 * @param 	ticks the number of ticks to run for
+	 * @param 	seed the seed of the world
+	 * @param 	eventPool the pool to execute <code>Events</code> on in parallel mode, or null to execute them one at a 
+	 * 			time
+	 * @param 	decisionPool the pool for <code>SWActors</code> to decide on in two-phase ticks, or null to tick them one 
+	 * 			at a time
+	 * @return 	the messages said, followed by the number of <code>Events</code> executed and the state of each 
+	 * 			<code>SWEntity</code> at the end
+	 * @throws 	IOException if the map file can't be read
+	 */
+	private static List<String> run(File mapFile, int ticks, long seed, ForkJoinPool eventPool, 
+			ForkJoinPool decisionPool) throws IOException {
+		final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+		SWWorld world = new SWWorld(SWMapFile.load(mapFile));
+		Scheduler scheduler = BatchApplication.setUpHeadless(world, seed, null, lines::add);
+		int n = 0;
+		for (int border = Grid.CHUNK_SIZE; border < SIZE; border += Grid.CHUNK_SIZE) {
+			for (int along = 4; along < SIZE; along += 24) {
+				world.getEntityManager().setLocation(new Shouter("Shouter" + n++, lines::add, world), 
+						world.getGrid().getLocationByCoordinates(border + 1, along + 1));
+			}
+		}
+		if (eventPool != null) {
+			scheduler.setParallel(world.getEventPartitioner(), eventPool);
+		}
+		world.getEntityManager().setParallel(decisionPool);
+		for (int t = 0; t < ticks; t++) {
+			scheduler.tick();
+		}
+
+		List<String> state = new ArrayList<String>(lines);
+		state.add(scheduler.getExecutedEvents() + " events");
+		Checks.addState(world, state);
+		return state;
+	}
+
+	/**
+	 * Writes a map with Tusken Raiders, <code>Players</code> and things to pick up bunched up on the borders between
+	 * chunks.
+	 *
+	 * @param 	file the file to write the map to
+	 * @throws 	IOException if the file can't be written
+	 */
+	private static void writeMap(File file) throws IOException {
+		List<String> entities = new ArrayList<String>();
+		int n = 0;
+		for (int border = Grid.CHUNK_SIZE; border < SIZE; border += Grid.CHUNK_SIZE) {
+			for (int along = 4; along < SIZE; along += 12) {
+				for (int across = -2; across < 2; across++) {
+					// on either side of a border between columns of chunks, and of one between rows of chunks
+					entities.add("tusken " + (border + across) + " " + along + " Tusken" + n++ + " 20");
+					entities.add("tusken " + along + " " + (border + across) + " Tusken" + n++ + " 20");
+				}
+				entities.add("player " + (border - 1) + " " + (along + 3) + " Player" + n++ + " 1000000"); //so they don't die and run out of commands
+				entities.add("blaster " + border + " " + (along + 5));
+				entities.add("canteen " + (along + 5) + " " + border + " 10 5");
+			}
+		}
+		Checks.writeDesertMap(file, SIZE, entities);
+	}
+}
@@ -0,0 +1,110 @@
+package starwars.checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.matter.EntityManager;
+import edu.monash.fit2099.simulator.time.Scheduler;
+import starwars.BatchApplication;
+import starwars.SWEntityInterface;
+import starwars.SWLocation;
+import starwars.SWMapFile;
+import starwars.SWWorld;
+
+/**
+ * Driver class that checks that parked <code>Actors</code> are woken up in time to act on the same ticks as they would
+ * have without parking. Contains nothing but a main() and the helpers it needs.
+ * <p>
+ * The <code>Actions</code> of the <code>SWActors</code> in the game have no delays, so nothing in it waits. Sleepers
+ * are added that move with a random delay every time they act, some of them longer than the ring of slots for parked
+ * <code>Actors</code> starts out, among Tusken Raiders that attack them while they are parked. The same seeded world is
+ * run with and without parking, and the messages said, and where each <code>SWEntity</code> ends up and how many
+ * hitpoints it has, must be the same. In the run with parking, every Sleeper must have been parked and woken up again.
+ * <p>
+ * Usage: <code>java starwars.checks.ParkingCheck [ticks] [seed]</code>. Exits with an <code>AssertionError</code> if the
+ * runs differ.
+ */
+public class ParkingCheck {
+
+	/**The width and height of the map*/
+	private static final int SIZE = Grid.CHUNK_SIZE;
+
+	/**The longest delay of the move of a Sleeper*/
+	private static final int MAX_DELAY = 150;
+
+	public static void main(String args[]) throws IOException {
+		final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 2099;
+
+		File mapFile = Files.createTempFile("parking", ".map").toFile();
+		try {
+			//Tusken Raiders scattered about the map, among where the Sleepers are added
+			List<String> tuskens = new ArrayList<String>();
+			for (int i = 0; i < 10; i++) {
+				tuskens.add("tusken " + (9 + (i % 5) * 10) + " " + (9 + (i / 5) * 20) + " Tusken" + i + " 20");
+			}
+			Checks.writeDesertMap(mapFile, SIZE, tuskens);
+			List<String> ticked = run(mapFile, ticks, seed, false);
+			List<String> parked = run(mapFile, ticks, seed, true);
+			Checks.compare(ticked, parked, "parking");
+			System.out.println(ticks + " ticks, " + ticked.size() + " lines of messages and state each time: OK");
+		}
+		finally {
+			mapFile.delete();
+		}
+	}
+
+	/**
+	 * Runs the world of <code>mapFile</code>, with Sleepers added to it, and describes what happened.
+	 *
+	 * @param 	mapFile the map file
+	 * @param 	ticks the number of ticks to run for
+	 * @param 	seed the seed of the world
+	 * @param 	park whether to park waiting <code>Actors</code>
+	 * @return 	the messages said, followed by the state of each <code>SWEntity</code> at the end
+	 * @throws 	IOException if the map file can't be read
+	 * @throws 	AssertionError if parking is on and a Sleeper wasn't parked and woken up
+	 */
+	private static List<String> run(File mapFile, int ticks, long seed, boolean park) throws IOException {
+		final List<String> lines = new ArrayList<String>();
+		SWWorld world = new SWWorld(SWMapFile.load(mapFile));
+		Scheduler scheduler = BatchApplication.setUpHeadless(world, seed, null, lines::add);
+		EntityManager<SWEntityInterface, SWLocation> entityManager = world.getEntityManager();
+		List<Sleeper> sleepers = new ArrayList<Sleeper>();
+		for (int i = 0; i < 40; i++) {
+			Sleeper s = new Sleeper("Sleeper" + i, MAX_DELAY, lines::add, world);
+			entityManager.setLocation(s, world.getGrid().getLocationByCoordinates(8 + (i % 8) * 6, 8 + (i / 8) * 10));
+			sleepers.add(s);
+		}
+		if (park) {
+			entityManager.setParking(scheduler);
+		}
+
+		boolean[] wasParked = new boolean[sleepers.size()];
+		int[] wakings = new int[sleepers.size()];
+		for (int t = 0; t < ticks; t++) {
+			scheduler.tick();
+			for (int i = 0; i < sleepers.size(); i++) {
+				boolean parked = entityManager.isParked(sleepers.get(i));
+				Checks.check(park || !parked, sleepers.get(i).getShortDescription() + " was parked without parking");
+				if (wasParked[i] && !parked) {
+					wakings[i]++;
+				}
+				wasParked[i] = parked;
+			}
+		}
+		if (park) {
+			for (int i = 0; i < sleepers.size(); i++) {
+				Checks.check(wakings[i] > 0, sleepers.get(i).getShortDescription() + " was never parked and woken up");
+			}
+		}
+
+		List<String> state = new ArrayList<String>(lines);
+		Checks.addState(world, state);
+		return state;
+	}
+}
@@ -0,0 +1,63 @@
+package starwars.checks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.monash.fit2099.gridworld.Grid;
+import edu.monash.fit2099.simulator.space.Direction;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import starwars.SWActor;
+import starwars.SWWorld;
+import starwars.Team;
+import starwars.actions.Move;
+
+/**
+ * <code>SWActor</code> that moves in a random direction, with a random delay, every time it acts, so that it waits
+ * between its moves. The <code>Actions</code> of the <code>SWActors</code> in the game have no delays, so the checks
+ * of parking and of skipping ticks use these instead.
+ */
+class Sleeper extends SWActor {
+
+	private final String name;
+
+	/**The longest delay of its moves*/
+	private final int maxDelay;
+
+	/**
+	 * Constructor for a <code>Sleeper</code> with so many hitpoints that Tusken Raiders don't kill it.
+	 *
+	 * @param 	name the name of the <code>Sleeper</code>
+	 * @param 	maxDelay the longest delay of its moves
+	 * @param 	m the <code>MessageRenderer</code> for its messages
+	 * @param 	world the <code>SWWorld</code> it is in
+	 */
+	Sleeper(String name, int maxDelay, MessageRenderer m, SWWorld world) {
+		super(Team.NEUTRAL, 1000000, m, world);
+		this.name = name;
+		this.maxDelay = maxDelay;
+		setSymbol("z");
+	}
+
+	@Override
+	public void act() {
+		List<Direction> exits = new ArrayList<Direction>();
+		for (Grid.CompassBearing d : Grid.CompassBearing.values()) {
+			if (world.getEntityManager().seesExit(this, d)) {
+				exits.add(d);
+			}
+		}
+		Move move = new Move(exits.get(getRandom().nextInt(exits.size())), messageRenderer, world);
+		move.setDelay(1 + getRandom().nextInt(maxDelay));
+		getScheduler().schedule(move, this, 1);
+	}
+
+	@Override
+	public String getShortDescription() {
+		return name + " the Sleeper";
+	}
+
+	@Override
+	public String getLongDescription() {
+		return getShortDescription();
+	}
+}
@@ -2,6 +2,7 @@ package starwars.entities.actors;
 
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.SWLegend;
 import starwars.SWWorld;
 import starwars.Team;
@@ -18,13 +19,12 @@ import starwars.entities.actors.behaviors.Patrol;
  * who wanders around in a fixed pattern and neatly slices any Actor not on his
  * team with his lightsaber.
  * 
- * Note that you can only create ONE Ben, like all SWLegends.
+ * Note that each SWWorld can only have ONE Ben, like all SWLegends.
  * @author rober_000
  *
  */
 public class BenKenobi extends SWLegend {
 
-	private static BenKenobi ben = null; // yes, it is OK to return the static instance!
 	private Patrol path;
 	private BenKenobi(MessageRenderer m, SWWorld world, Direction [] moves) {
 		super(Team.GOOD, 1000, m, world);
@@ -36,7 +36,7 @@ public class BenKenobi extends SWLegend {
 	}
 
 	public static BenKenobi getBenKenobi(MessageRenderer m, SWWorld world, Direction [] moves) {
-		ben = new BenKenobi(m, world, moves);
+		BenKenobi ben = new BenKenobi(m, world, moves);
 		ben.activate();
 		return ben;
 	}
@@ -48,19 +48,18 @@ public class BenKenobi extends SWLegend {
 			return;
 		}
 		AttackInformation attack;
-		attack = AttackNeighbours.attackLocals(ben,  ben.world, true, true);
+		attack = AttackNeighbours.attackLocals(this, world, true, true);
 		
 		if (attack != null) {
-			say(getShortDescription() + " suddenly looks sprightly and attacks " +
-		attack.entity.getShortDescription());
-			scheduler.schedule(attack.affordance, ben, 1);
+			say(Level.INFO, "{} suddenly looks sprightly and attacks {}", this, attack.entity);
+			getScheduler().schedule(attack.affordance, this, 1);
 		}
 		else {
 			Direction newdirection = path.getNext();
-			say(getShortDescription() + " moves " + newdirection);
+			say(Level.INFO, "{} moves {}", this, newdirection);
 			Move myMove = new Move(newdirection, messageRenderer, world);
 
-			scheduler.schedule(myMove, this, 1);
+			getScheduler().schedule(myMove, this, 1);
 		}
 	}
 
@@ -4,16 +4,20 @@ package starwars.entities.actors;
 import java.util.List;
 
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.SWActor;
 import starwars.SWEntityInterface;
 import starwars.SWLocation;
 import starwars.SWWorld;
 import starwars.Team;
-import starwars.swinterfaces.SWGridController;
+import starwars.entities.actors.behaviors.DecisionMaker;
 
 /**
  * A very minimal <code>SWActor</code> that the user can control.  Its <code>act()</code> method
  * prompts the user to select a command.
+ * <p>
+ * A <code>Player</code> can be handed over to a <code>DecisionMaker</code> instead, e.g. to run without anyone at the
+ * keyboard.
  * 
  * @author ram
  */
@@ -21,8 +25,14 @@ import starwars.swinterfaces.SWGridController;
  * Change log
  * 2017/02/22	Schedule actions in the act method instead of tick. 
  * 				A controller used to get user input rather than the UI directly (Asel)
+ * 2026-10-18	Can be controlled by a DecisionMaker instead of the user
+ * 2026-10-18	The user is asked through whatever asks the user of the Player's own world
+ * 2026-10-18	The scene is only described if messages of its Level are displayed
  */
 public class Player extends SWActor {
+	
+	/**What chooses the commands of this <code>Player</code>, or null if the user does*/
+	private DecisionMaker decisionMaker;
 
 	/**
 	 * Constructor for the <code>Player</code> class. This constructor will,
@@ -45,19 +55,41 @@ public class Player extends SWActor {
 		humanControlled = true; // this feels like a hack. Surely this should be dynamic
 	}
 	
+	/**
+	 * Hands this <code>Player</code> over to a <code>DecisionMaker</code>, or back to the user. A <code>Player</code> 
+	 * controlled by a <code>DecisionMaker</code> isn't human controlled.
+	 * 
+	 * @param 	decisionMaker what is to choose the commands of this <code>Player</code>, or null for the user
+	 * @see 	#isHumanControlled()
+	 */
+	public void setDecisionMaker(DecisionMaker decisionMaker) {
+		this.decisionMaker = decisionMaker;
+		humanControlled = decisionMaker == null;
+	}
+	
 	/**
 	 * This method will describe this <code>Player</code>'s scene and prompt for user input through the controller 
-	 * to schedule the command.
+	 * of its world to schedule the command.
+	 * <p>
+	 * If this <code>Player</code> has a <code>DecisionMaker</code>, it chooses the command instead, and the scene isn't 
+	 * described as there is no one to read it.
 	 * <p>
 	 * This method will only be called if this <code>Player</code> is alive and is not waiting.
 	 * 
 	 * @see {@link #describeScene()}
 	 * @see {@link starwars.swinterfaces.SWGridController}
+	 * @see {@link SWWorld#getUserDecisionMaker()}
+	 * @see {@link #setDecisionMaker(DecisionMaker)}
 	 */
 	@Override
 	public void act() {	
+		if (decisionMaker != null) {
+			getScheduler().schedule(decisionMaker.decide(this), this, 1);
+			return;
+		}
 		describeScene();
-		scheduler.schedule(SWGridController.getUserDecision(this), this, 1);
+		assert (world.getUserDecisionMaker() != null): "no user to control the Player";
+		getScheduler().schedule(world.getUserDecisionMaker().decide(this), this, 1);
 		
 	}
 	/**
@@ -73,27 +105,31 @@ public class Player extends SWActor {
 	 *  @see {@link edu.monash.fit2099.simulator.userInterface.MessageRenderer}
 	 */
 	public void describeScene() {
+		//nothing to do if nobody is going to read it
+		if (!messageRenderer.isEnabled(Level.IMPORTANT)) {
+			return;
+		}
+		
 		//get the location of the player and describe it
 		SWLocation location = this.world.getEntityManager().whereIs(this);
-		say(this.getShortDescription() + " [" + this.getHitpoints() + "] is at " + location.getShortDescription());
+		say(Level.IMPORTANT, "{} [{}] is at {}", this, this.getHitpoints(), location);
 		
 		//get the items carried for the player
 		SWEntityInterface itemCarried = this.getItemCarried();
 		if (itemCarried != null) {
 			//and describe the item carried if the player is actually carrying an item
-			say(this.getShortDescription() 
-					+ " is holding " + itemCarried.getShortDescription() + " [" + itemCarried.getHitpoints() + "]");
+			say(Level.IMPORTANT, "{} is holding {} [{}]", this, itemCarried, itemCarried.getHitpoints());
 		}
 		
 		//get the contents of the location
-		List<SWEntityInterface> contents = this.world.getEntityManager().contents(location);
+		List<SWEntityInterface> contents = this.world.getEntityManager().contentsView(location);
 		
 		//and describe the contents
 		if (contents.size() > 1) { // if it is equal to one, the only thing here is this Player, so there is nothing to report
-			say(this.getShortDescription() + " can see:");
+			say(Level.IMPORTANT, "{} can see:", this);
 			for (SWEntityInterface entity : contents) {
 				if (entity != this) { // don't include self in scene description
-					say("\t " + entity.getSymbol() + " - " + entity.getLongDescription() + " [" + entity.getHitpoints() + "]");
+					say(Level.IMPORTANT, "\t {} - {} [{}]", entity.getSymbol(), entity.getLongDescription(), entity.getHitpoints());
 				}
 			}
 		}
@@ -5,8 +5,8 @@ import java.util.ArrayList;
 import edu.monash.fit2099.gridworld.Grid;
 import edu.monash.fit2099.simulator.space.Direction;
 import edu.monash.fit2099.simulator.userInterface.MessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.SWActor;
-import starwars.SWLocation;
 import starwars.SWWorld;
 import starwars.Team;
 import starwars.actions.Move;
@@ -48,29 +48,29 @@ public class TuskenRaider extends SWActor {
 		if (isDead()) {
 			return;
 		}
-		say(describeLocation());
+		say(Level.DETAIL, "{} [{}] is at {}", this, getHitpoints(), world.getEntityManager().whereIs(this));
 
 		AttackInformation attack = AttackNeighbours.attackLocals(this, this.world, false, false);
 		if (attack != null) {
-			say(getShortDescription() + " has attacked" + attack.entity.getShortDescription());
-			scheduler.schedule(attack.affordance, this, 1);
+			say(Level.INFO, "{} has attacked{}", this, attack.entity);
+			getScheduler().schedule(attack.affordance, this, 1);
 		}
-		else if (Math.random() > 0.5){
+		else if (getRandom().nextDouble() > 0.5){
 			
 			ArrayList<Direction> possibledirections = new ArrayList<Direction>();
 
 			// build a list of available directions
 			for (Grid.CompassBearing d : Grid.CompassBearing.values()) {
-				if (SWWorld.getEntitymanager().seesExit(this, d)) {
+				if (world.getEntityManager().seesExit(this, d)) {
 					possibledirections.add(d);
 				}
 			}
 
-			Direction heading = possibledirections.get((int) (Math.floor(Math.random() * possibledirections.size())));
-			say(getShortDescription() + "is heading " + heading + " next.");
+			Direction heading = possibledirections.get(getRandom().nextInt(possibledirections.size()));
+			say(Level.DETAIL, "{}is heading {} next.", this, heading);
 			Move myMove = new Move(heading, messageRenderer, world);
 
-			scheduler.schedule(myMove, this, 1);
+			getScheduler().schedule(myMove, this, 1);
 		}
 	}
 
@@ -83,10 +83,4 @@ public class TuskenRaider extends SWActor {
 	public String getLongDescription() {
 		return this.getShortDescription();
 	}
-
-	private String describeLocation() {
-		SWLocation location = this.world.getEntityManager().whereIs(this);
-		return this.getShortDescription() + " [" + this.getHitpoints() + "] is at " + location.getShortDescription();
-
-	}
 }
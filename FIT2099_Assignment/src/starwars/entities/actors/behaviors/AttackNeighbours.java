@@ -19,7 +19,7 @@ public class AttackNeighbours {
 	public static AttackInformation attackLocals(SWActor actor, SWWorld world, boolean avoidFriendlies, boolean avoidNonActors) {
 		SWLocation location = world.getEntityManager().whereIs(actor);
 		EntityManager<SWEntityInterface, SWLocation> em = world.getEntityManager();
-		List<SWEntityInterface> entities = em.contents(location);
+		List<SWEntityInterface> entities = em.contentsView(location);
 
 		// select the attackable things that are here
 
@@ -43,7 +43,7 @@ public class AttackNeighbours {
 		// if there's at least one thing we can attack, randomly choose
 		// something to attack
 		if (attackables.size() > 0) {
-			return attackables.get((int) (Math.floor(Math.random() * attackables.size())));
+			return attackables.get(actor.getRandom().nextInt(attackables.size()));
 		} else {
 			return null;
 		}
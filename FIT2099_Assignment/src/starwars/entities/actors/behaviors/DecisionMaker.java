@@ -0,0 +1,44 @@
+package starwars.entities.actors.behaviors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import starwars.SWActionInterface;
+import starwars.SWActor;
+
+/**
+ * Chooses what a <code>SWActor</code> does next in place of the user, so that a simulation with <code>Players</code> in 
+ * it can run without anyone at the keyboard.
+ * 
+ * @see starwars.entities.actors.Player#setDecisionMaker(DecisionMaker)
+ */
+public interface DecisionMaker {
+
+	/**
+	 * Returns the <code>SWAction</code> <code>a</code> is to do next.
+	 * 
+	 * @param 	a the <code>SWActor</code> to decide for
+	 * @return 	one of the <code>SWActions</code> <code>a</code> can do
+	 * @pre 	<code>a</code> can do at least one <code>SWAction</code>
+	 * @see 	#availableActions(SWActor)
+	 */
+	public SWActionInterface decide(SWActor a);
+	
+	/**
+	 * Returns the <code>SWActions</code> <code>a</code> can do where it is now, i.e. its own and those afforded by the 
+	 * things around it, in a fixed order. These are the commands the user is offered for a human controlled 
+	 * <code>SWActor</code>.
+	 * 
+	 * @param 	a the <code>SWActor</code>
+	 * @return 	a new list of the <code>SWActions</code> <code>a</code> can do
+	 */
+	public static List<SWActionInterface> availableActions(SWActor a) {
+		List<SWActionInterface> cmds = new ArrayList<SWActionInterface>();
+		for (SWActionInterface ac : a.getWorld().getEntityManager().getActionsFor(a)) {
+			if (ac.canDo(a)) {
+				cmds.add(ac);
+			}
+		}
+		return cmds;
+	}
+}
@@ -0,0 +1,22 @@
+package starwars.entities.actors.behaviors;
+
+import java.util.List;
+
+import starwars.SWActionInterface;
+import starwars.SWActor;
+
+/**
+ * <code>DecisionMaker</code> that picks one of the available <code>SWActions</code> at random, with the 
+ * <code>Random</code> of the <code>SWActor</code>, so a seeded world makes the same choices every run.
+ * 
+ * @see SWActor#getRandom()
+ */
+public class RandomDecisionMaker implements DecisionMaker {
+
+	@Override
+	public SWActionInterface decide(SWActor a) {
+		List<SWActionInterface> cmds = DecisionMaker.availableActions(a);
+		assert (cmds.size() > 0): "No commands for Star Wars Actor";
+		return cmds.get(a.getRandom().nextInt(cmds.size()));
+	}
+}
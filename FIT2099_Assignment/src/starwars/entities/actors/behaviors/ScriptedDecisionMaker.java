@@ -0,0 +1,64 @@
+package starwars.entities.actors.behaviors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import starwars.SWActionInterface;
+import starwars.SWActor;
+
+/**
+ * <code>DecisionMaker</code> that follows a script of commands, given by their descriptions, e.g. "move NORTH". The 
+ * script starts again from the top when it runs out.
+ * <p>
+ * If the next command in the script isn't available, the first available <code>SWAction</code> is done instead, and 
+ * the script moves on.
+ * <p>
+ * A <code>ScriptedDecisionMaker</code> keeps its place in the script, so each <code>SWActor</code> that follows a 
+ * script needs one of its own.
+ */
+public class ScriptedDecisionMaker implements DecisionMaker {
+
+	/**The descriptions of the commands, in order*/
+	private ArrayList<String> script;
+	
+	/**The index of the next command in the script*/
+	private int next = 0;
+	
+	/**
+	 * Constructor for a <code>ScriptedDecisionMaker</code>.
+	 * 
+	 * @param 	script the descriptions of the commands, in order
+	 * @pre 	<code>script</code> is not empty
+	 */
+	public ScriptedDecisionMaker(Collection<String> script) {
+		assert (!script.isEmpty()): "the script must have at least one command";
+		this.script = new ArrayList<String>(script);
+	}
+	
+	/**
+	 * Constructor for a <code>ScriptedDecisionMaker</code>.
+	 * 
+	 * @param 	script the descriptions of the commands, in order
+	 * @pre 	<code>script</code> is not empty
+	 */
+	public ScriptedDecisionMaker(String... script) {
+		this(Arrays.asList(script));
+	}
+	
+	@Override
+	public SWActionInterface decide(SWActor a) {
+		List<SWActionInterface> cmds = DecisionMaker.availableActions(a);
+		assert (cmds.size() > 0): "No commands for Star Wars Actor";
+		
+		String command = script.get(next);
+		next = (next + 1) % script.size();
+		for (SWActionInterface ac : cmds) {
+			if (ac.getDescription().equals(command)) {
+				return ac;
+			}
+		}
+		return cmds.get(0);
+	}
+}
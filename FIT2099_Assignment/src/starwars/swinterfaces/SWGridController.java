@@ -5,35 +5,52 @@ import java.util.ArrayList;
 import edu.monash.fit2099.gridworld.GridController;
 import edu.monash.fit2099.gridworld.GridRenderer;
 import edu.monash.fit2099.simulator.matter.ActionInterface;
+import edu.monash.fit2099.simulator.userInterface.BatchingMessageRenderer;
+import edu.monash.fit2099.simulator.userInterface.MessageRenderer.Level;
 import starwars.SWActionInterface;
 import starwars.SWActor;
 import starwars.SWGrid;
 import starwars.SWWorld;
+import starwars.entities.actors.behaviors.DecisionMaker;
 
 /**
  * Concrete implementation of the <code>GridController</code>.
  * <p>
  * This controller calls the UI methods to render map, messages and obtain user input.
+ * <p>
+ * Each <code>SWGridController</code> has its own user interface, so several worlds can each have one.
  * 
  * @author 	Asel
  * @see 	{@link edu.monash.fit2099.gridworld.GridController}
  *
  */
-public class SWGridController implements GridController {
+/*
+ * Changelog
+ * 2026-10-18	The user interface belongs to the controller rather than being shared by all controllers. The controller 
+ * 				asks the user for the commands of the human controlled SWActors of its world as a DecisionMaker
+ * 2026-10-18	Messages are written by a background thread, and are all written before the map is displayed or the user is 
+ * 				asked for a command
+ */
+public class SWGridController implements GridController, DecisionMaker {
 
 	/**The user interface to be used by the controller. All user interfaces should be concrete 
 	 * implementations of the <code>GridRenderer</code> interface
 	 * 
 	 * @see {@link edu.monash.fit2099.gridworld.GridRenderer}*/
-	private static GridRenderer ui; 
+	private GridRenderer ui; 
 	
 	/**SWgrid of the world*/
 	private SWGrid grid;
 	
+	/**Passes the messages on to the user interface from a background thread*/
+	private BatchingMessageRenderer messages;
+	
 	/**
 	 * Constructor of this <code>SWGridController</code>
 	 * <p>
-	 * The constructor will initialize the <code>grid</code> and the user interface to be used by the controller.
+	 * The constructor will initialize the <code>grid</code> and the user interface to be used by the controller, and
+	 * makes the controller the one that asks the user for the commands of the human controlled 
+	 * <code>SWActors</code> of <code>world</code>.
 	 * <p>
 	 * If a different User Interface (also know as a View) is to be used it must be changed in this constructor.
 	 * 
@@ -44,21 +61,42 @@ public class SWGridController implements GridController {
 		this.grid = world.getGrid();
 		
 		//change the user interface to be used here in the constructor
-		SWGridController.ui = new SWGridTextInterface(this.grid); //use a Text Interface to interact
+		this.ui = new SWGridTextInterface(world); //use a Text Interface to interact
 		//this.ui = new SWGridBasicGUI(this.grid); //Use a Basic GUI to interact
 		//this.ui = new SWGridGUI(this.grid); //Use a GUI with better graphics to interact
+		
+		messages = new BatchingMessageRenderer(ui::displayMessage);
+		
+		world.setUserDecisionMaker(this);
 	}
 
+	/**
+	 * Displays the map, after the messages rendered so far.
+	 */
 	@Override
 	public void render() {
+		//the messages of the last tick come first
+		messages.drain();
+		
 		//Call the UI to handle this
 		ui.displayMap();		
 	}
 
+	/**
+	 * Displays a message. The message is written to the user interface by a background thread, so this does not wait 
+	 * for the user interface.
+	 * 
+	 * @param 	message the message to display
+	 */
 	@Override
 	public void render(String message) {
-		//call the UI to handle this too
-		ui.displayMessage(message);
+		//call the UI to handle this too, when it gets to it
+		messages.render(message);
+	}
+	
+	@Override
+	public boolean isEnabled(Level level) {
+		return messages.isEnabled(level);
 	}
 	
 	/**
@@ -70,25 +108,32 @@ public class SWGridController implements GridController {
 	 * @param 	a the <code>SWActor</code> for whom an Action needs to be selected
 	 * @return	the selected action for the <code>SWActor a</code>
 	 */
-	public static SWActionInterface getUserDecision(SWActor a) {
+	public SWActionInterface getUserDecision(SWActor a) {
 		
-		//this list will store all the commands that SWActor a can perform
-		ArrayList<ActionInterface> cmds = new ArrayList<ActionInterface>();
-
 		//Get all the actions the SWActor a can perform
-		for (SWActionInterface ac : SWWorld.getEntitymanager().getActionsFor(a)) {
-			if (ac.canDo(a))
-				cmds.add(ac);
-		}
+		ArrayList<ActionInterface> cmds = new ArrayList<ActionInterface>(DecisionMaker.availableActions(a));
 		
 		//Get the UI to display the commands to the user and get a selection
 		//TO DO: Ensure the cmd list is not empty to avoid an infinite wait
 		assert (cmds.size()>0): "No commands for Star Wars Actor";
 		
+		//the messages so far come before the commands
+		messages.drain();
+		
 		ActionInterface selectedAction = ui.getSelection(cmds);
 		
 		//cast and return selection
 		return (SWActionInterface)selectedAction;
 	}
 	
+	/**
+	 * Asks the user what <code>SWActor a</code> is to do next.
+	 * 
+	 * @see 	#getUserDecision(SWActor)
+	 */
+	@Override
+	public SWActionInterface decide(SWActor a) {
+		return getUserDecision(a);
+	}
+	
 }
@@ -1,6 +1,7 @@
 package starwars.swinterfaces;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.InputMismatchException;
 import java.util.List;
@@ -8,7 +9,6 @@ import java.util.Scanner;
 
 import edu.monash.fit2099.gridworld.GridRenderer;
 import edu.monash.fit2099.simulator.matter.ActionInterface;
-import edu.monash.fit2099.simulator.matter.EntityManager;
 import starwars.SWEntityInterface;
 import starwars.SWGrid;
 import starwars.SWLocation;
@@ -25,80 +25,58 @@ import starwars.SWWorld;
 /*
  * Changelog
  * 2017-02-19	: Show banner method added. I used a boolean attribute to show the banner only once with the map render. (asel)
+ * 2026-10-18	: Locations are rendered from a view of their contents instead of a copy
+ * 2026-10-18	: The grid, banner flag and input stream belong to each instance, so that several worlds can each have one
+ * 2026-10-18	: The strings of the locations and rows are kept from one frame to the next, and only those of locations 
+ * 				  whose contents have changed are made again
+ * 2026-10-18	: The map is drawn into a TextFrame that is kept from one frame to the next and printed with a single write
+ * 2026-10-18	: Locations of unloaded chunks are drawn from their stand-ins, so drawing the map doesn't reload them
  */
 public class SWGridTextInterface implements GridRenderer {
 	
+	/**The world to display*/
+	private SWWorld world;
+	
 	/**The grid of the world*/
-	private static SWGrid grid;
+	private SWGrid grid;
 	
 	/**If or not to show the banner*/
-	private static boolean showBanner;
+	private boolean showBanner;
+	
+	private Scanner instream;
+	
+	/**The map, as it was last drawn*/
+	private TextFrame frame;
+	
+	/**True for each location of the grid, row by row, that has changed since it was last drawn*/
+	private boolean[] dirty;
 	
-	private static Scanner instream;
+	/**The indexes of the locations that have changed since they were last drawn*/
+	private int[] dirtyCells = new int[16];
+	
+	/**The number of indexes in <code>dirtyCells</code>*/
+	private int dirtyCount;
+	
+	/**A <code>SWLocation</code> that is not on the grid. Used to draw locations of a lazy grid that haven't been created yet*/
+	private static final SWLocation blankLocation = new SWLocation();
 	
 	/**
 	 * Constructor for the <code>SWGridTextInterface</code>. Will set showBanner flag to true to
 	 * show the text banner with the first map render.
 	 * 
-	 * @param 	grid the grid of the world
-	 * @pre 	grid should not be null 
+	 * @param 	world the world to display
+	 * @pre 	world should not be null 
 	 */
-	public SWGridTextInterface(SWGrid grid) {
-		SWGridTextInterface.grid = grid;
+	public SWGridTextInterface(SWWorld world) {
+		this.world = world;
+		this.grid = world.getGrid();
+		world.getEntityManager().addLocationListener(this::changed);
 		instream = new Scanner(System.in);
 		//set the show banner to true so that the banner would be displayed on the first map render
 		showBanner = true;
 	}
 	
 	
-	/**
-	 * Returns a string consisting of the symbol of the <code>SWLocation loc</code>, a colon ':' followed by 
-	 * any symbols of the contents of the <code>SWLocation loc</code> and/or empty spaces of the <code>SWLocation loc</code>.
-	 * <p>
-	 * All string returned by this method are of a fixed length and doesn't contain any line breaks.
-	 * 
-	 * @author 	Asel
-	 * @param 	loc for which the string is required
-	 * @pre		all symbols and empty spaces should not be line break characters
-	 * @return 	a string in the format location symbol of <code>loc</code> + : + symbols of contents of <code>loc</code> + any empty characters of <code>loc</code>
-	 * @post	all strings returned are of a fixed size
-	 */
-	private String getLocationString(SWLocation loc) {
-		
-		final EntityManager<SWEntityInterface, SWLocation> em = SWWorld.getEntitymanager();
-		
-		//all string would be of locationWidth length
-		final int locationWidth = 8;
-		
-		StringBuffer emptyBuffer = new StringBuffer();
-		char es = loc.getEmptySymbol(); 
-		
-		for (int i = 0; i < locationWidth - 2; i++) { 	//add two less as one character is reserved for the location symbol and the other for the colon (":")
-			emptyBuffer.append(es);						
-		}									  			
-			
-		//new buffer buf with a symbol of the location + :
-		StringBuffer buf = new StringBuffer(loc.getSymbol() + ":"); 
-		
-		//get the Contents of the location
-		List<SWEntityInterface> contents = em.contents(loc);
-		
-		
-		if (contents == null || contents.isEmpty())
-			buf.append(emptyBuffer);//add empty buffer to buf to complete the string buffer
-		else {
-			for (SWEntityInterface e: contents) { //add the symbols of the contents
-				buf.append(e.getSymbol());
-			}
-		}
-		buf.append(emptyBuffer); //add the empty buffer again since the symbols of the contents that were added might not actually filled the location upto locationWidth
-		
-		//set a fixed length
-		buf.setLength(locationWidth);
-		
-		return buf.toString();		
-	}
-	
 	/**
 	 * Display the simulation banner. This method will only be called once for each instance.
 	 * 
@@ -107,7 +85,7 @@ public class SWGridTextInterface implements GridRenderer {
 	 * 
 	 * @author ram
 	 */
-	public static void showBanner() {
+	public void showBanner() {
 		String [] lines = { 
 				" ____  _              __        __",
 				"/ ___|| |_ __ _ _ __  \\ \\      / /_ _ _ __ ___",
@@ -138,6 +116,73 @@ public class SWGridTextInterface implements GridRenderer {
 		showBanner = false;
 	}
 	
+	/**
+	 * Notes down that the contents of <code>loc</code> have changed, so that it is drawn again in the next frame.
+	 * <p>
+	 * Called by the <code>EntityManager</code>, from whichever thread moved something.
+	 * 
+	 * @param 	loc the <code>SWLocation</code> that has changed
+	 * @see 	edu.monash.fit2099.simulator.matter.EntityManager#addLocationListener(java.util.function.Consumer)
+	 */
+	private synchronized void changed(SWLocation loc) {
+		int col = loc.getX();
+		int row = loc.getY();
+		if (dirty == null || col < 0 || row < 0 || col >= grid.getWidth() || row >= grid.getHeight()) {
+			return; //not drawn yet, so everything will be drawn anyway, or not on the grid
+		}
+		int cell = row * grid.getWidth() + col;
+		if (!dirty[cell]) {
+			dirty[cell] = true;
+			if (dirtyCount == dirtyCells.length) {
+				dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
+			}
+			dirtyCells[dirtyCount++] = cell;
+		}
+	}
+	
+	/**
+	 * Returns the indexes of the locations that have changed since the last frame, and starts noting them down afresh.
+	 * 
+	 * @return 	the indexes of the changed locations, or null if nothing has been drawn yet
+	 */
+	private synchronized int[] takeDirtyCells() {
+		if (dirty == null) {
+			dirty = new boolean[grid.getWidth() * grid.getHeight()];
+			return null;
+		}
+		int[] taken = Arrays.copyOf(dirtyCells, dirtyCount);
+		for (int cell : taken) {
+			dirty[cell] = false;
+		}
+		dirtyCount = 0;
+		return taken;
+	}
+	
+	/**
+	 * Draws the location at (<code>col</code>, <code>row</code>) again, with the symbol of the location, a colon ':' 
+	 * followed by any symbols of the contents of the location and/or empty spaces of the location.
+	 * 
+	 * @param 	col the column of the location
+	 * @param 	row the row of the location
+	 * @see 	TextFrame#drawLocation(int, int, SWLocation, List)
+	 */
+	private void drawLocation(int col, int row) {
+		SWLocation loc = grid.peekLocationByCoordinates(col, row);
+		if (loc == null) { //the location is unloaded, so it is drawn from its stand-in without being reloaded
+			loc = grid.getStandIn(col, row);
+		}
+		if (loc == null) { //the location hasn't been created yet, so it is empty and looks like any other new location
+			loc = blankLocation;
+		}
+		
+		List<SWEntityInterface> contents = world.getEntityManager().contentsView(loc);
+		frame.drawLocation(col, row, loc, contents);
+	}
+	
+	/**
+	 * Displays the map. Only the locations that have changed since the last frame are made again, so the cost of 
+	 * making a frame depends on how much has moved rather than on the size of the grid.
+	 */
 	@Override
 	public void displayMap() {
 		
@@ -146,23 +191,25 @@ public class SWGridTextInterface implements GridRenderer {
 			showBanner();
 		}
 				
-		String buffer = "\n";
 		final int gridHeight = grid.getHeight();
 		final int gridWidth  = grid.getWidth();
 		
-	
-		for (int row = 0; row< gridHeight; row++){ //for each row
-			for (int col = 0; col< gridWidth; col++){ //each column of a row
-				
-				SWLocation loc = (SWLocation) grid.getLocationByCoordinates(col, row);
-				
-				//construct the string of a location to be displayed on the text interface
-				buffer = buffer + "|"+ getLocationString(loc)+"| ";
+		int[] changed = takeDirtyCells();
+		if (changed == null) { //the first frame, so every location is drawn
+			frame = new TextFrame(gridWidth, gridHeight, "\n");
+			for (int row = 0; row< gridHeight; row++){ //for each row
+				for (int col = 0; col< gridWidth; col++){ //each column of a row
+					drawLocation(col, row);
+				}
+			}
+		}
+		else {
+			for (int cell : changed) {
+				drawLocation(cell % gridWidth, cell / gridWidth);
 			}
-			buffer += "\n"; //new row
 		}
 		
-		System.out.println(buffer); //print the grid on the screen
+		frame.print(System.out); //print the grid on the screen
 		
 	}
 
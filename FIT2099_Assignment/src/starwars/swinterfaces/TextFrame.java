@@ -0,0 +1,140 @@
+package starwars.swinterfaces;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import starwars.SWEntityInterface;
+import starwars.SWLocation;
+
+/**
+ * The text of a map of the grid, as drawn by the text based user interfaces.
+ * <p>
+ * Each location is drawn as a vertical separator '|', the symbol of the location, a colon ':', the symbols of its contents
+ * padded with its empty symbol or cut short to fill the rest of the <code>LOCATION_WIDTH</code>, another vertical
+ * separator and a space. Each row ends with a line break.
+ * <p>
+ * All the locations are drawn into a single array of characters, which is made once and written over in place
+ * whenever a location is drawn again, and which is printed with a single write.
+ *
+ * @see 	SWGridTextInterface
+ * @see 	starwars.userinterfaces.TextInterface
+ */
+public class TextFrame {
+
+	/**The number of characters of a location including the location symbol and colon ':', but not the separators*/
+	public static final int LOCATION_WIDTH = 8;
+
+	/**The number of characters of a location with its separators "|" and "| "*/
+	private static final int CELL_WIDTH = LOCATION_WIDTH + 3;
+
+	/**The width of the grid, in locations*/
+	private final int width;
+
+	/**The height of the grid, in locations*/
+	private final int height;
+
+	/**The number of characters before the first row*/
+	private final int offset;
+
+	/**The number of characters of a row, with its line break*/
+	private final int rowLength;
+
+	/**The text of the frame*/
+	private final char[] chars;
+
+	/**
+	 * Constructor for the <code>TextFrame</code>. Every location starts out as blank spaces.
+	 *
+	 * @param 	width the width of the grid, in locations
+	 * @param 	height the height of the grid, in locations
+	 * @param 	lead the text to print before the first row, e.g. a line break
+	 * @pre 	width and height should not be negative, and lead should not be null
+	 */
+	public TextFrame(int width, int height, String lead) {
+		this.width = width;
+		this.height = height;
+		this.offset = lead.length();
+		this.rowLength = width * CELL_WIDTH + 1;
+		this.chars = new char[offset + height * rowLength];
+
+		Arrays.fill(chars, ' ');
+		lead.getChars(0, offset, chars, 0);
+		for (int row = 0; row < height; row++) {
+			chars[offset + row * rowLength + rowLength - 1] = '\n';
+		}
+	}
+
+	/**
+	 * Draws the location at (<code>col</code>, <code>row</code>) over whatever was drawn there before.
+	 *
+	 * @param 	col the column of the location
+	 * @param 	row the row of the location
+	 * @param 	loc the <code>SWLocation</code> to draw
+	 * @param 	contents the contents of <code>loc</code>, in the order their symbols are to be drawn
+	 * @pre 	col and row should be on the grid
+	 * @pre		all symbols and empty spaces should not be line break characters
+	 */
+	public void drawLocation(int col, int row, SWLocation loc, List<? extends SWEntityInterface> contents) {
+		int i = offset + row * rowLength + col * CELL_WIDTH;
+		final int end = i + 1 + LOCATION_WIDTH;
+
+		chars[i++] = '|';
+		chars[i++] = loc.getSymbol();
+		chars[i++] = ':';
+
+		//add the symbols of the contents for as long as there is room
+		for (int c = 0; c < contents.size() && i < end; c++) {
+			String symbol = contents.get(c).getSymbol();
+			int n = Math.min(symbol.length(), end - i);
+			symbol.getChars(0, n, chars, i);
+			i += n;
+		}
+
+		//fill the rest of the location with its empty symbol
+		final char es = loc.getEmptySymbol();
+		while (i < end) {
+			chars[i++] = es;
+		}
+
+		chars[i++] = '|';
+		chars[i] = ' ';
+	}
+
+	/**
+	 * Prints the frame, followed by a line break, with a single write.
+	 *
+	 * @param 	out the stream to print to
+	 */
+	public void print(PrintStream out) {
+		out.println(chars);
+	}
+
+	/**
+	 * Returns the width of the grid this <code>TextFrame</code> draws.
+	 *
+	 * @return 	the width, in locations
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the grid this <code>TextFrame</code> draws.
+	 *
+	 * @return 	the height, in locations
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the text of the frame, as it would be printed without the final line break.
+	 *
+	 * @return 	the text of the frame
+	 */
+	@Override
+	public String toString() {
+		return new String(chars);
+	}
+}
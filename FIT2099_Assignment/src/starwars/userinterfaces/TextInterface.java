@@ -10,6 +10,11 @@
  * Change log
  * 2017-02-02: Displaying the map/grid is now a responsibility of the TextInterface and not of Grid or MiddleWorld (asel)
  * 2017-02-04: Removed the SWGrid parameter from the displayTextGrid method and renamed it to drawGrid() - (asel)
+ * 2026-10-18: Locations are drawn from a view of their contents instead of a copy
+ * 2026-10-18: The EntityManager is that of the world being displayed, or of the SWActor choosing a command
+ * 2026-10-18: The grid is drawn into a TextFrame that is kept from one render to the next, rather than into a String 
+ * 			   that was copied each time a location was added to it
+ * 2026-10-18: Locations of unloaded chunks are drawn from their stand-ins, so drawing the grid doesn't reload them
  */
 package starwars.userinterfaces;
 
@@ -29,6 +34,7 @@ import starwars.SWEntityInterface;
 import starwars.SWGrid;
 import starwars.SWLocation;
 import starwars.SWWorld;
+import starwars.swinterfaces.TextFrame;
 
 /**
  * IMPORTANT
@@ -36,11 +42,17 @@ import starwars.SWWorld;
  */
 public class TextInterface implements MessageRenderer, MapRenderer, SimulationController {
 	
+	/** The world being displayed*/
+	private SWWorld world;
+	
 	/** Hobbit grid of the world*/
 	private SWGrid grid;
 	
-	/** The number of items to be displayed per location including the location label and colon ':'*/
-	private static int locationWidth = 8;
+	/** The text of the grid, which is drawn over on every render*/
+	private TextFrame frame;
+	
+	/**A <code>SWLocation</code> that is not on the grid. Used to draw locations of a lazy grid that haven't been created yet*/
+	private static final SWLocation blankLocation = new SWLocation();
 
 	/**
 	 * Constructor for the Text Interface
@@ -52,6 +64,7 @@ public class TextInterface implements MessageRenderer, MapRenderer, SimulationCo
 	 * @pre 	world should not be null
 	 */
 	public TextInterface(SWWorld world) {
+		this.world = world;
 		grid = world.getGrid();
 	}
 
@@ -136,53 +149,33 @@ public class TextInterface implements MessageRenderer, MapRenderer, SimulationCo
 		
 		assert (grid!=null)	:"grid to be draw cannot be null";
 		
-		String buffer = "";
 		final int gridHeight = grid.getHeight();
 		final int gridWidth  = grid.getWidth();
 		
-		EntityManager<SWEntityInterface, SWLocation> em = SWWorld.getEntitymanager();
+		EntityManager<SWEntityInterface, SWLocation> em = world.getEntityManager();
 		
+		if (frame == null) {
+			frame = new TextFrame(gridWidth, gridHeight, "");
+		}
 	
 		for (int row = 0; row< gridHeight; row++){ //for each row
 			for (int col = 0; col< gridWidth; col++){ //each column of a row
 				
 				//current location
-				SWLocation loc = grid.getLocationByCoordinates(col, row);
-				
-				StringBuffer emptyBuffer = new StringBuffer();
-				char es = loc.getEmptySymbol(); 
-				
-				for (int i = 0; i < locationWidth - 3; i++) { 	//add empty symbol character to the buffer
-					emptyBuffer.append(es);						//adding 2 less here because one space is reserved for the location symbol
-				}									  			//and one more for the colon : used to separate the location symbol and the symbol(s) of the contents of that location
-					
-				//new buffer buf with a vertical line separator | + symbol of the location + :
-				StringBuffer buf = new StringBuffer("|" + loc.getSymbol() + ":"); 
-				
-				//get the Contents of the location
-				List<SWEntityInterface> contents = em.contents(loc);
-				
-				
-				if (contents == null || contents.isEmpty())
-					buf.append(emptyBuffer);//add empty buffer to buf to complete the string buffer
-				else {
-					for (SWEntityInterface e: contents) { //add the symbols of the contents
-						buf.append(e.getSymbol());
-					}
+				SWLocation loc = grid.peekLocationByCoordinates(col, row);
+				if (loc == null) { //the location is unloaded, so it is drawn from its stand-in without being reloaded
+					loc = grid.getStandIn(col, row);
+				}
+				if (loc == null) { //the location hasn't been created yet, so it is empty and looks like any other new location
+					loc = blankLocation;
 				}
-				buf.append(emptyBuffer); //add the empty buffer again since the symbols of the contents that were added might not actually fill the location upto locationWidth
-				
-				buf.setLength(locationWidth+1);//set the length of buf to the required locationWidth
-				
-				buf.append("| ");//add the vertical line seperator to mark the end of that location
-				
-				buffer += buf; //add the buffer (buf) created for the location to the buffer (the buffer that will eventually be printed)
 				
+				//draw the symbol of the location, a colon and the symbols of the contents of the location over what was there
+				frame.drawLocation(col, row, loc, em.contentsView(loc));
 			}
-			buffer += "\n"; //new row
 		}
 		
-		System.out.println(buffer); //print the grid on the screen
+		frame.print(System.out); //print the grid on the screen
 	}
 	
 	/**
@@ -196,7 +189,7 @@ public class TextInterface implements MessageRenderer, MapRenderer, SimulationCo
 		ArrayList<SWActionInterface> cmds = new ArrayList<SWActionInterface>();
 
 		//for all the actions of the Hobbit actor
-		for (SWActionInterface ac : SWWorld.getEntitymanager().getActionsFor(a)) {
+		for (SWActionInterface ac : a.getWorld().getEntityManager().getActionsFor(a)) {
 			if (ac.canDo(a))
 				cmds.add(ac);//add the ones the Hobbit Actor can do
 		}